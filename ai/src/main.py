@@ -1,8 +1,15 @@
-from fastapi import FastAPI, Body
+import json
+from typing import Optional
+
+from fastapi import FastAPI, Body, Request
+from fastapi.concurrency import run_in_threadpool
+from fastapi.responses import StreamingResponse
 from pydantic import BaseModel
 import modules.services as services
+from modules.wire import CompactWireMiddleware
 
 app = FastAPI()
+app.add_middleware(CompactWireMiddleware)
 
 
 # NOTE: 데이터 검증을 위한 데이터 모델 정의
@@ -13,9 +20,17 @@ class Place(BaseModel):
     lng: float
 
 
+# NOTE: 백엔드가 이미 아는 자동차 이동 행렬 (ids 순서, 모르는 칸은 null)
+class TravelMatrix(BaseModel):
+    ids: list[int]
+    duration_sec: list[list[Optional[int]]]
+    distance_meters: Optional[list[list[Optional[int]]]] = None
+
+
 class ScheduleRequest(BaseModel):
     place_list: list[Place]
     days: int
+    travel_matrix: Optional[TravelMatrix] = None
 
 
 @app.post("/recommend/places")
@@ -23,45 +38,69 @@ def get_place_recommendations(region_id: int = Body(...), query: str = Body(...)
     return services.recommend_places(region_id, query)
 
 
+def _schedule_days(place_list, days, known=None):
+    """
+    Yields the recommended route of each day as soon as it is computed.
+    """
+    days_list = services.k_means_clustering(place_list, days)
+
+    for day, day_list in enumerate(days_list, 1):
+        if len(day_list["points"]) == 1:
+            yield {
+                "day": day,
+                "route": {
+                    "transport": None,
+                    "id": day_list["points"][0]["id"],
+                    "eventOrder": 1,
+                    "nextTravelTime": None,
+                },
+            }
+        else:
+            yield {
+                "day": day,
+                "route": services.recommend_route(day_list["points"], known)["route"],
+            }
+
+
+async def _stream_days(http_request, days_iter):
+    """
+    Streams each day as one NDJSON line and stops computing once the client has gone away
+    (the backend cancels superseded / invalidated jobs by closing the connection).
+    """
+    while True:
+        if await http_request.is_disconnected():
+            return
+        day = await run_in_threadpool(next, days_iter, None)
+        if day is None:
+            return
+        yield json.dumps(day, ensure_ascii=False) + "\n"
+
+
 # TODO: Implement the schedule recommendation endpoint
 @app.post("/recommend/schedule")
-def get_schedule_recommendation(request: ScheduleRequest):
+def get_schedule_recommendation(request: ScheduleRequest, http_request: Request):
     place_list = [p.model_dump() for p in request.place_list]
     days = request.days
-    final_data = []
+    known = services.known_legs(request.travel_matrix)
 
-    days_list = services.k_means_clustering(place_list, days)
+    # NOTE: Accept: application/x-ndjson 이면 하루씩 한 줄로 흘려보낸다 (백엔드 진행률/부분 결과용)
+    if "application/x-ndjson" in http_request.headers.get("accept", ""):
+        return StreamingResponse(
+            _stream_days(http_request, _schedule_days(place_list, days, known)),
+            media_type="application/x-ndjson",
+        )
 
-    for day, day_list in enumerate(days_list, 1):
-        if len(day_list["points"]) == 1:
-            final_data.append(
-                {
-                    "day": day,
-                    "route": {
-                        "transport": None,
-                        "id": day_list["points"][0]["id"],
-                        "eventOrder": 1,
-                        "nextTravelTime": None,
-                    },
-                }
-            )
-        else:
-            final_data.append(
-                {
-                    "day": day,
-                    "route": services.recommend_route(day_list["points"])["route"],
-                }
-            )
-    return final_data
+    return list(_schedule_days(place_list, days, known))
 
 
 # TODO: Implement the route recommendation endpoint
 @app.post("/recommend/route")
 def recommend_route_api(request: ScheduleRequest):
     place_list = [p.model_dump() for p in request.place_list]
+    known = services.known_legs(request.travel_matrix)
     result = {
         "day": request.days,
-        "route": services.recommend_route(place_list)["route"],
+        "route": services.recommend_route(place_list, known)["route"],
     }
     return result
 
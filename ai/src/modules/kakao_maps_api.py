@@ -52,7 +52,7 @@ def search_xy(address):
         return None
 
 
-def get_routes_time(data):
+def get_routes_time(data, known=None):
     result = []
     url = "https://apis-navi.kakaomobility.com/v1/destinations/directions"
     headers = {
@@ -61,6 +61,24 @@ def get_routes_time(data):
     }
 
     for i in range(len(data)):
+        # NOTE: 백엔드가 넘긴 행렬에 이 출발지의 모든 구간이 있으면 카카오 호출 생략
+        others = [data[j] for j in range(len(data)) if j != i]
+        if known and all((data[i]["id"], d["id"]) in known for d in others):
+            result.append(
+                {
+                    "origin_id": data[i]["id"],
+                    "destinations": [
+                        {
+                            "destination_id": str(d["id"]),
+                            "distance": known[(data[i]["id"], d["id"])][0],
+                            "duration": known[(data[i]["id"], d["id"])][1],
+                        }
+                        for d in others
+                    ],
+                }
+            )
+            continue
+
         params = {
             "radius": 10000,
             "origin": {
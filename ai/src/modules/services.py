@@ -187,11 +187,31 @@ def solve_tsp(time_matrix):
         return None, None
 
 
-def recommend_route(data):
+def known_legs(travel_matrix):
+    """
+    Converts the backend-supplied travel matrix into {(origin_id, destination_id): (distance, duration)}.
+    """
+    if not travel_matrix:
+        return {}
+    ids = travel_matrix.ids
+    durations = travel_matrix.duration_sec
+    distances = travel_matrix.distance_meters or []
+
+    legs = {}
+    for i, origin_id in enumerate(ids):
+        for j, destination_id in enumerate(ids):
+            if i == j or durations[i][j] is None:
+                continue
+            distance = distances[i][j] if i < len(distances) else None
+            legs[(origin_id, destination_id)] = (distance or 0, durations[i][j])
+    return legs
+
+
+def recommend_route(data, known=None):
     """
     Generates a recommended route based on travel times and formats the output.
     """
-    routes_time = kakao.get_routes_time(data)
+    routes_time = kakao.get_routes_time(data, known)
     if not routes_time:
         return {"error": "Could not fetch route times."}
 
@@ -0,0 +1,121 @@
+import gzip
+import json
+
+import cbor2
+
+CBOR = b"application/cbor"
+JSON = b"application/json"
+GZIP_MIN_SIZE = 512
+
+
+# NOTE: 백엔드와의 압축 본문(CBOR + gzip) 처리 — ASGI 미들웨어
+#  - 요청: gzip / CBOR 본문을 JSON 으로 풀어 라우터에 넘긴다 (기존 pydantic 모델 그대로 사용)
+#  - 응답: 한 번에 끝나는 application/json 응답만 Accept 에 따라 CBOR / gzip 으로 바꾼다
+#  - NDJSON 스트림은 건드리지 않는다 (GZipMiddleware 는 스트림을 버퍼링하므로 쓰지 않음)
+class CompactWireMiddleware:
+    def __init__(self, app):
+        self.app = app
+
+    async def __call__(self, scope, receive, send):
+        if scope["type"] != "http":
+            return await self.app(scope, receive, send)
+
+        headers = dict(scope["headers"])
+        encoding = headers.get(b"content-encoding", b"").lower()
+        content_type = headers.get(b"content-type", b"").lower()
+        if encoding == b"gzip" or content_type.startswith(CBOR):
+            scope, receive = await _decode_request(scope, receive, encoding, content_type)
+
+        accept = headers.get(b"accept", b"").lower()
+        accept_encoding = headers.get(b"accept-encoding", b"").lower()
+        want_cbor = CBOR in accept
+        want_gzip = b"gzip" in accept_encoding
+        if not (want_cbor or want_gzip):
+            return await self.app(scope, receive, send)
+
+        await self.app(scope, receive, _ResponseEncoder(send, want_cbor, want_gzip))
+
+
+async def _decode_request(scope, receive, encoding, content_type):
+    chunks = []
+    while True:
+        message = await receive()
+        if message["type"] != "http.request":
+            # 본문을 다 받기 전에 연결이 끊긴 경우 — 그대로 전달
+            return scope, _replay(message, receive)
+        chunks.append(message.get("body", b""))
+        if not message.get("more_body", False):
+            break
+
+    body = b"".join(chunks)
+    if encoding == b"gzip":
+        body = gzip.decompress(body)
+    if content_type.startswith(CBOR):
+        body = json.dumps(cbor2.loads(body)).encode()
+
+    drop = {b"content-encoding", b"content-length", b"content-type"}
+    new_headers = [(k, v) for k, v in scope["headers"] if k.lower() not in drop]
+    new_headers += [(b"content-type", JSON), (b"content-length", str(len(body)).encode())]
+    scope = dict(scope, headers=new_headers)
+    return scope, _replay({"type": "http.request", "body": body, "more_body": False}, receive)
+
+
+def _replay(first, receive):
+    # NOTE: 첫 호출은 풀어 둔 본문, 이후는 원래 receive (is_disconnected 감지 유지)
+    pending = [first]
+
+    async def wrapped():
+        if pending:
+            return pending.pop()
+        return await receive()
+
+    return wrapped
+
+
+class _ResponseEncoder:
+    def __init__(self, send, want_cbor, want_gzip):
+        self.send = send
+        self.want_cbor = want_cbor
+        self.want_gzip = want_gzip
+        self.start = None
+        self.chunks = []
+        self.passthrough = False
+
+    async def __call__(self, message):
+        if self.passthrough:
+            return await self.send(message)
+
+        if message["type"] == "http.response.start":
+            headers = dict(message.get("headers", []))
+            content_type = headers.get(b"content-type", b"").lower()
+            if not content_type.startswith(JSON) or b"content-encoding" in headers:
+                self.passthrough = True
+                return await self.send(message)
+            self.start = message
+            return
+
+        if message["type"] != "http.response.body":
+            return await self.send(message)
+
+        self.chunks.append(message.get("body", b""))
+        if message.get("more_body", False):
+            return
+        await self._flush(b"".join(self.chunks))
+
+    async def _flush(self, body):
+        content_type = JSON
+        if self.want_cbor and body:
+            body = cbor2.dumps(json.loads(body))
+            content_type = CBOR
+
+        extra = [(b"content-type", content_type)]
+        if self.want_gzip and len(body) >= GZIP_MIN_SIZE:
+            body = gzip.compress(body)
+            extra.append((b"content-encoding", b"gzip"))
+            extra.append((b"vary", b"Accept-Encoding"))
+
+        drop = {b"content-type", b"content-length", b"content-encoding", b"vary"}
+        headers = [(k, v) for k, v in self.start.get("headers", []) if k.lower() not in drop]
+        headers += extra + [(b"content-length", str(len(body)).encode())]
+        await self.send(dict(self.start, headers=headers))
+        await self.send({"type": "http.response.body", "body": body, "more_body": False})
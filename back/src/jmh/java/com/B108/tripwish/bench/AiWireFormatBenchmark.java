@@ -0,0 +1,153 @@
+package com.B108.tripwish.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.B108.tripwish.domain.route.dto.ai.AiTravelMatrix;
+import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleResult;
+import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleSpec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * AI 서버 본문 형식 비교 — JSON / JSON+gzip / CBOR / CBOR+gzip.
+ *
+ * <p>50곳 · 5일 일정 spec(자동차 이동 행렬 포함)과 그 결과를 기준으로 한다. ./gradlew jmh 로 실행하면 setup 에서 형식별 바이트 수를
+ * 출력하고, 벤치마크는 spec 인코딩 / 결과 디코딩 CPU 시간을 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AiWireFormatBenchmark {
+
+  private static final int PLACES = 50;
+  private static final int DAYS = 5;
+
+  @Param({"json", "json-gzip", "cbor", "cbor-gzip"})
+  String format;
+
+  private ObjectMapper mapper;
+  private boolean gzip;
+  private AiScheduleSpec spec;
+  private byte[] resultBytes;
+
+  @Setup
+  public void setUp() throws IOException {
+    mapper =
+        format.startsWith("cbor")
+            ? Jackson2ObjectMapperBuilder.cbor().build()
+            : Jackson2ObjectMapperBuilder.json().build();
+    gzip = format.endsWith("gzip");
+
+    spec = spec(new Random(42));
+    byte[] specBytes = encode(spec);
+    resultBytes = encode(result(spec));
+    System.out.printf(
+        "%n[wire] format=%s spec=%d bytes result=%d bytes%n",
+        format, specBytes.length, resultBytes.length);
+  }
+
+  @Benchmark
+  public int encodeSpec() throws IOException {
+    return encode(spec).length;
+  }
+
+  @Benchmark
+  public int decodeResult() throws IOException {
+    try (InputStream in = open(resultBytes)) {
+      List<AiScheduleResult> days =
+          mapper.readValue(in, new TypeReference<List<AiScheduleResult>>() {});
+      return days.size();
+    }
+  }
+
+  private byte[] encode(Object value) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+    try (OutputStream o = gzip ? new GZIPOutputStream(out) : out) {
+      mapper.writeValue(o, value);
+    }
+    return out.toByteArray();
+  }
+
+  private InputStream open(byte[] bytes) throws IOException {
+    InputStream in = new ByteArrayInputStream(bytes);
+    return gzip ? new GZIPInputStream(in) : in;
+  }
+
+  /* ---------- 합성 데이터 (서울 시내 좌표 범위, 실제 spec 과 같은 구조) ---------- */
+
+  private static AiScheduleSpec spec(Random rnd) {
+    List<AiScheduleSpec.AiPlaceInfoDto> places = new ArrayList<>(PLACES);
+    List<Long> ids = new ArrayList<>(PLACES);
+    for (int i = 0; i < PLACES; i++) {
+      long id = 10_000L + i * 7;
+      ids.add(id);
+      places.add(
+          AiScheduleSpec.AiPlaceInfoDto.builder()
+              .id(id)
+              .categoryId((long) (1 + rnd.nextInt(5)))
+              .lat(37.45 + rnd.nextDouble() * 0.2)
+              .lng(126.85 + rnd.nextDouble() * 0.3)
+              .build());
+    }
+
+    List<List<Integer>> dur = new ArrayList<>(PLACES);
+    List<List<Integer>> dist = new ArrayList<>(PLACES);
+    for (int i = 0; i < PLACES; i++) {
+      List<Integer> d = new ArrayList<>(PLACES);
+      List<Integer> m = new ArrayList<>(PLACES);
+      for (int j = 0; j < PLACES; j++) {
+        boolean known = i == j || rnd.nextInt(10) < 8; // 80% 채움
+        d.add(i == j ? 0 : known ? 300 + rnd.nextInt(3000) : null);
+        m.add(i == j ? 0 : known ? 1000 + rnd.nextInt(20_000) : null);
+      }
+      dur.add(d);
+      dist.add(m);
+    }
+
+    return AiScheduleSpec.builder()
+        .placeList(places)
+        .days(DAYS)
+        .travelMatrix(
+            AiTravelMatrix.builder().ids(ids).durationSec(dur).distanceMeters(dist).build())
+        .build();
+  }
+
+  private static List<AiScheduleResult> result(AiScheduleSpec spec) {
+    List<AiScheduleResult> days = new ArrayList<>(DAYS);
+    int perDay = PLACES / DAYS;
+    for (int d = 0; d < DAYS; d++) {
+      List<AiScheduleResult.RouteInfo> route = new ArrayList<>(perDay);
+      for (int k = 0; k < perDay; k++) {
+        route.add(
+            AiScheduleResult.RouteInfo.builder()
+                .id(spec.getPlaceList().get(d * perDay + k).getId())
+                .transport("driving")
+                .eventOrder(k + 1)
+                .nextTravelTime(k < perDay - 1 ? 600 + k * 37 : null)
+                .build());
+      }
+      days.add(AiScheduleResult.builder().day(d + 1).route(route).build());
+    }
+    return days;
+  }
+}
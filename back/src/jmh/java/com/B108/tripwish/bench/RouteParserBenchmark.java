@@ -0,0 +1,137 @@
+package com.B108.tripwish.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.B108.tripwish.infra.google.DirectionsLegParser;
+import com.B108.tripwish.infra.kakao.KakaoRouteParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Directions/Kakao 응답 파싱 비교 — 기존 방식(문자열 → readTree) vs 스트리밍 파서(바이트 → 필요한 필드만).
+ *
+ * <p>./gradlew jmh 로 실행하며, gc 프로파일러의 gc.alloc.rate.norm 으로 호출당 할당량을 비교한다. 응답 크기는 steps/roads
+ * 개수로 조절한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouteParserBenchmark {
+
+  private final ObjectMapper om = new ObjectMapper();
+
+  /** Google leg.steps / Kakao section.roads 개수 */
+  @Param({"20", "200"})
+  int steps;
+
+  private byte[] directionsBytes;
+  private byte[] kakaoBytes;
+
+  @Setup
+  public void setUp() {
+    directionsBytes = directionsResponse(steps).getBytes(StandardCharsets.UTF_8);
+    kakaoBytes = kakaoResponse(5, steps).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public long directionsReadTree() throws IOException {
+    // 기존: 바이트 → String 디코딩 → 전체 트리
+    JsonNode root = om.readTree(new String(directionsBytes, StandardCharsets.UTF_8));
+    JsonNode leg = root.path("routes").get(0).path("legs").get(0);
+    return leg.path("distance").path("value").asLong(0)
+        + leg.path("duration").path("value").asLong(0);
+  }
+
+  @Benchmark
+  public long directionsStreaming() throws IOException {
+    DirectionsLegParser.LegSummary sum =
+        DirectionsLegParser.parse(new ByteArrayInputStream(directionsBytes));
+    return sum.distanceMeters() + sum.durationSec();
+  }
+
+  @Benchmark
+  public long kakaoReadTree() throws IOException {
+    // 기존: roads 포함 응답 전체 트리 → 섹션별 값 추출
+    JsonNode root = om.readTree(kakaoBytes);
+    long acc = 0;
+    for (JsonNode sec : root.path("routes").get(0).path("sections")) {
+      acc += sec.path("distance").asLong(0) + sec.path("duration").asLong(0);
+    }
+    return acc;
+  }
+
+  @Benchmark
+  public long kakaoStreaming() throws IOException {
+    KakaoRouteParser.RouteSummary route =
+        KakaoRouteParser.parse(new ByteArrayInputStream(kakaoBytes));
+    long acc = 0;
+    for (KakaoRouteParser.Section sec : route.sections()) {
+      acc += sec.distanceMeters() + sec.durationSec();
+    }
+    return acc;
+  }
+
+  /* ---------- 합성 응답 (실제 응답과 같은 필드 구조) ---------- */
+
+  private static String directionsResponse(int steps) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"geocoded_waypoints\":[{\"geocoder_status\":\"OK\",\"place_id\":\"abc\"}],");
+    sb.append("\"routes\":[{\"bounds\":{\"northeast\":{\"lat\":37.5,\"lng\":127.0}},");
+    sb.append("\"copyrights\":\"Map data\",\"legs\":[{");
+    sb.append("\"distance\":{\"text\":\"3.2 km\",\"value\":3210},");
+    sb.append("\"duration\":{\"text\":\"41 mins\",\"value\":2460},");
+    sb.append("\"end_address\":\"서울특별시 중구\",\"start_address\":\"서울특별시 종로구\",");
+    sb.append("\"steps\":[");
+    for (int i = 0; i < steps; i++) {
+      if (i > 0) sb.append(',');
+      sb.append("{\"distance\":{\"text\":\"0.1 km\",\"value\":")
+          .append(100 + i)
+          .append("},\"duration\":{\"text\":\"1 min\",\"value\":")
+          .append(60 + i)
+          .append("},\"html_instructions\":\"<b>북쪽</b>으로 이동\",")
+          .append("\"polyline\":{\"points\":\"a~l~Fjk~uOwHJy@P}@Xq@d@\"},")
+          .append("\"start_location\":{\"lat\":37.5,\"lng\":127.0},")
+          .append("\"end_location\":{\"lat\":37.51,\"lng\":127.01},")
+          .append("\"travel_mode\":\"WALKING\"}");
+    }
+    sb.append("]}],\"overview_polyline\":{\"points\":\"a~l~Fjk~uOwHJy@P\"},");
+    sb.append("\"summary\":\"\",\"warnings\":[],\"waypoint_order\":[]}],\"status\":\"OK\"}");
+    return sb.toString();
+  }
+
+  private static String kakaoResponse(int sections, int roads) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"trans_id\":\"0187\",\"routes\":[{\"result_code\":0,\"result_msg\":\"성공\",");
+    sb.append("\"summary\":{\"origin\":{\"x\":127.0,\"y\":37.5},\"distance\":15230,");
+    sb.append("\"duration\":2140,\"fare\":{\"taxi\":15000,\"toll\":0}},\"sections\":[");
+    for (int s = 0; s < sections; s++) {
+      if (s > 0) sb.append(',');
+      sb.append("{\"distance\":").append(3000 + s).append(",\"duration\":").append(400 + s);
+      sb.append(",\"bound\":{\"min_x\":127.0,\"min_y\":37.5,\"max_x\":127.1,\"max_y\":37.6}");
+      sb.append(",\"roads\":[");
+      for (int r = 0; r < roads; r++) {
+        if (r > 0) sb.append(',');
+        sb.append("{\"name\":\"테헤란로\",\"distance\":")
+            .append(15)
+            .append(",\"duration\":3,\"traffic_speed\":32.0,\"traffic_state\":2,")
+            .append("\"vertexes\":[127.0271,37.4979,127.0275,37.4981,127.0279,37.4983]}");
+      }
+      sb.append("],\"guides\":[{\"name\":\"출발지\",\"x\":127.0,\"y\":37.5,\"distance\":0,")
+          .append("\"duration\":0,\"type\":100,\"guidance\":\"출발지\",\"road_index\":0}]}");
+    }
+    sb.append("]}]}");
+    return sb.toString();
+  }
+}
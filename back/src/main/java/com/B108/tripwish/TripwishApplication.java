@@ -3,9 +3,11 @@ package com.B108.tripwish;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.filter.ForwardedHeaderFilter;
 
 @SpringBootApplication
+@EnableScheduling
 public class TripwishApplication {
 
   public static void main(String[] args) {
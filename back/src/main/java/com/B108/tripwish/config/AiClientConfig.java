@@ -8,6 +8,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.B108.tripwish.infra.ai.AiWireCodec;
+
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
@@ -25,9 +27,10 @@ public class AiClientConfig {
   private String apiKey;
 
   @Bean
-  public WebClient aiWebClient() {
+  public WebClient aiWebClient(AiWireCodec wireCodec) {
     HttpClient httpClient =
         HttpClient.create()
+            .compress(wireCodec.isCompact()) // Accept-Encoding: gzip + 응답 자동 해제
             .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
             .responseTimeout(Duration.ofSeconds(120))
             .doOnConnected(
@@ -39,7 +42,8 @@ public class AiClientConfig {
     WebClient.Builder b =
         WebClient.builder()
             .baseUrl(baseUrl)
-            .clientConnector(new ReactorClientHttpConnector(httpClient));
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .codecs(c -> c.customCodecs().register(wireCodec.decoder()));
 
     if (!apiKey.isBlank()) {
       b.defaultHeader("Authorization", "Bearer " + apiKey);
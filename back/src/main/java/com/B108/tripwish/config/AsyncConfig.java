@@ -1,39 +1,98 @@
 package com.B108.tripwish.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import com.B108.tripwish.global.util.LaneMetrics;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 워크로드별 실행 레인 — 레인마다 동시성/큐 상한/거절 정책을 따로 두어 한 워크로드가 밀려도 다른 쪽이 막히지 않게 한다.
+ *
+ * <ul>
+ *   <li>mail — 인증 메일 발송 (@Async)
+ *   <li>travel — 이동시간 계산 파이프라인의 짧은 블로킹 구간(Redis/JPA/캐시)
+ *   <li>AI 추천 — 큐 워커가 큐별 전용 스레드에서 실행 ({@code ai.queue.concurrency}, RedisStreamAiJobQueue)
+ * </ul>
+ */
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfig implements AsyncConfigurer {
 
+  private final LaneMetrics laneMetrics;
+
+  @Value("${lane.mail.core-size:2}")
+  private int mailCoreSize;
+
+  @Value("${lane.mail.max-size:5}")
+  private int mailMaxSize;
+
+  @Value("${lane.mail.queue-capacity:10}")
+  private int mailQueueCapacity;
+
+  @Value("${lane.travel.core-size:4}")
+  private int travelCoreSize;
+
+  @Value("${lane.travel.max-size:8}")
+  private int travelMaxSize;
+
+  @Value("${lane.travel.queue-capacity:200}")
+  private int travelQueueCapacity;
+
   @Override
   @Bean(name = "mailExecutor")
   public Executor getAsyncExecutor() {
-    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    executor.setCorePoolSize(2);
-    executor.setMaxPoolSize(5);
-    executor.setQueueCapacity(10);
-    executor.setThreadNamePrefix("Async-MailExecutor-");
-    executor.initialize();
-    return executor;
+    // 큐가 차면 요청 스레드에서 직접 발송 (메일 유실 방지)
+    return lane(
+        "mail",
+        mailCoreSize,
+        mailMaxSize,
+        mailQueueCapacity,
+        new ThreadPoolExecutor.CallerRunsPolicy());
   }
 
   @Bean(name = "travelTaskExecutor")
-  public Executor travelTaskExecutor() {
+  public ThreadPoolTaskExecutor travelTaskExecutor() {
+    // 큐가 차면 즉시 거절 → 호출한 Reactor 체인에 RejectedExecutionException 으로 전달
+    return lane(
+        "travel",
+        travelCoreSize,
+        travelMaxSize,
+        travelQueueCapacity,
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /** 이동시간 파이프라인 전용 Reactor 스케줄러 (공용 boundedElastic 대신 travel 레인 사용) */
+  @Bean(name = "travelScheduler")
+  public Scheduler travelScheduler(ThreadPoolTaskExecutor travelTaskExecutor) {
+    return Schedulers.fromExecutor(travelTaskExecutor);
+  }
+
+  private ThreadPoolTaskExecutor lane(
+      String name, int core, int max, int queueCapacity, RejectedExecutionHandler rejection) {
     ThreadPoolTaskExecutor t = new ThreadPoolTaskExecutor();
-    t.setCorePoolSize(4);
-    t.setMaxPoolSize(8);
-    t.setQueueCapacity(200);
-    t.setThreadNamePrefix("Async-Travel-");
+    t.setCorePoolSize(core);
+    t.setMaxPoolSize(max);
+    t.setQueueCapacity(queueCapacity);
+    t.setThreadNamePrefix("lane-" + name + "-");
+    t.setRejectedExecutionHandler(rejection);
+    t.setTaskDecorator(laneMetrics.waitTimer(name));
     t.setAllowCoreThreadTimeOut(true);
     t.setWaitForTasksToCompleteOnShutdown(true);
     t.initialize();
+    laneMetrics.bind(name, t.getThreadPoolExecutor());
     return t;
   }
 }
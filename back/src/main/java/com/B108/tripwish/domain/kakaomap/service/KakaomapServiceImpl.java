@@ -12,13 +12,20 @@ import org.springframework.web.client.RestTemplate;
 
 import com.B108.tripwish.domain.kakaomap.dto.KakaoAddressDto;
 import com.B108.tripwish.domain.kakaomap.dto.KakaoPlaceDto;
+import com.B108.tripwish.infra.ratelimit.ApiPriority;
+import com.B108.tripwish.infra.ratelimit.ApiProvider;
+import com.B108.tripwish.infra.ratelimit.ExternalApiScheduler;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class KakaomapServiceImpl implements KakaomapService {
 
+  private final ExternalApiScheduler scheduler;
+
   @Value("${kakao.api.key}")
   private String kakaoApiKey;
 
@@ -36,7 +43,10 @@ public class KakaomapServiceImpl implements KakaomapService {
 
       RestTemplate restTemplate = new RestTemplate();
       ResponseEntity<String> response =
-          restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+          scheduler.execute(
+              ApiProvider.KAKAO_LOCAL,
+              ApiPriority.INTERACTIVE,
+              () -> restTemplate.exchange(url, HttpMethod.GET, entity, String.class));
 
       JSONObject json = new JSONObject(response.getBody());
       JSONArray documents = json.getJSONArray("documents");
@@ -70,7 +80,10 @@ public class KakaomapServiceImpl implements KakaomapService {
 
       RestTemplate restTemplate = new RestTemplate();
       ResponseEntity<String> response =
-          restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+          scheduler.execute(
+              ApiProvider.KAKAO_LOCAL,
+              ApiPriority.INTERACTIVE,
+              () -> restTemplate.exchange(url, HttpMethod.GET, entity, String.class));
 
       JSONObject json = new JSONObject(response.getBody());
       JSONArray documents = json.getJSONArray("documents");
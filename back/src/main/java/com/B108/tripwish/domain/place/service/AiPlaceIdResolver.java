@@ -0,0 +1,198 @@
+package com.B108.tripwish.domain.place.service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.domain.place.dto.ai.AiPlaceResult;
+import com.B108.tripwish.domain.place.dto.ai.AiPlaceSpec;
+import com.B108.tripwish.global.exception.CustomException;
+import com.B108.tripwish.global.exception.ErrorCode;
+import com.B108.tripwish.infra.ai.AiPlaceQueryCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * (regionId, 검색어) → AI 추천 placeId 순서 목록.
+ *
+ * <p>정규화 검색어 캐시를 먼저 보고, 미스면 AI 서버를 호출한다. 같은 키의 동시 요청은 한 번의 호출 결과를 함께 기다린다. 지역별 인기 검색어는
+ * 만료 전에 백그라운드에서 미리 채운다 (Redis lease 로 주기마다 클러스터에서 한 노드만).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiPlaceIdResolver {
+
+  private static final String NODE_ID = UUID.randomUUID().toString();
+
+  private final PlaceAiGateWay ai;
+  private final AiPlaceQueryCache cache;
+  private final ObjectMapper objectMapper;
+  private final Map<String, CompletableFuture<List<Long>>> inFlight = new ConcurrentHashMap<>();
+
+  @Value("${ai.place-cache.prefetch.enabled:true}")
+  private boolean prefetchEnabled;
+
+  @Value("${ai.place-cache.prefetch.regions:10}")
+  private int prefetchRegions;
+
+  @Value("${ai.place-cache.prefetch.queries-per-region:5}")
+  private int prefetchQueries;
+
+  @Value("${ai.place-cache.prefetch.refresh-before:1h}")
+  private Duration refreshBefore;
+
+  @Value("${ai.place-cache.prefetch.interval:PT10M}")
+  private Duration prefetchInterval;
+
+  @Value("${ai.log.payload-sample-rate:0.05}")
+  private double payloadSampleRate;
+
+  public List<Long> resolve(Long regionId, String query) {
+    cache.recordQuery(regionId, query);
+    Optional<List<Long>> cached = cache.get(regionId, query);
+    if (cached.isPresent()) {
+      log.info("[AI place] cache hit regionId={} ids={}", regionId, cached.get().size());
+      return cached.get();
+    }
+
+    String key = regionId + ":" + AiPlaceQueryCache.normalize(query);
+    CompletableFuture<List<Long>> mine = new CompletableFuture<>();
+    CompletableFuture<List<Long>> running = inFlight.putIfAbsent(key, mine);
+    if (running != null) return join(running);
+    try {
+      List<Long> ids = fetch(regionId, query);
+      mine.complete(ids);
+      return ids;
+    } catch (RuntimeException e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, mine);
+    }
+  }
+
+  /** 인기 지역의 인기 검색어 중 곧 만료되거나 비어 있는 것을 미리 채운다 */
+  @Scheduled(
+      fixedDelayString = "${ai.place-cache.prefetch.interval:PT10M}",
+      initialDelayString = "${ai.place-cache.prefetch.interval:PT10M}")
+  public void prefetchPopular() {
+    if (!prefetchEnabled) return;
+    // 다른 노드가 이번 주기를 이미 맡았으면 건너뜀 (AI 서버는 한 대라 중복 호출을 막는다)
+    if (!cache.tryAcquirePrefetchLease(NODE_ID, prefetchInterval)) {
+      log.debug("[AI place] prefetch skipped: another node holds the lease");
+      return;
+    }
+    try {
+      for (Long regionId : cache.popularRegions(prefetchRegions)) {
+        for (String query : cache.popularQueries(regionId, prefetchQueries)) {
+          if (!cache.expiresWithin(regionId, query, refreshBefore)) continue;
+          try {
+            fetch(regionId, query);
+            log.info("[AI place] prefetched regionId={} query='{}'", regionId, query);
+          } catch (Exception e) {
+            log.warn("[AI place] prefetch failed regionId={}: {}", regionId, e.getMessage());
+          }
+        }
+      }
+    } catch (Exception e) {
+      log.warn("[AI place] prefetch skipped: {}", e.getMessage());
+    }
+  }
+
+  private List<Long> fetch(Long regionId, String query) {
+    AiPlaceSpec spec = AiPlaceSpec.builder().regionId(regionId).query(query.trim()).build();
+
+    boolean sampled =
+        log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < payloadSampleRate;
+    if (sampled) {
+      try {
+        log.debug("[AI req] {}", objectMapper.writeValueAsString(spec));
+      } catch (Exception e) {
+        log.warn("[AI req] JSON 직렬화 실패", e);
+      }
+    }
+
+    AiPlaceResult result = ai.recommendPlace(spec);
+    if (result == null || result.getResult() == null || result.getResult().isEmpty()) {
+      log.warn("[AI place] result is null");
+      throw new CustomException(ErrorCode.AI_BAD_RESPONSE);
+    }
+
+    if (sampled) {
+      try {
+        log.debug("[AI parsed] {}", objectMapper.writeValueAsString(result));
+      } catch (Exception ignore) {
+        log.debug("[AI parsed] result.result={}", result.getResult());
+      }
+    }
+
+    // 문자열/리스트 모두 수용
+    List<Long> ids = normalizeIds(result.getResult());
+    if (ids.isEmpty()) {
+      throw new CustomException(ErrorCode.AI_BAD_RESPONSE);
+    }
+    cache.put(regionId, query, ids);
+    return ids;
+  }
+
+  private static List<Long> join(CompletableFuture<List<Long>> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) throw re;
+      throw e;
+    }
+  }
+
+  /** "result"가 List<Long>이든 "[1,2,3]" 문자열이든 Long 리스트로 정규화 */
+  private List<Long> normalizeIds(Object raw) {
+    if (raw instanceof List<?> list) {
+      return list.stream()
+          .map(
+              o -> {
+                if (o == null) return null;
+                if (o instanceof Number n) return n.longValue();
+                try {
+                  return Long.parseLong(o.toString().trim());
+                } catch (Exception e) {
+                  return null;
+                }
+              })
+          .filter(Objects::nonNull)
+          .collect(Collectors.toCollection(LinkedHashSet::new)) // 순서 유지 + 중복 제거
+          .stream()
+          .toList();
+    }
+
+    String s = String.valueOf(raw);
+    if (s == null || s.isBlank()) return List.of();
+    s = s.trim();
+    if (s.startsWith("[") && s.endsWith("]")) s = s.substring(1, s.length() - 1);
+    if (s.isBlank()) return List.of();
+
+    String[] tokens = s.split(",");
+    List<Long> out = new ArrayList<>(tokens.length);
+    Set<Long> seen = new HashSet<>();
+    for (String t : tokens) {
+      String token = t.trim();
+      if (token.isEmpty()) continue;
+      try {
+        Long id = Long.parseLong(token);
+        if (seen.add(id)) out.add(id);
+      } catch (NumberFormatException ignore) {
+      }
+    }
+    return out;
+  }
+}
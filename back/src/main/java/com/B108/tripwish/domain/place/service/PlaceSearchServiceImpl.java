@@ -8,8 +8,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.B108.tripwish.domain.auth.service.CustomUserDetails;
 import com.B108.tripwish.domain.place.document.PlaceDocument;
-import com.B108.tripwish.domain.place.dto.ai.AiPlaceResult;
-import com.B108.tripwish.domain.place.dto.ai.AiPlaceSpec;
 import com.B108.tripwish.domain.place.dto.request.AiPlaceRequestDto;
 import com.B108.tripwish.domain.place.dto.request.PlaceSearchRequest;
 import com.B108.tripwish.domain.place.dto.response.PlaceListResponseDto;
@@ -24,7 +22,6 @@ import com.B108.tripwish.global.common.entity.Region;
 import com.B108.tripwish.global.common.enums.PlaceType;
 import com.B108.tripwish.global.exception.CustomException;
 import com.B108.tripwish.global.exception.ErrorCode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,8 +36,7 @@ public class PlaceSearchServiceImpl implements PlaceSearchService {
   private final MyPlaceReaderService myPlaceReaderService;
   private final WantPlaceReaderService wantPlaceReaderService;
   private final RoomService roomService;
-  private final PlaceAiGateWay ai;
-  private final ObjectMapper objectMapper;
+  private final AiPlaceIdResolver aiPlaceIdResolver;
 
   @Transactional(readOnly = true)
   @Override
@@ -124,38 +120,11 @@ public class PlaceSearchServiceImpl implements PlaceSearchService {
         regionId,
         request != null ? request.getKeyword() : null);
 
-    // 1) AI 호출 사양
-    AiPlaceSpec spec =
-        AiPlaceSpec.builder().regionId(regionId).query(request.getKeyword().trim()).build();
+    // 1) AI 추천 id 목록 (정규화 검색어 캐시 → 미스면 AI 호출)
+    List<Long> aiIds = aiPlaceIdResolver.resolve(regionId, request.getKeyword());
 
-    try {
-      String reqJson = objectMapper.writeValueAsString(spec);
-      log.info("[AI req] {}", reqJson);
-    } catch (Exception e) {
-      log.warn("[AI req] JSON 직렬화 실패", e);
-    }
-
-    // 2) AI 호출 + 결과 정규화
-    AiPlaceResult result = ai.recommendPlace(spec);
-    if (result == null || result.getResult() == null || result.getResult().isEmpty()) {
-      log.warn("[AI place] result is null");
-      throw new CustomException(ErrorCode.AI_BAD_RESPONSE);
-    }
-
-    try {
-      log.info("[AI parsed] {}", objectMapper.writeValueAsString(result));
-    } catch (Exception ignore) {
-      log.info("[AI parsed] result.result={}", result.getResult());
-    }
-
-    // 문자열/리스트 모두 수용
-    List<Long> aiIds = normalizeIds(result.getResult());
-    if (aiIds.isEmpty()) {
-      throw new CustomException(ErrorCode.AI_BAD_RESPONSE);
-    }
-
-    // 3) DB 조회 (N+1 방지: 이미지 + 카테고리 fetch-join)
-    // 3-1. ID 수가 많을 수 있으면 청크 처리(선택)
+    // 2) DB 조회 (N+1 방지: 이미지 + 카테고리 fetch-join)
+    // 2-1. ID 수가 많을 수 있으면 청크 처리(선택)
     List<Place> found = new ArrayList<>();
     final int CHUNK = 800; // 드라이버/DB 환경에 맞게 조절
     for (int i = 0; i < aiIds.size(); i += CHUNK) {
@@ -163,7 +132,7 @@ public class PlaceSearchServiceImpl implements PlaceSearchService {
       found.addAll(placeRepository.findAllWithImagesAndCategoryByIdIn(sub));
     }
 
-    // 3-2. id -> Place 맵 구성
+    // 3) id -> Place 맵 구성
     Map<Long, Place> byId =
         found.stream().collect(Collectors.toMap(Place::getId, p -> p, (a, b) -> a));
 
@@ -191,45 +160,4 @@ public class PlaceSearchServiceImpl implements PlaceSearchService {
 
     return new PlaceListResponseDto(places);
   }
-
-  /** "result"가 List<Long>이든 "[1,2,3]" 문자열이든 Long 리스트로 정규화 */
-  private List<Long> normalizeIds(Object raw) {
-    if (raw instanceof List<?> list) {
-      return list.stream()
-          .map(
-              o -> {
-                if (o == null) return null;
-                if (o instanceof Number n) return n.longValue();
-                try {
-                  return Long.parseLong(o.toString().trim());
-                } catch (Exception e) {
-                  return null;
-                }
-              })
-          .filter(Objects::nonNull)
-          .collect(Collectors.toCollection(LinkedHashSet::new)) // 순서 유지 + 중복 제거
-          .stream()
-          .toList();
-    }
-
-    String s = String.valueOf(raw);
-    if (s == null || s.isBlank()) return List.of();
-    s = s.trim();
-    if (s.startsWith("[") && s.endsWith("]")) s = s.substring(1, s.length() - 1);
-    if (s.isBlank()) return List.of();
-
-    String[] tokens = s.split(",");
-    List<Long> out = new ArrayList<>(tokens.length);
-    Set<Long> seen = new HashSet<>();
-    for (String t : tokens) {
-      String token = t.trim();
-      if (token.isEmpty()) continue;
-      try {
-        Long id = Long.parseLong(token);
-        if (seen.add(id)) out.add(id);
-      } catch (NumberFormatException ignore) {
-      }
-    }
-    return out;
-  }
 }
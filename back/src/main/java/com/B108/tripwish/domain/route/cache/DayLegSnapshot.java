@@ -0,0 +1,38 @@
+package com.B108.tripwish.domain.route.cache;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+
+/**
+ * 일차별로 마지막에 계산된 구간 목록. 일정 편집 후 재계산 시 (이동수단, from, to, 출발시간 버킷)이 같은 구간은 외부 호출 없이 재사용한다.
+ *
+ * <p>계산 요청 동안 Reactor Context에 실려 leg 계산 단계까지 전달된다.
+ */
+public record DayLegSnapshot(List<Entry> legs) {
+
+  public static final DayLegSnapshot EMPTY = new DayLegSnapshot(List.of());
+
+  public Optional<TravelLegCache.CachedLeg> find(
+      TransportType mode, long fromWantId, long toWantId, long departureBucket) {
+    for (Entry e : legs) {
+      if (e.mode() == mode
+          && e.fromWantId() == fromWantId
+          && e.toWantId() == toWantId
+          && e.departureBucket() == departureBucket) {
+        return Optional.of(new TravelLegCache.CachedLeg(e.distanceMeters(), e.durationSec()));
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** departureBucket: 대중교통 외에는 -1 */
+  public record Entry(
+      TransportType mode,
+      long fromWantId,
+      long toWantId,
+      long departureBucket,
+      long distanceMeters,
+      long durationSec) {}
+}
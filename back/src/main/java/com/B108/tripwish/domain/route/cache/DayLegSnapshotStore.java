@@ -0,0 +1,42 @@
+package com.B108.tripwish.domain.route.cache;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** 스케줄 해시("schedule:{roomId}") 옆 "schedule:{roomId}:legs" 해시에 일차별 마지막 계산 구간을 보관 */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DayLegSnapshotStore {
+
+  private final StringRedisTemplate redis;
+  private final ObjectMapper om;
+
+  public static String key(Long roomId) {
+    return "schedule:" + roomId + ":legs";
+  }
+
+  public DayLegSnapshot load(Long roomId, int day) {
+    try {
+      Object raw = redis.opsForHash().get(key(roomId), String.valueOf(day));
+      if (raw == null) return DayLegSnapshot.EMPTY;
+      return om.readValue((String) raw, DayLegSnapshot.class);
+    } catch (Exception e) {
+      log.warn("[leg-snapshot] load failed room={} day={}: {}", roomId, day, e.getMessage());
+      return DayLegSnapshot.EMPTY;
+    }
+  }
+
+  public void save(Long roomId, int day, DayLegSnapshot snapshot) {
+    try {
+      redis.opsForHash().put(key(roomId), String.valueOf(day), om.writeValueAsString(snapshot));
+    } catch (Exception e) {
+      log.warn("[leg-snapshot] save failed room={} day={}: {}", roomId, day, e.getMessage());
+    }
+  }
+}
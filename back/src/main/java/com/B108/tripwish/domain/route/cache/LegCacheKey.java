@@ -0,0 +1,13 @@
+package com.B108.tripwish.domain.route.cache;
+
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+
+/** 양자화된 좌표(1e-4도 단위) + 이동수단 + 출발시간 버킷(대중교통 외에는 -1) */
+public record LegCacheKey(
+    TransportType mode, long fromLat, long fromLng, long toLat, long toLng, long departureBucket) {
+
+  public String asString() {
+    String base = mode.name() + ":" + fromLat + ":" + fromLng + ":" + toLat + ":" + toLng;
+    return departureBucket < 0 ? base : base + ":" + departureBucket;
+  }
+}
@@ -0,0 +1,177 @@
+package com.B108.tripwish.domain.route.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 구간(leg) 단위 이동시간 캐시 — L1(프로세스 내 LRU) + L2(Redis).
+ *
+ * <p>키: 양자화된 출발/도착 좌표 + 이동수단 (+ 대중교통이면 출발시간 버킷). 같은 지역의 다른 방에서도 재사용된다.
+ */
+@Slf4j
+@Component
+public class TravelLegCache {
+
+  private static final String KEY_PREFIX = "travel:leg:";
+
+  private final StringRedisTemplate redis;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, LocalEntry> local;
+
+  @Value("${travel.leg-cache.walking-ttl:7d}")
+  private Duration walkingTtl;
+
+  @Value("${travel.leg-cache.driving-ttl:6h}")
+  private Duration drivingTtl;
+
+  @Value("${travel.leg-cache.transit-ttl:1d}")
+  private Duration transitTtl;
+
+  @Value("${travel.leg-cache.transit-bucket:15m}")
+  private Duration transitBucket;
+
+  public TravelLegCache(
+      StringRedisTemplate redis,
+      MeterRegistry meterRegistry,
+      @Value("${travel.leg-cache.local-max-size:10000}") int localMaxSize) {
+    this.redis = redis;
+    this.meterRegistry = meterRegistry;
+    this.local =
+        Collections.synchronizedMap(
+            new LinkedHashMap<String, LocalEntry>(256, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > localMaxSize;
+              }
+            });
+  }
+
+  /** 좌표 양자화(소수점 4자리 ≈ 11m) + 대중교통 출발시간 버킷으로 키 생성 */
+  public LegCacheKey key(
+      TransportType mode,
+      double fromLat,
+      double fromLng,
+      double toLat,
+      double toLng,
+      Instant departure) {
+    long bucket = (mode == TransportType.transit) ? departureBucket(departure) : -1;
+    return new LegCacheKey(
+        mode, quantize(fromLat), quantize(fromLng), quantize(toLat), quantize(toLng), bucket);
+  }
+
+  /** 대중교통 출발시간 버킷 번호 (null이면 현재 시각 기준) */
+  public long departureBucket(Instant departure) {
+    Instant dep = (departure != null) ? departure : Instant.now();
+    return dep.getEpochSecond() / transitBucket.toSeconds();
+  }
+
+  public Optional<CachedLeg> get(LegCacheKey key) {
+    return find(key, true);
+  }
+
+  /** 적중률 메트릭에 반영하지 않는 조회 (일괄 조회 전 미스 판별용) */
+  public Optional<CachedLeg> peek(LegCacheKey key) {
+    return find(key, false);
+  }
+
+  private Optional<CachedLeg> find(LegCacheKey key, boolean metered) {
+    String k = KEY_PREFIX + key.asString();
+
+    // 1) L1
+    LocalEntry e = local.get(k);
+    if (e != null) {
+      if (e.expiresAtMillis > System.currentTimeMillis()) {
+        if (metered) count(key.mode(), "l1", "hit");
+        return Optional.of(e.leg);
+      }
+      local.remove(k);
+    }
+    if (metered) count(key.mode(), "l1", "miss");
+
+    // 2) L2 (Redis) — 장애 시 미스로 취급
+    try {
+      String raw = redis.opsForValue().get(k);
+      CachedLeg leg = CachedLeg.parse(raw);
+      if (leg != null) {
+        if (metered) count(key.mode(), "l2", "hit");
+        long expiresAt = System.currentTimeMillis() + ttl(key.mode()).toMillis();
+        local.put(k, new LocalEntry(leg, expiresAt));
+        return Optional.of(leg);
+      }
+    } catch (Exception ex) {
+      log.warn("[leg-cache] redis get failed key={}: {}", k, ex.getMessage());
+    }
+    if (metered) count(key.mode(), "l2", "miss");
+    return Optional.empty();
+  }
+
+  public void put(LegCacheKey key, long distanceMeters, long durationSec) {
+    if (durationSec <= 0) return; // 경로 없음/오류 응답은 캐시하지 않음
+
+    String k = KEY_PREFIX + key.asString();
+    CachedLeg leg = new CachedLeg(distanceMeters, durationSec);
+    Duration ttl = ttl(key.mode());
+
+    local.put(k, new LocalEntry(leg, System.currentTimeMillis() + ttl.toMillis()));
+    try {
+      redis.opsForValue().set(k, leg.asString(), ttl);
+    } catch (Exception ex) {
+      log.warn("[leg-cache] redis put failed key={}: {}", k, ex.getMessage());
+    }
+  }
+
+  private Duration ttl(TransportType mode) {
+    return switch (mode) {
+      case walking -> walkingTtl;
+      case driving -> drivingTtl;
+      case transit -> transitTtl;
+    };
+  }
+
+  private void count(TransportType mode, String tier, String result) {
+    Counter.builder("travel.leg.cache")
+        .tag("mode", mode.name())
+        .tag("tier", tier)
+        .tag("result", result)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private static long quantize(double deg) {
+    return Math.round(deg * 10_000);
+  }
+
+  public record CachedLeg(long distanceMeters, long durationSec) {
+    String asString() {
+      return distanceMeters + "," + durationSec;
+    }
+
+    static CachedLeg parse(String raw) {
+      if (raw == null || raw.isBlank()) return null;
+      int comma = raw.indexOf(',');
+      if (comma < 0) return null;
+      try {
+        return new CachedLeg(
+            Long.parseLong(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+  }
+
+  private record LocalEntry(CachedLeg leg, long expiresAtMillis) {}
+}
@@ -29,8 +29,10 @@ public class AiRouteController {
       @AuthenticationPrincipal CustomUserDetails user,
       @PathVariable Long roomId,
       @RequestBody AiRouteRequestDto req) {
-    // 방 락
-    if (!roomLockService.acquireRouteLock(roomId, req.getDay())) {
+    // 방 락 — 진행 중인 작업이 있으면 취소하고 새 요청으로 대체
+    if (!roomLockService.acquireRouteLock(roomId, req.getDay())
+        && !(aiRouteService.supersede(roomId, req.getDay())
+            && roomLockService.acquireRouteLock(roomId, req.getDay()))) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "이미 일정 추천이 진행 중입니다."));
     }
     String jobId = aiRouteService.enqueue(roomId, req);
@@ -2,6 +2,7 @@ package com.B108.tripwish.domain.route.dto.ai;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
@@ -19,6 +20,10 @@ public class AiRouteSpec {
   private List<AiPlaceInfoDto> placeList;
   private int days;
 
+  /** 백엔드가 이미 아는 자동차 이동 행렬 (없으면 필드 생략 → AI 서버가 직접 조회) */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private AiTravelMatrix travelMatrix;
+
   @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
   @Getter
   @NoArgsConstructor
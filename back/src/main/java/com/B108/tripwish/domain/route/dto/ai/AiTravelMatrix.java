@@ -0,0 +1,27 @@
+package com.B108.tripwish.domain.route.dto.ai;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * AI spec 에 첨부하는 자동차 이동 행렬 — 백엔드가 이미 아는 구간은 AI 서버가 카카오를 다시 부르지 않도록 넘긴다.
+ *
+ * <p>행/열 순서는 {@code ids}(wantId) 순서, 모르는 칸은 null.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiTravelMatrix {
+  private List<Long> ids;
+  private List<List<Integer>> durationSec;
+  private List<List<Integer>> distanceMeters;
+}
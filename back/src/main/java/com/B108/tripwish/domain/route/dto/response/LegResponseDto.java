@@ -1,6 +1,7 @@
 package com.B108.tripwish.domain.route.dto.response;
 
 import com.B108.tripwish.domain.schedule.entity.TransportType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,4 +18,6 @@ public class LegResponseDto {
   private long distanceMeters; // 거리
   private long durationSec; // 시간(초)
   private TransportType transport; // 이동 수단
+
+  @JsonIgnore private boolean local; // 로컬 도로 그래프 추정 (실측 아님) — 방 행렬/스냅샷에 기록하지 않음
 }
@@ -22,6 +22,7 @@ public class RouteResultResponseDto {
   private long totalDurationSec; // 총 소요 시간(초)
   private List<LegResponseDto> legs; // 구간별 정보
   private String polyline; // 옵션: 지도 경로 폴리라인
+  private boolean provisional; // true면 로컬 추정치 (실제 결과가 뒤이어 전송되거나, 쿼터 소진 시 대체값)
 
   public static RouteResultResponseDto empty() {
     return RouteResultResponseDto.builder()
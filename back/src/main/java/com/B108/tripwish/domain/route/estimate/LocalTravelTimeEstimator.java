@@ -0,0 +1,173 @@
+package com.B108.tripwish.domain.route.estimate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+import com.B108.tripwish.global.util.GeoUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 외부 API 없이 직선거리로 구간 이동시간을 추정한다.
+ *
+ * <p>모델: 거리 = 직선거리 × 우회계수, 시간 = 거리 × (초/m) (+ 대중교통 대기시간). 우회계수와 초/m는 이동수단 × 지역 격자(0.1도)별로 실제
+ * API 결과의 EWMA로 보정되며, 보정값은 Redis 해시 "travel:calib"에 공유된다. EWMA 갱신은 Redis 값에 대해 Lua 로 원자적으로 하고,
+ * 노드 로컬 사본은 짧게만 캐시해 다른 노드의 보정을 따라간다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalTravelTimeEstimator {
+
+  private static final String REDIS_KEY = "travel:calib";
+  private static final double CELL_DEG = 0.1;
+  private static final double ALPHA = 0.1;
+  private static final double MIN_STRAIGHT_METERS = 100;
+  private static final long TRANSIT_WAIT_SEC = 300;
+  private static final long LOCAL_TTL_MILLIS = Duration.ofMinutes(1).toMillis();
+
+  /** KEYS[1]=보정 해시 / ARGV: 필드, 기본 detour, 기본 초/m, 관측 detour, 관측 초/m, alpha → 갱신된 "detour,초/m" */
+  private static final DefaultRedisScript<String> EWMA_UPDATE =
+      new DefaultRedisScript<>(
+          "local d, s = tonumber(ARGV[2]), tonumber(ARGV[3]) "
+              + "local raw = redis.call('HGET', KEYS[1], ARGV[1]) "
+              + "if raw then "
+              + "  local c = string.find(raw, ',', 1, true) "
+              + "  if c then "
+              + "    local pd = tonumber(string.sub(raw, 1, c - 1)) "
+              + "    local ps = tonumber(string.sub(raw, c + 1)) "
+              + "    if pd and ps then d, s = pd, ps end "
+              + "  end "
+              + "end "
+              + "local a = tonumber(ARGV[6]) "
+              + "d = d + a * (tonumber(ARGV[4]) - d) "
+              + "s = s + a * (tonumber(ARGV[5]) - s) "
+              + "local out = string.format('%.17g,%.17g', d, s) "
+              + "redis.call('HSET', KEYS[1], ARGV[1], out) "
+              + "return out",
+          String.class);
+
+  private final StringRedisTemplate redis;
+  private final Map<String, Cached> calibrations = new ConcurrentHashMap<>();
+
+  /** 구간 추정 */
+  public LegEstimate estimate(
+      TransportType mode, double fromLat, double fromLng, double toLat, double toLng) {
+    double straight = GeoUtil.haversineMeters(fromLat, fromLng, toLat, toLng);
+    Calibration c = calibration(mode, fromLat, fromLng);
+
+    double meters = straight * c.detour();
+    long sec = Math.round(meters * c.secPerMeter());
+    if (mode == TransportType.transit && straight > 0) sec += TRANSIT_WAIT_SEC;
+    return new LegEstimate(Math.round(meters), sec);
+  }
+
+  /** 실제 API 결과로 해당 지역의 모델을 보정 */
+  public void observe(
+      TransportType mode,
+      double fromLat,
+      double fromLng,
+      double toLat,
+      double toLng,
+      long distanceMeters,
+      long durationSec) {
+    double straight = GeoUtil.haversineMeters(fromLat, fromLng, toLat, toLng);
+    if (straight < MIN_STRAIGHT_METERS || distanceMeters <= 0 || durationSec <= 0) return;
+
+    long rideSec = mode == TransportType.transit ? durationSec - TRANSIT_WAIT_SEC : durationSec;
+    if (rideSec <= 0) return;
+
+    double detour = clamp(distanceMeters / straight, 1.0, 3.0);
+    double secPerMeter = clamp((double) rideSec / distanceMeters, 0.02, 2.0);
+
+    String key = cellKey(mode, fromLat, fromLng);
+    Calibration defaults = Calibration.defaults(mode);
+    try {
+      String raw =
+          redis.execute(
+              EWMA_UPDATE,
+              List.of(REDIS_KEY),
+              key,
+              Double.toString(defaults.detour()),
+              Double.toString(defaults.secPerMeter()),
+              Double.toString(detour),
+              Double.toString(secPerMeter),
+              Double.toString(ALPHA));
+      Calibration updated = Calibration.parse(raw);
+      if (updated != null) calibrations.put(key, new Cached(updated, System.currentTimeMillis()));
+    } catch (Exception e) {
+      log.warn("[estimator] calibration save failed key={}: {}", key, e.getMessage());
+    }
+  }
+
+  private Calibration calibration(TransportType mode, double lat, double lng) {
+    String key = cellKey(mode, lat, lng);
+    long now = System.currentTimeMillis();
+    return calibrations
+        .compute(
+            key,
+            (k, cached) ->
+                (cached != null && now - cached.loadedAt() < LOCAL_TTL_MILLIS)
+                    ? cached
+                    : new Cached(load(k, mode), now))
+        .calibration();
+  }
+
+  private Calibration load(String key, TransportType mode) {
+    try {
+      Object raw = redis.opsForHash().get(REDIS_KEY, key);
+      Calibration c = Calibration.parse((String) raw);
+      if (c != null) return c;
+    } catch (Exception e) {
+      log.warn("[estimator] calibration load failed key={}: {}", key, e.getMessage());
+    }
+    return Calibration.defaults(mode);
+  }
+
+  private static String cellKey(TransportType mode, double lat, double lng) {
+    long cellLat = (long) Math.floor(lat / CELL_DEG);
+    long cellLng = (long) Math.floor(lng / CELL_DEG);
+    return mode.name() + ":" + cellLat + ":" + cellLng;
+  }
+
+  private static double clamp(double v, double min, double max) {
+    return Math.max(min, Math.min(max, v));
+  }
+
+  public record LegEstimate(long distanceMeters, long durationSec) {}
+
+  private record Cached(Calibration calibration, long loadedAt) {}
+
+  record Calibration(double detour, double secPerMeter) {
+
+    // 보정 전 기본값: 도보 1.25m/s, 자동차(도심) 25km/h, 대중교통 20km/h
+    static Calibration defaults(TransportType mode) {
+      return switch (mode) {
+        case walking -> new Calibration(1.25, 1 / 1.25);
+        case driving -> new Calibration(1.4, 1 / 7.0);
+        case transit -> new Calibration(1.3, 1 / 5.5);
+      };
+    }
+
+    static Calibration parse(String raw) {
+      if (raw == null || raw.isBlank()) return null;
+      int comma = raw.indexOf(',');
+      if (comma < 0) return null;
+      try {
+        double detour = Double.parseDouble(raw.substring(0, comma));
+        double secPerMeter = Double.parseDouble(raw.substring(comma + 1));
+        return new Calibration(detour, secPerMeter);
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+  }
+}
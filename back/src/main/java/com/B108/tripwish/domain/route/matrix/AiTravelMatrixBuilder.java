@@ -0,0 +1,155 @@
+package com.B108.tripwish.domain.route.matrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.domain.route.cache.TravelLegCache;
+import com.B108.tripwish.domain.route.dto.ai.AiTravelMatrix;
+import com.B108.tripwish.domain.route.provider.LegProvider;
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AI spec 용 자동차 이동 행렬 조립 — 외부 호출 없이 이미 가진 값만 사용한다.
+ *
+ * <p>방 이동 행렬 → 구간 캐시 → 로컬 도로 그래프 순으로 채우고, 끝까지 모르는 칸은 null 로 둔다. AI 서버는 한 출발지 행이 모두 채워져 있으면
+ * 그 출발지의 카카오 호출을 건너뛴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiTravelMatrixBuilder {
+
+  private static final TransportType MODE = TransportType.driving; // AI 서버는 자동차 소요시간 사용
+
+  private final TravelMatrixStore matrixStore;
+  private final TravelLegCache legCache;
+  private final LegProvider localLegs;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${ai.spec.travel-matrix.enabled:true}")
+  private boolean enabled;
+
+  /**
+   * @param ids wantId (행/열 순서)
+   * @param points ids 와 같은 순서의 좌표, 좌표가 없으면 null
+   * @return 아는 칸이 하나도 없으면 empty
+   */
+  public Optional<AiTravelMatrix> build(
+      Long roomId, List<Long> ids, List<LegProvider.Point> points) {
+    int n = ids.size();
+    if (!enabled || n < 2) return Optional.empty();
+
+    RoomTravelMatrix room;
+    try {
+      room = matrixStore.load(roomId, MODE).orElse(RoomTravelMatrix.empty());
+    } catch (Exception e) {
+      log.warn("[AI-SPEC] matrix load failed roomId={}: {}", roomId, e.getMessage());
+      room = RoomTravelMatrix.empty();
+    }
+
+    Integer[][] dur = new Integer[n][n];
+    Integer[][] dist = new Integer[n][n];
+    int[] bySource = new int[3]; // room / cache / local
+    for (int i = 0; i < n; i++) {
+      dur[i][i] = 0;
+      dist[i][i] = 0;
+      List<Integer> missing = new ArrayList<>();
+      for (int j = 0; j < n; j++) {
+        if (i == j) continue;
+        int sec = room.durationSec(ids.get(i), ids.get(j));
+        if (sec != RoomTravelMatrix.UNKNOWN) {
+          int m = room.distanceMeters(ids.get(i), ids.get(j));
+          dur[i][j] = sec;
+          dist[i][j] = m == RoomTravelMatrix.UNKNOWN ? null : m;
+          bySource[0]++;
+        } else if (fromLegCache(points.get(i), points.get(j), dur[i], dist[i], j)) {
+          bySource[1]++;
+        } else {
+          missing.add(j);
+        }
+      }
+      bySource[2] += fillLocally(points, i, missing, dur[i], dist[i]);
+    }
+
+    int known = bySource[0] + bySource[1] + bySource[2];
+    int total = n * (n - 1);
+    count("room", bySource[0]);
+    count("cache", bySource[1]);
+    count("local", bySource[2]);
+    count("missing", total - known);
+    log.info(
+        "[AI-SPEC] travel matrix roomId={} n={} known={}/{} (room={} cache={} local={})",
+        roomId,
+        n,
+        known,
+        total,
+        bySource[0],
+        bySource[1],
+        bySource[2]);
+    if (known == 0) return Optional.empty();
+
+    return Optional.of(
+        AiTravelMatrix.builder()
+            .ids(List.copyOf(ids))
+            .durationSec(Arrays.stream(dur).map(Arrays::asList).toList())
+            .distanceMeters(Arrays.stream(dist).map(Arrays::asList).toList())
+            .build());
+  }
+
+  private boolean fromLegCache(
+      LegProvider.Point from, LegProvider.Point to, Integer[] durRow, Integer[] distRow, int j) {
+    if (from == null || to == null) return false;
+    try {
+      Optional<TravelLegCache.CachedLeg> hit =
+          legCache.peek(legCache.key(MODE, from.lat(), from.lng(), to.lat(), to.lng(), null));
+      if (hit.isEmpty()) return false;
+      durRow[j] = (int) hit.get().durationSec();
+      distRow[j] = (int) hit.get().distanceMeters();
+      return true;
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  /** 남은 칸은 로컬 도로 그래프로 (그래프 미로딩/범위 밖이면 그대로 null) */
+  private int fillLocally(
+      List<LegProvider.Point> points,
+      int i,
+      List<Integer> missing,
+      Integer[] durRow,
+      Integer[] distRow) {
+    if (missing.isEmpty() || points.get(i) == null || !localLegs.supports(MODE)) return 0;
+    List<Integer> cols = missing.stream().filter(j -> points.get(j) != null).toList();
+    if (cols.isEmpty()) return 0;
+
+    List<Optional<LegProvider.Leg>> legs =
+        localLegs.oneToMany(MODE, points.get(i), cols.stream().map(points::get).toList());
+    int filled = 0;
+    for (int k = 0; k < cols.size(); k++) {
+      Optional<LegProvider.Leg> leg = legs.get(k);
+      if (leg.isEmpty()) continue;
+      durRow[cols.get(k)] = (int) leg.get().durationSec();
+      distRow[cols.get(k)] = (int) leg.get().distanceMeters();
+      filled++;
+    }
+    return filled;
+  }
+
+  private void count(String source, int cells) {
+    if (cells == 0) return;
+    Counter.builder("ai.spec.travel_matrix.cells")
+        .tag("source", source)
+        .register(meterRegistry)
+        .increment(cells);
+  }
+}
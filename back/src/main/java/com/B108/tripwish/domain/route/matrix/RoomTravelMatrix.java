@@ -0,0 +1,162 @@
+package com.B108.tripwish.domain.route.matrix;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * 방 단위 N×N 이동 행렬 (하나의 이동수단 기준).
+ *
+ * <p>wantId 목록과 row-major 소요시간/거리 배열을 원시 타입 배열로 보관한다. 값이 없는 칸은 -1.
+ */
+public class RoomTravelMatrix {
+
+  public static final int UNKNOWN = -1;
+
+  private final long[] ids;
+  private final int[] durationSec;
+  private final int[] distanceMeters;
+
+  private RoomTravelMatrix(long[] ids, int[] durationSec, int[] distanceMeters) {
+    this.ids = ids;
+    this.durationSec = durationSec;
+    this.distanceMeters = distanceMeters;
+  }
+
+  public static RoomTravelMatrix empty() {
+    return new RoomTravelMatrix(new long[0], new int[0], new int[0]);
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  public long[] ids() {
+    return ids.clone();
+  }
+
+  public int indexOf(long wantId) {
+    for (int i = 0; i < ids.length; i++) {
+      if (ids[i] == wantId) return i;
+    }
+    return -1;
+  }
+
+  /** from → to 소요시간(초), 없으면 {@link #UNKNOWN} */
+  public int durationSec(long fromWantId, long toWantId) {
+    int i = indexOf(fromWantId), j = indexOf(toWantId);
+    return (i < 0 || j < 0) ? UNKNOWN : durationSec[i * ids.length + j];
+  }
+
+  /** from → to 거리(m), 없으면 {@link #UNKNOWN} */
+  public int distanceMeters(long fromWantId, long toWantId) {
+    int i = indexOf(fromWantId), j = indexOf(toWantId);
+    return (i < 0 || j < 0) ? UNKNOWN : distanceMeters[i * ids.length + j];
+  }
+
+  /** 두 방향 모두 값이 있는지 */
+  public boolean hasPair(long a, long b) {
+    return durationSec(a, b) != UNKNOWN && durationSec(b, a) != UNKNOWN;
+  }
+
+  /** 없는 wantId를 뒤에 추가한 새 행렬 (기존 칸은 유지) */
+  public RoomTravelMatrix withPlaces(Collection<Long> wantIds) {
+    long[] added =
+        wantIds.stream()
+            .mapToLong(Long::longValue)
+            .filter(id -> indexOf(id) < 0)
+            .distinct()
+            .toArray();
+    if (added.length == 0) return this;
+
+    int n = ids.length, m = n + added.length;
+    long[] newIds = Arrays.copyOf(ids, m);
+    System.arraycopy(added, 0, newIds, n, added.length);
+
+    int[] dur = new int[m * m];
+    int[] dist = new int[m * m];
+    Arrays.fill(dur, UNKNOWN);
+    Arrays.fill(dist, UNKNOWN);
+    for (int i = 0; i < n; i++) {
+      System.arraycopy(durationSec, i * n, dur, i * m, n);
+      System.arraycopy(distanceMeters, i * n, dist, i * m, n);
+    }
+    return new RoomTravelMatrix(newIds, dur, dist);
+  }
+
+  /** 해당 wantId의 행/열을 제거한 새 행렬 */
+  public RoomTravelMatrix without(long wantId) {
+    int k = indexOf(wantId);
+    if (k < 0) return this;
+
+    int n = ids.length, m = n - 1;
+    long[] newIds = new long[m];
+    int[] dur = new int[m * m];
+    int[] dist = new int[m * m];
+    for (int i = 0, ni = 0; i < n; i++) {
+      if (i == k) continue;
+      newIds[ni] = ids[i];
+      for (int j = 0, nj = 0; j < n; j++) {
+        if (j == k) continue;
+        dur[ni * m + nj] = durationSec[i * n + j];
+        dist[ni * m + nj] = distanceMeters[i * n + j];
+        nj++;
+      }
+      ni++;
+    }
+    return new RoomTravelMatrix(newIds, dur, dist);
+  }
+
+  /** 칸 갱신 (두 wantId 모두 행렬에 있어야 함) */
+  public void set(long fromWantId, long toWantId, long durationSec, long distanceMeters) {
+    int i = indexOf(fromWantId), j = indexOf(toWantId);
+    if (i < 0 || j < 0) return;
+    this.durationSec[i * ids.length + j] = (int) Math.min(durationSec, Integer.MAX_VALUE);
+    this.distanceMeters[i * ids.length + j] = (int) Math.min(distanceMeters, Integer.MAX_VALUE);
+  }
+
+  /* ---------- 직렬화 (Redis 해시 필드용 Base64) ---------- */
+
+  public String encodeIds() {
+    ByteBuffer buf = ByteBuffer.allocate(ids.length * Long.BYTES);
+    for (long id : ids) buf.putLong(id);
+    return Base64.getEncoder().encodeToString(buf.array());
+  }
+
+  public String encodeDurations() {
+    return encodeInts(durationSec);
+  }
+
+  public String encodeDistances() {
+    return encodeInts(distanceMeters);
+  }
+
+  /** 필드가 없거나 크기가 맞지 않으면 null */
+  public static RoomTravelMatrix decode(String ids, String durations, String distances) {
+    if (ids == null || durations == null || distances == null) return null;
+
+    ByteBuffer buf = ByteBuffer.wrap(Base64.getDecoder().decode(ids));
+    long[] idArr = new long[buf.remaining() / Long.BYTES];
+    for (int i = 0; i < idArr.length; i++) idArr[i] = buf.getLong();
+
+    int[] dur = decodeInts(durations);
+    int[] dist = decodeInts(distances);
+    int cells = idArr.length * idArr.length;
+    if (dur.length != cells || dist.length != cells) return null;
+    return new RoomTravelMatrix(idArr, dur, dist);
+  }
+
+  private static String encodeInts(int[] values) {
+    ByteBuffer buf = ByteBuffer.allocate(values.length * Integer.BYTES);
+    for (int v : values) buf.putInt(v);
+    return Base64.getEncoder().encodeToString(buf.array());
+  }
+
+  private static int[] decodeInts(String encoded) {
+    ByteBuffer buf = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+    int[] out = new int[buf.remaining() / Integer.BYTES];
+    for (int i = 0; i < out.length; i++) out[i] = buf.getInt();
+    return out;
+  }
+}
@@ -0,0 +1,177 @@
+package com.B108.tripwish.domain.route.matrix;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.domain.route.dto.response.LegResponseDto;
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 방 단위 이동 행렬 저장소 — Redis 해시 "travel:matrix:{roomId}:{mode}" (ids / dur / dist 필드).
+ *
+ * <p>대중교통은 출발시간에 따라 값이 달라지므로 도보/자동차만 저장한다. 갱신은 read-modify-write라 노드 내에서는 방 단위로 직렬화하고,
+ * 노드 간 경합으로 칸이 유실되더라도 다음 계산 때 다시 채워진다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TravelMatrixStore {
+
+  private static final String KEY_PREFIX = "travel:matrix:";
+  private static final String F_IDS = "ids";
+  private static final String F_DUR = "dur";
+  private static final String F_DIST = "dist";
+
+  // 방별 read-modify-write 직렬화용 고정 스트라이프 락 (방 수만큼 늘어나지 않게)
+  private static final int LOCK_STRIPES = 64;
+
+  public static final List<TransportType> MODES =
+      List.of(TransportType.walking, TransportType.driving);
+
+  private final StringRedisTemplate redis;
+  private final MeterRegistry meterRegistry;
+  private final Object[] roomLocks = newLocks();
+
+  @Value("${travel.matrix.walking-ttl:7d}")
+  private Duration walkingTtl;
+
+  @Value("${travel.matrix.driving-ttl:6h}")
+  private Duration drivingTtl;
+
+  public static boolean supports(TransportType mode) {
+    return MODES.contains(mode);
+  }
+
+  public Optional<RoomTravelMatrix> load(Long roomId, TransportType mode) {
+    try {
+      List<Object> values =
+          redis.opsForHash().multiGet(key(roomId, mode), List.of(F_IDS, F_DUR, F_DIST));
+      return Optional.ofNullable(
+          RoomTravelMatrix.decode(
+              (String) values.get(0), (String) values.get(1), (String) values.get(2)));
+    } catch (Exception e) {
+      log.warn("[matrix] load failed room={} mode={}: {}", roomId, mode, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /** 순서대로 방문하는 wantId 목록의 모든 구간이 행렬에 있으면 leg 목록을, 하나라도 없으면 empty */
+  public Optional<List<LegResponseDto>> lookup(
+      Long roomId, TransportType mode, List<Long> orderedWantIds) {
+    if (!supports(mode)) return Optional.empty();
+
+    Optional<List<LegResponseDto>> legs =
+        load(roomId, mode).flatMap(m -> legsOf(m, mode, orderedWantIds));
+    count(mode, legs.isPresent() ? "hit" : "miss");
+    return legs;
+  }
+
+  /** 외부 API로 계산된 구간을 행렬에 반영 */
+  public void record(Long roomId, TransportType mode, List<LegResponseDto> legs) {
+    if (!supports(mode) || legs == null || legs.isEmpty()) return;
+
+    List<Long> ids = new ArrayList<>();
+    for (LegResponseDto leg : legs) {
+      ids.add(leg.getFromWantId());
+      ids.add(leg.getToWantId());
+    }
+
+    synchronized (lockOf(roomId)) {
+      RoomTravelMatrix matrix =
+          load(roomId, mode).orElseGet(RoomTravelMatrix::empty).withPlaces(ids);
+      for (LegResponseDto leg : legs) {
+        if (leg.isLocal()) continue; // 방 행렬은 실제 API 응답만 (AI spec/로컬 최적화가 실측으로 사용)
+        if (leg.getDurationSec() <= 0 || leg.getFromWantId() == leg.getToWantId()) continue;
+        matrix.set(
+            leg.getFromWantId(), leg.getToWantId(), leg.getDurationSec(), leg.getDistanceMeters());
+      }
+      save(roomId, mode, matrix);
+    }
+  }
+
+  /** 희망장소 삭제 시 모든 이동수단 행렬에서 행/열 제거 */
+  public void removePlace(Long roomId, long wantId) {
+    synchronized (lockOf(roomId)) {
+      for (TransportType mode : MODES) {
+        load(roomId, mode)
+            .filter(m -> m.indexOf(wantId) >= 0)
+            .ifPresent(m -> save(roomId, mode, m.without(wantId)));
+      }
+    }
+  }
+
+  private Optional<List<LegResponseDto>> legsOf(
+      RoomTravelMatrix matrix, TransportType mode, List<Long> orderedWantIds) {
+    List<LegResponseDto> legs = new ArrayList<>(orderedWantIds.size());
+    for (int i = 0; i + 1 < orderedWantIds.size(); i++) {
+      long from = orderedWantIds.get(i), to = orderedWantIds.get(i + 1);
+      int dur = (from == to) ? 0 : matrix.durationSec(from, to);
+      if (dur == RoomTravelMatrix.UNKNOWN) return Optional.empty();
+
+      legs.add(
+          LegResponseDto.builder()
+              .fromWantId(from)
+              .toWantId(to)
+              .distanceMeters(from == to ? 0 : matrix.distanceMeters(from, to))
+              .durationSec(dur)
+              .transport(mode)
+              .build());
+    }
+    return Optional.of(legs);
+  }
+
+  private void save(Long roomId, TransportType mode, RoomTravelMatrix matrix) {
+    String key = key(roomId, mode);
+    try {
+      if (matrix.size() == 0) {
+        redis.delete(key);
+        return;
+      }
+      redis
+          .opsForHash()
+          .putAll(
+              key,
+              Map.of(
+                  F_IDS, matrix.encodeIds(),
+                  F_DUR, matrix.encodeDurations(),
+                  F_DIST, matrix.encodeDistances()));
+      redis.expire(key, mode == TransportType.walking ? walkingTtl : drivingTtl);
+    } catch (Exception e) {
+      log.warn("[matrix] save failed room={} mode={}: {}", roomId, mode, e.getMessage());
+    }
+  }
+
+  private Object lockOf(Long roomId) {
+    return roomLocks[Math.floorMod(roomId.hashCode(), LOCK_STRIPES)];
+  }
+
+  private static Object[] newLocks() {
+    Object[] locks = new Object[LOCK_STRIPES];
+    for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+    return locks;
+  }
+
+  private static String key(Long roomId, TransportType mode) {
+    return KEY_PREFIX + roomId + ":" + mode.name();
+  }
+
+  private void count(TransportType mode, String result) {
+    Counter.builder("travel.matrix.lookup")
+        .tag("mode", mode.name())
+        .tag("result", result)
+        .register(meterRegistry)
+        .increment();
+  }
+}
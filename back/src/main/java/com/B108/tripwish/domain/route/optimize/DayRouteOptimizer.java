@@ -0,0 +1,181 @@
+package com.B108.tripwish.domain.route.optimize;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 하루 방문 순서 최적화 — 시간창(고정 일정의 시작 시각)이 있는 열린 경로 TSP.
+ *
+ * <p>각 장소를 출발점으로 한 최근접 이웃 해를 공용 fork-join 풀에서 병렬로 만들고, 2-opt / Or-opt 로 개선한 뒤 비용이 가장 낮은 해를
+ * 고른다. 비용 = 총 이동시간 + 지각 시간 × {@link #LATE_WEIGHT}. 입력은 미리 채운 쌍별 소요시간 행렬뿐이라 외부 호출이 없다.
+ */
+@Component
+public class DayRouteOptimizer {
+
+  /** 고정 일정 지각 1초를 이동시간 몇 초로 볼지 */
+  static final int LATE_WEIGHT = 10;
+
+  private static final int MAX_OR_OPT_SEGMENT = 3;
+  private static final int MAX_PASSES = 50;
+
+  public Plan optimize(Problem p) {
+    int n = p.size();
+    if (n == 0) return new Plan(new int[0], 0, 0, 0);
+    if (n == 1) return evaluate(p, new int[] {0});
+
+    return IntStream.range(0, n)
+        .parallel()
+        .mapToObj(start -> improve(p, nearestNeighbour(p, start)))
+        .min(Comparator.comparingLong(Plan::cost).thenComparingLong(Plan::travelSec))
+        .orElseThrow();
+  }
+
+  /** 주어진 순서의 이동시간/지각/비용 계산 (AI 결과와 비교할 때도 사용) */
+  public Plan evaluate(Problem p, int[] order) {
+    long time = p.dayStartSec();
+    long travel = 0;
+    long late = 0;
+    for (int k = 0; k < order.length; k++) {
+      int cur = order[k];
+      if (k > 0) {
+        int d = p.durationSec()[order[k - 1]][cur];
+        travel += d;
+        time += d;
+      }
+      int earliest = p.earliestSec()[cur];
+      if (earliest >= 0) {
+        if (time < earliest) time = earliest; // 일찍 도착하면 대기
+        else late += time - earliest;
+      }
+      time += p.staySec()[cur];
+    }
+    return new Plan(order, travel, late, travel + LATE_WEIGHT * late);
+  }
+
+  private int[] nearestNeighbour(Problem p, int start) {
+    int n = p.size();
+    boolean[] used = new boolean[n];
+    int[] order = new int[n];
+    order[0] = start;
+    used[start] = true;
+    long time = p.dayStartSec() + p.staySec()[start];
+
+    for (int k = 1; k < n; k++) {
+      int prev = order[k - 1];
+      int best = -1;
+      long bestScore = Long.MAX_VALUE;
+      for (int j = 0; j < n; j++) {
+        if (used[j]) continue;
+        long arrive = time + p.durationSec()[prev][j];
+        long score = p.durationSec()[prev][j];
+        int earliest = p.earliestSec()[j];
+        if (earliest >= 0) {
+          // 아직 이른 고정 일정은 뒤로 미루고, 늦어지고 있는 일정은 먼저 간다
+          score += (arrive < earliest) ? earliest - arrive : -LATE_WEIGHT * (arrive - earliest);
+        }
+        if (score < bestScore) {
+          bestScore = score;
+          best = j;
+        }
+      }
+      order[k] = best;
+      used[best] = true;
+      long arrive = time + p.durationSec()[prev][best];
+      int earliest = p.earliestSec()[best];
+      time = Math.max(arrive, earliest) + p.staySec()[best];
+    }
+    return order;
+  }
+
+  private Plan improve(Problem p, int[] seed) {
+    Plan best = evaluate(p, seed);
+    for (int pass = 0; pass < MAX_PASSES; pass++) {
+      Plan next = twoOpt(p, best);
+      next = orOpt(p, next);
+      if (next.cost() >= best.cost()) break;
+      best = next;
+    }
+    return best;
+  }
+
+  /** 구간 [i, j] 뒤집기 */
+  private Plan twoOpt(Problem p, Plan current) {
+    Plan best = current;
+    int n = current.order().length;
+    for (int i = 0; i < n - 1; i++) {
+      for (int j = i + 1; j < n; j++) {
+        int[] cand = best.order().clone();
+        reverse(cand, i, j);
+        Plan plan = evaluate(p, cand);
+        if (plan.cost() < best.cost()) best = plan;
+      }
+    }
+    return best;
+  }
+
+  /** 길이 1~3 구간을 다른 위치로 옮기기 */
+  private Plan orOpt(Problem p, Plan current) {
+    Plan best = current;
+    int n = current.order().length;
+    for (int len = 1; len <= Math.min(MAX_OR_OPT_SEGMENT, n - 1); len++) {
+      for (int from = 0; from + len <= n; from++) {
+        for (int to = 0; to <= n - len; to++) {
+          if (to == from) continue;
+          Plan plan = evaluate(p, move(best.order(), from, len, to));
+          if (plan.cost() < best.cost()) best = plan;
+        }
+      }
+    }
+    return best;
+  }
+
+  private static void reverse(int[] a, int i, int j) {
+    while (i < j) {
+      int t = a[i];
+      a[i++] = a[j];
+      a[j--] = t;
+    }
+  }
+
+  /** order 에서 [from, from+len) 를 떼어 남은 배열의 to 위치에 끼워 넣은 새 배열 */
+  private static int[] move(int[] order, int from, int len, int to) {
+    int n = order.length;
+    int[] rest = new int[n - len];
+    System.arraycopy(order, 0, rest, 0, from);
+    System.arraycopy(order, from + len, rest, from, n - from - len);
+
+    int[] out = new int[n];
+    System.arraycopy(rest, 0, out, 0, to);
+    System.arraycopy(order, from, out, to, len);
+    System.arraycopy(rest, to, out, to + len, rest.length - to);
+    return out;
+  }
+
+  /**
+   * @param durationSec 쌍별 소요시간(초), [from][to]
+   * @param staySec 장소별 체류시간(초)
+   * @param earliestSec 고정 일정 시작 시각(자정 기준 초), 자유 일정은 -1
+   * @param dayStartSec 하루 시작 시각(자정 기준 초)
+   */
+  public record Problem(int[][] durationSec, int[] staySec, int[] earliestSec, int dayStartSec) {
+    public int size() {
+      return staySec.length;
+    }
+  }
+
+  public record Plan(int[] order, long travelSec, long latenessSec, long cost) {
+    @Override
+    public String toString() {
+      return "Plan"
+          + Arrays.toString(order)
+          + " travel="
+          + travelSec
+          + "s late="
+          + latenessSec
+          + "s";
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.B108.tripwish.domain.route.provider;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+
+/** 외부 호출 없이 동기적으로 구간 거리/시간을 답하는 경로 제공자 */
+public interface LegProvider {
+
+  /** 지금 이 이동수단 질의에 답할 수 있는지 (데이터 로딩 전이면 false) */
+  boolean supports(TransportType mode);
+
+  /** 한 구간. 제공 범위 밖이거나 경로가 없으면 empty. */
+  Optional<Leg> leg(TransportType mode, Point from, Point to);
+
+  /** 한 출발지 → 여러 도착지. 결과는 targets 순서이며 답할 수 없는 칸은 empty. */
+  List<Optional<Leg>> oneToMany(TransportType mode, Point from, List<Point> targets);
+
+  record Point(double lat, double lng) {}
+
+  record Leg(long distanceMeters, long durationSec) {}
+}
@@ -0,0 +1,148 @@
+package com.B108.tripwish.domain.route.provider;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+import com.B108.tripwish.global.util.GeoUtil;
+import com.B108.tripwish.infra.graph.AltRouter;
+import com.B108.tripwish.infra.graph.RoadGraph;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 로컬 도로망 그래프(routing.local.graph-path)로 도보/자동차 구간을 계산한다.
+ *
+ * <p>그래프 로딩과 랜드마크 전처리는 기동 후 백그라운드에서 수행하며, 끝나기 전까지는 {@link #supports}가 false다. 출발/도착 좌표는 가장
+ * 가까운 정점으로 붙이고(snap-max-meters 이내), 붙인 거리만큼은 도보 속도로 더한다.
+ */
+@Slf4j
+@Component
+public class LocalGraphLegProvider implements LegProvider {
+
+  @Value("${routing.local.graph-path:}")
+  private String graphPath;
+
+  @Value("${routing.local.landmarks:8}")
+  private int landmarks;
+
+  @Value("${routing.local.snap-max-meters:500}")
+  private double snapMaxMeters;
+
+  @Value("${routing.local.walking-speed-mps:1.2}")
+  private double walkingSpeed;
+
+  private volatile RoadGraph graph;
+  private volatile AltRouter walkRouter;
+  private volatile AltRouter driveRouter;
+
+  @PostConstruct
+  void init() {
+    if (graphPath == null || graphPath.isBlank()) return;
+    Mono.fromRunnable(this::load)
+        .subscribeOn(Schedulers.boundedElastic())
+        .subscribe(
+            v -> {},
+            e -> log.warn("[local-graph] 로딩 실패 path={}: {}", graphPath, e.getMessage()));
+  }
+
+  private void load() {
+    try {
+      Path path = Path.of(graphPath);
+      if (!Files.isReadable(path)) {
+        log.warn("[local-graph] 그래프 파일 없음: {}", path);
+        return;
+      }
+      long started = System.currentTimeMillis();
+      RoadGraph g = RoadGraph.read(path);
+      AltRouter walk = new AltRouter(g, AltRouter.Metric.WALK, landmarks);
+      AltRouter drive = new AltRouter(g, AltRouter.Metric.DRIVE, landmarks);
+      this.graph = g;
+      this.walkRouter = walk;
+      this.driveRouter = drive;
+      log.info(
+          "[local-graph] 로딩 완료 nodes={} edges={} landmarks={} ({}ms)",
+          g.nodeCount(),
+          g.edgeCount(),
+          landmarks,
+          System.currentTimeMillis() - started);
+    } catch (Exception e) {
+      throw new IllegalStateException("road graph load failed: " + graphPath, e);
+    }
+  }
+
+  @Override
+  public boolean supports(TransportType mode) {
+    return router(mode) != null;
+  }
+
+  @Override
+  public Optional<Leg> leg(TransportType mode, Point from, Point to) {
+    AltRouter router = router(mode);
+    if (router == null) return Optional.empty();
+    Snap s = snap(mode, from);
+    Snap t = snap(mode, to);
+    if (s == null || t == null) return Optional.empty();
+    return toLeg(mode, router.route(s.node, t.node), s, t);
+  }
+
+  @Override
+  public List<Optional<Leg>> oneToMany(TransportType mode, Point from, List<Point> targets) {
+    List<Optional<Leg>> result = new ArrayList<>(targets.size());
+    AltRouter router = router(mode);
+    Snap s = (router == null) ? null : snap(mode, from);
+    if (s == null) {
+      for (int i = 0; i < targets.size(); i++) result.add(Optional.empty());
+      return result;
+    }
+
+    Snap[] snaps = new Snap[targets.size()];
+    int[] nodes = new int[targets.size()];
+    for (int i = 0; i < targets.size(); i++) {
+      snaps[i] = snap(mode, targets.get(i));
+      nodes[i] = snaps[i] == null ? -1 : snaps[i].node;
+    }
+    AltRouter.Path[] paths = router.oneToMany(s.node, nodes);
+    for (int i = 0; i < targets.size(); i++) {
+      result.add(snaps[i] == null ? Optional.empty() : toLeg(mode, paths[i], s, snaps[i]));
+    }
+    return result;
+  }
+
+  private AltRouter router(TransportType mode) {
+    return switch (mode) {
+      case walking -> walkRouter;
+      case driving -> driveRouter;
+      case transit -> null;
+    };
+  }
+
+  private Snap snap(TransportType mode, Point p) {
+    byte flag = (mode == TransportType.driving) ? RoadGraph.FLAG_DRIVE : RoadGraph.FLAG_WALK;
+    int v = graph.nearest(p.lat(), p.lng(), flag, snapMaxMeters);
+    if (v < 0) return null;
+    return new Snap(v, GeoUtil.haversineMeters(p.lat(), p.lng(), graph.lat(v), graph.lng(v)));
+  }
+
+  private Optional<Leg> toLeg(TransportType mode, AltRouter.Path path, Snap s, Snap t) {
+    if (path == null) return Optional.empty();
+    double access = s.meters + t.meters;
+    long meters = path.meters() + Math.round(access);
+    long sec =
+        (mode == TransportType.driving)
+            ? Math.round(path.cost() / 10.0 + access / walkingSpeed)
+            : Math.round(meters / walkingSpeed);
+    return Optional.of(new Leg(meters, sec));
+  }
+
+  private record Snap(int node, double meters) {}
+}
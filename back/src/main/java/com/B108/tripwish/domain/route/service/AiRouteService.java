@@ -6,5 +6,11 @@ import com.B108.tripwish.domain.route.dto.response.AiRouteSnapshotResponseDto;
 public interface AiRouteService {
   String enqueue(Long roomId, AiRouteRequestDto spec);
 
+  /** 진행 중인 해당 일차 작업을 취소하고 락을 비운다 (새 요청이 대체) — 취소할 작업이 없으면 false */
+  boolean supersede(Long roomId, int day);
+
+  /** 방의 AI 경로 결과를 무효화하고 진행 중인 작업을 취소 */
+  void invalidate(Long roomId, String reason);
+
   AiRouteSnapshotResponseDto getRouteSnapshot(Long roomId);
 }
@@ -1,30 +1,47 @@
 package com.B108.tripwish.domain.route.service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalTime;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.B108.tripwish.domain.room.entity.WantPlace;
 import com.B108.tripwish.domain.room.repository.WantPlaceRepository;
 import com.B108.tripwish.domain.route.dto.ai.AiRouteResult;
 import com.B108.tripwish.domain.route.dto.ai.AiRouteSpec;
+import com.B108.tripwish.domain.route.dto.ai.AiTravelMatrix;
 import com.B108.tripwish.domain.route.dto.request.AiRouteRequestDto;
 import com.B108.tripwish.domain.route.dto.response.AiRouteSnapshotResponseDto;
+import com.B108.tripwish.domain.route.estimate.LocalTravelTimeEstimator;
+import com.B108.tripwish.domain.route.matrix.AiTravelMatrixBuilder;
+import com.B108.tripwish.domain.route.matrix.RoomTravelMatrix;
+import com.B108.tripwish.domain.route.matrix.TravelMatrixStore;
+import com.B108.tripwish.domain.route.optimize.DayRouteOptimizer;
+import com.B108.tripwish.domain.route.provider.LegProvider;
 import com.B108.tripwish.domain.route.websocket.AiRoutePublisher;
+import com.B108.tripwish.domain.schedule.entity.TransportType;
 import com.B108.tripwish.global.exception.CustomException;
 import com.B108.tripwish.global.exception.ErrorCode;
 import com.B108.tripwish.global.lock.RoomLockService;
+import com.B108.tripwish.global.queue.AiJobQueue;
+import com.B108.tripwish.global.queue.RetryableJobException;
 import com.B108.tripwish.global.util.PlaceInfo;
 import com.B108.tripwish.global.util.PlaceInfoResolver;
+import com.B108.tripwish.websocket.dto.redis.DayScheduleRedisDto;
+import com.B108.tripwish.websocket.dto.request.ScheduleEventMessageRequestDto;
 import com.B108.tripwish.websocket.dto.response.AiRecommendBroadcastDto;
+import com.B108.tripwish.websocket.service.AiJobRegistry;
 import com.B108.tripwish.websocket.service.AiTaskType;
 import com.B108.tripwish.websocket.service.RedisAiService;
+import com.B108.tripwish.websocket.service.RedisScheduleService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +58,32 @@ public class AiRouteServiceImpl implements AiRouteService {
   private final RoomLockService roomLockService;
   private final RedisAiService redisAiService;
   private final ObjectMapper objectMapper;
+  private final TravelMatrixStore matrixStore;
+  private final LocalTravelTimeEstimator estimator;
+  private final RedisScheduleService redisScheduleService;
+  private final DayRouteOptimizer optimizer;
+  private final AiJobQueue jobQueue; // Redis Streams 작업 큐 (노드 간 분산)
+  private final AiJobRegistry jobRegistry; // 활성 작업 기록 + 취소 전파
+  private final AiTravelMatrixBuilder matrixBuilder;
+
+  private static final String QUEUE = AiTaskType.ROUTE.getCode();
+  private static final Duration AI_TIMEOUT = Duration.ofSeconds(130);
+  private static final int PREVIEW_PROGRESS = 10;
+
+  @Value("${route.local-optimizer.enabled:true}")
+  private boolean localOptimizerEnabled;
+
+  @Value("${route.local-optimizer.walk-max-sec:900}")
+  private int walkMaxSec;
+
+  @Value("${route.local-optimizer.default-stay:60m}")
+  private Duration defaultStay;
+
+  @Value("${route.local-optimizer.day-start:09:00}")
+  private String defaultDayStart;
+
+  @Value("${route.ai-refine.enabled:false}")
+  private boolean aiRefineEnabled;
 
   @Override
   public String enqueue(Long roomId, AiRouteRequestDto spec) {
@@ -51,60 +94,317 @@ public class AiRouteServiceImpl implements AiRouteService {
       throw new CustomException(ErrorCode.BAD_REQUEST);
     }
     String jobId = UUID.randomUUID().toString();
-    runAsync(roomId, jobId, spec);
+    try {
+      publisher.started(roomId, jobId, spec.getDay());
+      jobRegistry.activate(AiTaskType.ROUTE, roomId, spec.getDay(), jobId);
+      jobQueue.submit(QUEUE, jobId, new RouteJob(roomId, spec));
+    } catch (RuntimeException e) {
+      roomLockService.releaseRouteLock(roomId, spec.getDay());
+      throw e;
+    }
     return jobId;
   }
 
-  /** 비동기 AI 실행 */
-  @Async("travelTaskExecutor")
-  protected void runAsync(Long roomId, String jobId, AiRouteRequestDto req) {
+  @Override
+  public boolean supersede(Long roomId, int day) {
+    Optional<String> running = jobRegistry.activeJob(AiTaskType.ROUTE, roomId, day);
+    if (running.isEmpty()) return false;
+    if (!jobRegistry.deactivate(AiTaskType.ROUTE, roomId, day, running.get())) return false;
+    jobRegistry.cancel(running.get(), "superseded");
+    roomLockService.releaseRouteLock(roomId, day);
+    return true;
+  }
+
+  @Override
+  public void invalidate(Long roomId, String reason) {
+    jobRegistry.cancelRoom(AiTaskType.ROUTE, roomId, reason);
+    publisher.invalidated(roomId, reason);
+  }
+
+  /** 이 노드를 경로 추천 큐의 워커로 등록 */
+  @PostConstruct
+  void registerWorker() {
+    jobQueue.register(
+        QUEUE,
+        RouteJob.class,
+        new AiJobQueue.Handler<>() {
+          @Override
+          public void handle(String jobId, RouteJob job) {
+            run(job.roomId(), jobId, job.req());
+          }
+
+          @Override
+          public void onDeadLetter(String jobId, RouteJob job, String reason) {
+            publisher.error(job.roomId(), jobId, "job-dead-letter:" + reason);
+            int day = job.req().getDay();
+            if (jobRegistry.deactivate(AiTaskType.ROUTE, job.roomId(), day, jobId)) {
+              roomLockService.releaseRouteLock(job.roomId(), day);
+            }
+          }
+        });
+  }
+
+  /** 큐 워커에서 실행 — 로컬 최적화 결과를 미리보기로 먼저 내보내고, DONE 은 최종 결과 하나만 발행 */
+  protected void run(Long roomId, String jobId, AiRouteRequestDto req) {
+    AiJobRegistry.Handle handle = jobRegistry.open(jobId);
+    boolean retry = false;
     try {
-      publisher.started(roomId, jobId, req.getDay());
+      if (handle.isCancelled()) {
+        log.info("[AI-ROUTE] skip cancelled jobId={} reason={}", jobId, handle.reason());
+        return;
+      }
 
       // 프론트 DTO -> AI Spec
       AiRouteSpec spec = buildSpec(roomId, req);
 
-      // AI 서버 호출
-      AiRouteResult result = ai.recommendRoute(spec);
+      LocalRoute local = null;
+      AiRecommendBroadcastDto localPayload = null;
+      if (localOptimizerEnabled) {
+        try {
+          local = optimizeLocally(roomId, req.getDay(), spec);
+          localPayload = toPayload(roomId, local.toResult(req.getDay()));
+          publisher.progress(roomId, jobId, PREVIEW_PROGRESS, localPayload);
+          log.info("[AI-ROUTE] ⚡ local roomId={} day={} {}", roomId, req.getDay(), local.plan());
+        } catch (Exception e) {
+          log.warn("[AI-ROUTE] local optimizer failed roomId={}: {}", roomId, e.getMessage());
+          local = null;
+          localPayload = null;
+        }
+      }
+      if (local != null && !aiRefineEnabled) {
+        publisher.done(roomId, jobId, localPayload);
+        return;
+      }
 
-      if (result == null || result.getRoute() == null || result.getRoute().isEmpty()) {
-        throw new CustomException(ErrorCode.AI_BAD_RESPONSE);
+      try {
+        refineWithAi(roomId, jobId, spec, local, localPayload, handle);
+      } catch (Exception e) {
+        if (local == null && !handle.isCancelled()) throw e;
+        log.warn("[AI-ROUTE] refine failed roomId={} jobId={}: {}", roomId, jobId, e.getMessage());
+        // 보정 실패 — 미리보기로 보낸 로컬 결과를 최종 결과로 확정
+        if (!handle.isCancelled()) publisher.done(roomId, jobId, localPayload);
       }
 
-      log.info("[AI-ROUTE] ▶ result roomId={} day={}", roomId, result.getDay());
+    } catch (Exception e) {
+      if (!handle.isCancelled() && RetryableJobException.isTransient(e)) {
+        // 아직 아무 결과도 못 보냈으면 큐에 남겨 재시도 (시도 횟수 초과 시 onDeadLetter 에서 정리)
+        log.warn("[AI-ROUTE] roomId={} jobId={} retry: {}", roomId, jobId, e.getMessage());
+        retry = true;
+        throw new RetryableJobException(e);
+      }
+      log.warn("[AI-ROUTE] roomId={} jobId={} failed: {}", roomId, jobId, e.getMessage(), e);
+      publisher.error(roomId, jobId, e.getMessage());
+    } finally {
+      jobRegistry.close(handle);
+      // 대체된 작업이면 새 작업이 락을 가지고 있으므로 건드리지 않는다
+      if (!retry
+          && jobRegistry.deactivate(AiTaskType.ROUTE, roomId, req.getDay(), jobId)) {
+        roomLockService.releaseRouteLock(roomId, req.getDay());
+      }
+    }
+  }
 
-      // AI 반환 ID 검증 + 메타 로드
-      List<Long> aiWantIds =
-          result.getRoute().stream()
-              .map(AiRouteResult.RouteInfo::getId)
-              .filter(Objects::nonNull)
-              .distinct()
-              .toList();
+  /** AI 서버 경로 — 로컬 결과가 있으면 같은 비용 기준으로 더 나을 때만 AI 결과로, 아니면 로컬 결과로 DONE */
+  private void refineWithAi(
+      Long roomId,
+      String jobId,
+      AiRouteSpec spec,
+      LocalRoute local,
+      AiRecommendBroadcastDto localPayload,
+      AiJobRegistry.Handle handle) {
+    // 취소되면 구독을 끊어 AI 서버 요청도 함께 닫는다
+    AiRouteResult result =
+        ai.recommendRouteAsync(spec)
+            .timeout(AI_TIMEOUT) // TimeoutException → 재시도 대상
+            .takeUntilOther(handle.cancelled())
+            .block();
+    if (handle.isCancelled()) {
+      log.info(
+          "[AI-ROUTE] ⛔ cancelled roomId={} jobId={} reason={}", roomId, jobId, handle.reason());
+      // 미리보기만 나간 상태라도 최종 결과는 없으므로 오류로 마무리 (대체된 작업은 새 작업이 이어받음)
+      if (!"superseded".equals(handle.reason())) {
+        publisher.error(roomId, jobId, "cancelled:" + handle.reason());
+      }
+      return;
+    }
+
+    if (result == null || result.getRoute() == null || result.getRoute().isEmpty()) {
+      throw new CustomException(ErrorCode.AI_BAD_RESPONSE);
+    }
+
+    log.info("[AI-ROUTE] ▶ result roomId={} day={}", roomId, result.getDay());
+
+    if (local != null) {
+      Optional<DayRouteOptimizer.Plan> aiPlan = local.evaluate(optimizer, result);
+      if (aiPlan.isEmpty() || aiPlan.get().cost() >= local.plan().cost()) {
+        log.info("[AI-ROUTE] keep local roomId={} ai={}", roomId, aiPlan.orElse(null));
+        publisher.done(roomId, jobId, localPayload);
+        return;
+      }
+    }
+    publisher.done(roomId, jobId, toPayload(roomId, result));
+  }
 
-      List<WantPlace> loaded =
-          aiWantIds.isEmpty() ? List.of() : wantPlaceRepository.findAllById(aiWantIds);
+  /** 결과 ID 검증 + 메타 로드 후 WS 페이로드 조립 */
+  private AiRecommendBroadcastDto toPayload(Long roomId, AiRouteResult result) {
+    List<Long> aiWantIds =
+        result.getRoute().stream()
+            .map(AiRouteResult.RouteInfo::getId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+
+    List<WantPlace> loaded =
+        aiWantIds.isEmpty() ? List.of() : wantPlaceRepository.findAllById(aiWantIds);
+
+    if (loaded.stream().anyMatch(wp -> !Objects.equals(wp.getTravelRoom().getId(), roomId))) {
+      throw new CustomException(ErrorCode.ROOM_FORBIDDEN);
+    }
+
+    placeInfoResolver.preload(loaded);
+    Map<Long, WantPlace> wantById =
+        loaded.stream().collect(Collectors.toMap(WantPlace::getId, Function.identity()));
 
-      if (loaded.stream().anyMatch(wp -> !Objects.equals(wp.getTravelRoom().getId(), roomId))) {
-        throw new CustomException(ErrorCode.ROOM_FORBIDDEN);
+    // WS로 보낼 데이터 조립
+    return buildPreviewPayload(roomId, result, wantById);
+  }
+
+  /**
+   * 방 이동시간 행렬(도보/자동차) + 현재 일정 초안의 고정 시각으로 하루 순서를 로컬에서 최적화.
+   *
+   * <p>구간별로 도보 {@code walkMaxSec} 이하면 도보, 아니면 자동차. 행렬에 없는 구간은 로컬 추정치로 채운다.
+   */
+  private LocalRoute optimizeLocally(Long roomId, int day, AiRouteSpec spec) {
+    List<AiRouteSpec.AiPlaceInfoDto> places = spec.getPlaceList();
+    int n = places.size();
+    for (AiRouteSpec.AiPlaceInfoDto p : places) {
+      if (p.getLat() == null || p.getLng() == null) {
+        throw new IllegalStateException("좌표 없는 장소 wantId=" + p.getId());
       }
+    }
 
-      placeInfoResolver.preload(loaded);
-      Map<Long, WantPlace> wantById =
-          loaded.stream().collect(Collectors.toMap(WantPlace::getId, Function.identity()));
+    RoomTravelMatrix walking =
+        matrixStore.load(roomId, TransportType.walking).orElse(RoomTravelMatrix.empty());
+    RoomTravelMatrix driving =
+        matrixStore.load(roomId, TransportType.driving).orElse(RoomTravelMatrix.empty());
+
+    int[][] duration = new int[n][n];
+    boolean[][] walk = new boolean[n][n];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        if (i == j) continue;
+        int w = pairSec(walking, TransportType.walking, places.get(i), places.get(j));
+        walk[i][j] = w <= walkMaxSec;
+        duration[i][j] =
+            walk[i][j] ? w : pairSec(driving, TransportType.driving, places.get(i), places.get(j));
+      }
+    }
 
-      // WS로 보낼 데이터 조립
-      AiRecommendBroadcastDto payload = buildPreviewPayload(roomId, result, wantById);
+    // 일정 초안에 이미 시각이 잡힌 장소는 시작 시각을 시간창으로, (종료-시작)을 체류시간으로 사용
+    Map<Long, ScheduleEventMessageRequestDto> anchored = draftEvents(roomId, day);
+    int[] stay = new int[n];
+    int[] earliest = new int[n];
+    int dayStart = LocalTime.parse(defaultDayStart).toSecondOfDay();
+    boolean anyAnchor = false;
+    for (int i = 0; i < n; i++) {
+      ScheduleEventMessageRequestDto ev = anchored.get(places.get(i).getId());
+      stay[i] = (int) defaultStay.toSeconds();
+      earliest[i] = -1;
+      if (ev != null && ev.getStartTime() != null) {
+        int start = ev.getStartTime().toSecondOfDay();
+        earliest[i] = start;
+        if (ev.getEndTime() != null && ev.getEndTime().isAfter(ev.getStartTime())) {
+          stay[i] = ev.getEndTime().toSecondOfDay() - start;
+        }
+        dayStart = anyAnchor ? Math.min(dayStart, start) : start;
+        anyAnchor = true;
+      }
+    }
 
-      publisher.done(roomId, jobId, payload);
+    DayRouteOptimizer.Problem problem =
+        new DayRouteOptimizer.Problem(duration, stay, earliest, dayStart);
+    return new LocalRoute(places, problem, walk, optimizer.optimize(problem));
+  }
 
+  private int pairSec(
+      RoomTravelMatrix matrix,
+      TransportType mode,
+      AiRouteSpec.AiPlaceInfoDto from,
+      AiRouteSpec.AiPlaceInfoDto to) {
+    int sec = matrix.durationSec(from.getId(), to.getId());
+    if (sec != RoomTravelMatrix.UNKNOWN) return sec;
+    return (int)
+        estimator
+            .estimate(mode, from.getLat(), from.getLng(), to.getLat(), to.getLng())
+            .durationSec();
+  }
+
+  private Map<Long, ScheduleEventMessageRequestDto> draftEvents(Long roomId, int day) {
+    try {
+      DayScheduleRedisDto draft =
+          redisScheduleService.getScheduleByDay(redisScheduleService.getRedisKey(roomId), day);
+      if (draft == null || draft.getEvents() == null) return Map.of();
+      Map<Long, ScheduleEventMessageRequestDto> byId = new HashMap<>();
+      for (ScheduleEventMessageRequestDto ev : draft.getEvents()) {
+        if (ev.getWantId() != null) byId.putIfAbsent(ev.getWantId(), ev);
+      }
+      return byId;
     } catch (Exception e) {
-      log.warn("[AI-ROUTE] roomId={} jobId={} failed: {}", roomId, jobId, e.getMessage(), e);
-      publisher.error(roomId, jobId, e.getMessage());
-    } finally {
-      roomLockService.releaseRouteLock(roomId, req.getDay());
+      log.warn("[AI-ROUTE] draft load failed roomId={} day={}: {}", roomId, day, e.getMessage());
+      return Map.of();
+    }
+  }
+
+  /** 로컬 최적화 결과 + AI 결과 비교에 필요한 입력 */
+  private record LocalRoute(
+      List<AiRouteSpec.AiPlaceInfoDto> places,
+      DayRouteOptimizer.Problem problem,
+      boolean[][] walk,
+      DayRouteOptimizer.Plan plan) {
+
+    /** AI 응답과 같은 형태 (eventOrder 1부터, nextTravelTime 초) */
+    AiRouteResult toResult(int day) {
+      int[] order = plan.order();
+      List<AiRouteResult.RouteInfo> route = new ArrayList<>(order.length);
+      for (int k = 0; k < order.length; k++) {
+        int cur = order[k];
+        boolean last = k == order.length - 1;
+        int next = last ? -1 : order[k + 1];
+        route.add(
+            AiRouteResult.RouteInfo.builder()
+                .id(places.get(cur).getId())
+                .transport(last ? null : (walk[cur][next] ? "walking" : "driving"))
+                .eventOrder(k + 1)
+                .nextTravelTime(last ? null : problem.durationSec()[cur][next])
+                .build());
+      }
+      return AiRouteResult.builder().day(day).route(route).build();
+    }
+
+    /** AI 순서를 같은 비용 기준으로 평가 (장소 구성이 다르면 비교 불가) */
+    Optional<DayRouteOptimizer.Plan> evaluate(DayRouteOptimizer optimizer, AiRouteResult ai) {
+      Map<Long, Integer> index = new HashMap<>();
+      for (int i = 0; i < places.size(); i++) index.put(places.get(i).getId(), i);
+
+      List<AiRouteResult.RouteInfo> sorted =
+          ai.getRoute().stream()
+              .sorted(Comparator.comparing(r -> Optional.ofNullable(r.getEventOrder()).orElse(0)))
+              .toList();
+      if (sorted.size() != places.size()) return Optional.empty();
+      int[] order = new int[sorted.size()];
+      Set<Integer> seen = new HashSet<>();
+      for (int k = 0; k < order.length; k++) {
+        Integer i = index.get(sorted.get(k).getId());
+        if (i == null || !seen.add(i)) return Optional.empty();
+        order[k] = i;
+      }
+      return Optional.of(optimizer.evaluate(problem, order));
     }
   }
 
+  /** 큐에 저장되는 작업 내용 */
+  record RouteJob(Long roomId, AiRouteRequestDto req) {}
+
   /** DB 검증 + Spec 재구성 */
   @Transactional(Transactional.TxType.SUPPORTS)
   protected AiRouteSpec buildSpec(Long roomId, AiRouteRequestDto req) {
@@ -151,9 +451,30 @@ public class AiRouteServiceImpl implements AiRouteService {
     return AiRouteSpec.builder()
         .placeList(aiPlaces) // JSON 변환 시 snake_case 전략이면 place_list로 내려감
         .days(req.getDay()) // 단일 작업이면 1
+        .travelMatrix(travelMatrix(roomId, aiPlaces).orElse(null))
         .build();
   }
 
+  /** 이미 아는 이동시간을 spec 에 첨부 → AI 서버의 카카오 재조회 생략 */
+  private Optional<AiTravelMatrix> travelMatrix(
+      Long roomId, List<AiRouteSpec.AiPlaceInfoDto> places) {
+    try {
+      return matrixBuilder.build(
+          roomId,
+          places.stream().map(AiRouteSpec.AiPlaceInfoDto::getId).toList(),
+          places.stream()
+              .map(
+                  p ->
+                      p.getLat() == null || p.getLng() == null
+                          ? null
+                          : new LegProvider.Point(p.getLat(), p.getLng()))
+              .toList());
+    } catch (Exception e) {
+      log.warn("[AI-ROUTE] travel matrix skipped roomId={}: {}", roomId, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
   /** 브로드캐스트용 변환 — AiRoute는 단일 Day/Transport */
   private AiRecommendBroadcastDto buildPreviewPayload(
       Long roomId, AiRouteResult result, Map<Long, WantPlace> wantById) {
@@ -3,6 +3,11 @@ package com.B108.tripwish.domain.route.service;
 import com.B108.tripwish.domain.route.dto.ai.AiRouteResult;
 import com.B108.tripwish.domain.route.dto.ai.AiRouteSpec;
 
+import reactor.core.publisher.Mono;
+
 public interface RouteAiGateway {
   AiRouteResult recommendRoute(AiRouteSpec spec);
+
+  /** 구독 취소 시 AI 서버 요청도 끊기는 비동기 버전 */
+  Mono<AiRouteResult> recommendRouteAsync(AiRouteSpec spec);
 }
@@ -0,0 +1,142 @@
+package com.B108.tripwish.domain.route.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.B108.tripwish.domain.room.entity.WantPlace;
+import com.B108.tripwish.domain.room.repository.WantPlaceRepository;
+import com.B108.tripwish.domain.route.matrix.RoomTravelMatrix;
+import com.B108.tripwish.domain.route.matrix.TravelMatrixStore;
+import com.B108.tripwish.domain.route.provider.LegProvider;
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+import com.B108.tripwish.infra.ratelimit.ApiPriority;
+import com.B108.tripwish.websocket.dto.request.EventRequestDto;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * 희망장소 추가/삭제 시 방 이동 행렬을 백그라운드에서 갱신한다.
+ *
+ * <p>새 장소 X와 기존 장소 Y1..Yn 사이의 양방향 구간을 X→Y1→X→Y2→…→X→Yn, Yn→X 경로로 묶어 계산하고, 계산 결과는 {@link
+ * TravelTimeService#estimateAsync}가 행렬에 기록한다.
+ *
+ * <p>워밍업은 INTERACTIVE 가 아니라서 로컬 도로망 그래프가 다루는 이동수단은 로컬 구간으로 계산되는데, 방 행렬에는 실측만 기록하므로 그런
+ * 이동수단은 건너뛴다 (로컬 구간은 필요할 때 바로 계산된다).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TravelMatrixWarmupService {
+
+  // Kakao 다중 경유지: 출발 + 경유 30 + 도착 이하로 유지
+  private static final int MAX_NODES_PER_PATH = 30;
+
+  private final TravelTimeService travelTimeService;
+  private final TravelMatrixStore matrixStore;
+  private final WantPlaceRepository wantPlaceRepository;
+  private final LegProvider localLegs;
+  private final Scheduler travelScheduler; // travel 레인 (AsyncConfig)
+
+  public void onPlaceAdded(Long roomId, Long wantId) {
+    Mono.fromCallable(() -> wantPlaceRepository.findAllByTravelRoom_Id(roomId))
+        .subscribeOn(travelScheduler)
+        .flatMapMany(
+            places -> {
+              List<Long> others =
+                  places.stream().map(WantPlace::getId).filter(id -> !id.equals(wantId)).toList();
+              if (others.isEmpty()) return Flux.empty();
+              return Flux.fromIterable(TravelMatrixStore.MODES)
+                  .filter(mode -> !localLegs.supports(mode))
+                  .concatMap(mode -> warmup(roomId, wantId, others, mode));
+            })
+        .contextWrite(ApiPriority.WARMUP.asContext()) // 외부 API 대기열에서 사용자 재계산보다 뒤로
+        .subscribe(
+            r -> {},
+            e ->
+                log.warn(
+                    "[matrix] warmup failed room={} wantId={}: {}",
+                    roomId,
+                    wantId,
+                    e.getMessage()));
+  }
+
+  public void onPlaceRemoved(Long roomId, Long wantId) {
+    Mono.fromRunnable(() -> matrixStore.removePlace(roomId, wantId))
+        .subscribeOn(travelScheduler)
+        .subscribe(
+            r -> {},
+            e ->
+                log.warn(
+                    "[matrix] trim failed room={} wantId={}: {}", roomId, wantId, e.getMessage()));
+  }
+
+  private Flux<?> warmup(Long roomId, Long wantId, List<Long> others, TransportType mode) {
+    return Mono.fromCallable(
+            () -> matrixStore.load(roomId, mode).orElseGet(RoomTravelMatrix::empty))
+        .subscribeOn(travelScheduler)
+        .flatMapMany(
+            matrix -> {
+              List<Long> missing =
+                  others.stream().filter(id -> !matrix.hasPair(wantId, id)).toList();
+              if (missing.isEmpty()) return Flux.empty();
+
+              log.info("[matrix] warmup room={} mode={} pairs={}", roomId, mode, missing.size());
+
+              // 도보는 Distance Matrix(1×n, n×1)로 먼저 채우면 아래 경로 계산은 캐시 적중으로 끝난다
+              Mono<Void> prefetch =
+                  mode == TransportType.walking
+                      ? travelTimeService
+                          .prefetchWalking(roomId, List.of(wantId), missing)
+                          .then(travelTimeService.prefetchWalking(roomId, missing, List.of(wantId)))
+                      : Mono.empty();
+
+              return prefetch
+                  .onErrorResume(e -> Mono.empty())
+                  .thenMany(Flux.fromIterable(paths(wantId, missing)))
+                  .concatMap(
+                      path ->
+                          travelTimeService
+                              .estimateAsync(roomId, 0, null, mode.name(), events(path))
+                              .onErrorResume(
+                                  e -> {
+                                    log.warn(
+                                        "[matrix] path failed room={} mode={}: {}",
+                                        roomId,
+                                        mode,
+                                        e.getMessage());
+                                    return Mono.empty();
+                                  }));
+            });
+  }
+
+  /** X→Y1→X→…→X→Yn 을 노드 수 제한에 맞춰 자르고(끝 노드 공유), 마지막 Yn→X 를 덧붙인다 */
+  static List<List<Long>> paths(Long center, List<Long> others) {
+    List<Long> zigzag = new ArrayList<>(others.size() * 2);
+    for (Long other : others) {
+      zigzag.add(center);
+      zigzag.add(other);
+    }
+
+    List<List<Long>> paths = new ArrayList<>();
+    for (int start = 0; start < zigzag.size() - 1; start += MAX_NODES_PER_PATH - 1) {
+      int end = Math.min(start + MAX_NODES_PER_PATH, zigzag.size());
+      paths.add(zigzag.subList(start, end));
+    }
+    paths.add(List.of(others.get(others.size() - 1), center));
+    return paths;
+  }
+
+  private static List<EventRequestDto> events(List<Long> path) {
+    List<EventRequestDto> events = new ArrayList<>(path.size());
+    for (int i = 0; i < path.size(); i++) {
+      events.add(EventRequestDto.builder().wantId(path.get(i)).eventOrder(i).build());
+    }
+    return events;
+  }
+}
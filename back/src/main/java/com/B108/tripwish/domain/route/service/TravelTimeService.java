@@ -3,13 +3,44 @@ package com.B108.tripwish.domain.route.service;
 import java.time.LocalDate;
 import java.util.List;
 
+import com.B108.tripwish.domain.route.dto.response.LegResponseDto;
 import com.B108.tripwish.domain.route.dto.response.RouteResultResponseDto;
 import com.B108.tripwish.websocket.dto.request.EventRequestDto;
 
+import reactor.core.publisher.Mono;
+
 public interface TravelTimeService {
   public RouteResultResponseDto estimateAuto(
       Long roomId, int day, LocalDate date, List<EventRequestDto> events);
 
   RouteResultResponseDto estimate(
       Long roomId, int day, LocalDate date, String transport, List<EventRequestDto> events);
+
+  /** 논블로킹 버전 — 외부 API 대기 중에 스레드를 점유하지 않는다 */
+  Mono<RouteResultResponseDto> estimateAsync(
+      Long roomId, int day, LocalDate date, String transport, List<EventRequestDto> events);
+
+  /** 구간이 확정될 때마다 listener로 통지하는 스트리밍 버전 */
+  Mono<RouteResultResponseDto> estimateAsync(
+      Long roomId,
+      int day,
+      LocalDate date,
+      String transport,
+      List<EventRequestDto> events,
+      LegListener listener);
+
+  /** 외부 호출 없이 로컬 추정치만으로 계산 (provisional=true) — 실제 결과 전에 먼저 보여주기용 */
+  Mono<RouteResultResponseDto> estimateProvisional(
+      Long roomId, int day, String transport, List<EventRequestDto> events);
+
+  /** from × to 도보 구간을 Distance Matrix로 일괄 조회해 캐시/방 행렬에 적재 */
+  Mono<Void> prefetchWalking(Long roomId, List<Long> fromWantIds, List<Long> toWantIds);
+
+  /** 구간 확정 콜백 (index: 0부터, legCount: 전체 구간 수) */
+  @FunctionalInterface
+  interface LegListener {
+    LegListener NONE = (index, legCount, leg) -> {};
+
+    void onLeg(int index, int legCount, LegResponseDto leg);
+  }
 }
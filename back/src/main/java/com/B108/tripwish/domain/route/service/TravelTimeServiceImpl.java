@@ -2,20 +2,35 @@ package com.B108.tripwish.domain.route.service;
 
 import java.time.*;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.B108.tripwish.domain.room.entity.WantPlace;
 import com.B108.tripwish.domain.room.repository.WantPlaceRepository;
+import com.B108.tripwish.domain.route.cache.DayLegSnapshot;
+import com.B108.tripwish.domain.route.cache.DayLegSnapshotStore;
+import com.B108.tripwish.domain.route.cache.LegCacheKey;
+import com.B108.tripwish.domain.route.cache.TravelLegCache;
 import com.B108.tripwish.domain.route.dto.response.LegResponseDto;
 import com.B108.tripwish.domain.route.dto.response.RouteResultResponseDto;
+import com.B108.tripwish.domain.route.estimate.LocalTravelTimeEstimator;
+import com.B108.tripwish.domain.route.matrix.TravelMatrixStore;
+import com.B108.tripwish.domain.route.provider.LegProvider;
 import com.B108.tripwish.domain.schedule.entity.TransportType;
+import com.B108.tripwish.global.util.GeoUtil;
 import com.B108.tripwish.global.util.PlaceInfo;
 import com.B108.tripwish.global.util.PlaceInfoResolver;
+import com.B108.tripwish.infra.google.DirectionsLegParser;
 import com.B108.tripwish.infra.google.GoogleDirectionsClient;
 import com.B108.tripwish.infra.kakao.KakaoNaviClient;
+import com.B108.tripwish.infra.kakao.KakaoRouteParser;
 import com.B108.tripwish.infra.kakao.dto.KakaoWayPointRequestDto;
+import com.B108.tripwish.infra.ratelimit.ApiPriority;
+import com.B108.tripwish.infra.ratelimit.ExternalApiScheduler;
+import com.B108.tripwish.infra.resilience.UpstreamUnavailableException;
 import com.B108.tripwish.websocket.dto.request.EventRequestDto;
 import com.B108.tripwish.websocket.dto.request.TravelTimeCalcRequestDto;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -23,7 +38,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.ContextView;
 
 @Slf4j
 @Service
@@ -34,9 +52,36 @@ public class TravelTimeServiceImpl implements TravelTimeService {
   private final KakaoNaviClient kakao;
   private final WantPlaceRepository wantPlaceRepository;
   private final PlaceInfoResolver placeInfoResolver;
+  private final TravelLegCache legCache;
+  private final TravelMatrixStore matrixStore;
+  private final LocalTravelTimeEstimator estimator;
+  private final DayLegSnapshotStore snapshotStore;
+  private final LegProvider localLegs;
+  private final Scheduler travelScheduler; // travel 레인 (AsyncConfig)
 
   private final ObjectMapper om = new ObjectMapper();
   private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+  // Distance Matrix 는 과금 원소 중 이 비율 이상이 실제 필요한 구간일 때만 사용
+  private static final double MATRIX_MIN_DENSITY = 0.5;
+
+  @Value("${travel.parallel.enabled:true}")
+  private boolean parallelEnabled;
+
+  @Value("${travel.parallel.max-concurrency:6}")
+  private int maxConcurrency;
+
+  @Value("${travel.distance-matrix.enabled:true}")
+  private boolean distanceMatrixEnabled;
+
+  @Value("${travel.delta.max-driving-legs:2}")
+  private int deltaMaxDrivingLegs;
+
+  @Value("${travel.kakao.max-waypoints:30}")
+  private int kakaoMaxWaypoints;
+
+  // true면 사용자 재계산에도 로컬 그래프 우선 (기본: 워밍업/AI 보강에서만)
+  @Value("${routing.local.prefer:false}")
+  private boolean localPreferred;
 
   /* =========================================================
    * 새 엔트리 포인트: 웹소켓 payload 기준으로 라우팅
@@ -50,28 +95,105 @@ public class TravelTimeServiceImpl implements TravelTimeService {
         payload.getEvents());
   }
 
+  /** 동기 호출용 — 내부적으로 {@link #estimateAsync}를 block */
   public RouteResultResponseDto estimate(
       Long roomId, int day, LocalDate date, String transport, List<EventRequestDto> events) {
-    if (events == null || events.size() < 2) return RouteResultResponseDto.empty();
+    return estimateAsync(roomId, day, date, transport, events).block();
+  }
+
+  @Override
+  public Mono<RouteResultResponseDto> estimateAsync(
+      Long roomId, int day, LocalDate date, String transport, List<EventRequestDto> events) {
+    return estimateAsync(roomId, day, date, transport, events, LegListener.NONE);
+  }
 
-    // 정렬 + wantId -> 좌표 해석
+  @Override
+  public Mono<RouteResultResponseDto> estimateAsync(
+      Long roomId,
+      int day,
+      LocalDate date,
+      String transport,
+      List<EventRequestDto> events,
+      LegListener listener) {
+    if (events == null || events.size() < 2) return Mono.just(RouteResultResponseDto.empty());
+
+    // 정렬 + wantId -> 좌표 해석 (JPA 조회는 travel 레인에서)
     List<EventRequestDto> ordered =
         events.stream().sorted(Comparator.comparing(EventRequestDto::getEventOrder)).toList();
-    List<Node> nodes = resolveNodes(ordered);
 
     String mode = (transport == null) ? "" : transport.trim().toLowerCase();
-    switch (mode) {
-      case "driving":
-        return estimateDrivingWithKakao(roomId, day, nodes);
-      case "transit":
-        // ✅ 근거리면 walking vs transit 비교하여 더 짧은 쪽 선택
-        return estimateTransitOrWalkingSmart(roomId, day, date, nodes);
-      case "walking":
-        return estimateWalking(roomId, day, nodes);
-      default:
-        // fallback: 휴리스틱
-        return estimateAuto(roomId, day, date, ordered);
-    }
+    return resolveNodesAsync(ordered)
+        .flatMap(
+            nodes -> {
+              Mono<RouteResultResponseDto> exact =
+                  switch (mode) {
+                    case "driving" ->
+                        estimateDrivingWithKakao(roomId, day, nodes)
+                            .doOnNext(r -> emitAll(listener, r));
+                      // ✅ 근거리면 walking vs transit 비교하여 더 짧은 쪽 선택
+                    case "transit" ->
+                        estimateTransitOrWalkingSmart(roomId, day, date, nodes, listener);
+                    case "walking" -> estimateWalking(roomId, day, nodes, listener);
+                      // fallback: 휴리스틱
+                    default -> estimateAutoAsync(roomId, day, date, nodes, listener);
+                  };
+              // 외부 API 쿼터 소진/서킷 차단/타임아웃 시 캐시·로컬 추정치로 대체 (provisional)
+              Mono<RouteResultResponseDto> guarded =
+                  exact.onErrorResume(
+                      TravelTimeServiceImpl::isUpstreamUnavailable,
+                      e -> {
+                        log.warn("[travel-time] 외부 API 사용 불가 - 로컬 추정으로 대체: {}", e.getMessage());
+                        return Mono.fromCallable(() -> estimateLocally(roomId, day, mode, nodes))
+                            .subscribeOn(travelScheduler)
+                            .doOnNext(local -> emitAll(listener, local));
+                      });
+              if (roomId == null || day <= 0) return guarded;
+
+              // 직전 계산 구간과 비교해 바뀐 구간만 재계산 (스냅샷은 Context로 leg 계산 단계에 전달)
+              Instant start = firstDeparture(date, nodes);
+              return Mono.fromCallable(() -> snapshotStore.load(roomId, day))
+                  .subscribeOn(travelScheduler)
+                  .flatMap(
+                      snapshot ->
+                          guarded.contextWrite(ctx -> ctx.put(DayLegSnapshot.class, snapshot)))
+                  .publishOn(travelScheduler)
+                  .doOnNext(
+                      result -> {
+                        if (!result.isProvisional()) {
+                          snapshotStore.save(roomId, day, snapshotOf(result, start));
+                        }
+                      });
+            });
+  }
+
+  @Override
+  public Mono<RouteResultResponseDto> estimateProvisional(
+      Long roomId, int day, String transport, List<EventRequestDto> events) {
+    if (events == null || events.size() < 2) return Mono.just(RouteResultResponseDto.empty());
+
+    List<EventRequestDto> ordered =
+        events.stream().sorted(Comparator.comparing(EventRequestDto::getEventOrder)).toList();
+    String mode = (transport == null) ? "" : transport.trim().toLowerCase();
+    return resolveNodesAsync(ordered).map(nodes -> estimateLocally(roomId, day, mode, nodes));
+  }
+
+  @Override
+  public Mono<Void> prefetchWalking(Long roomId, List<Long> fromWantIds, List<Long> toWantIds) {
+    List<EventRequestDto> events = new ArrayList<>();
+    for (Long id : fromWantIds) events.add(EventRequestDto.builder().wantId(id).build());
+    for (Long id : toWantIds) events.add(EventRequestDto.builder().wantId(id).build());
+
+    return resolveNodesAsync(events)
+        .flatMap(
+            nodes -> {
+              List<Node> froms = nodes.subList(0, fromWantIds.size());
+              List<Node> tos = nodes.subList(fromWantIds.size(), nodes.size());
+              List<Node[]> pairs = new ArrayList<>(froms.size() * tos.size());
+              for (Node f : froms) {
+                for (Node t : tos) pairs.add(new Node[] {f, t});
+              }
+              return prefetchLegs(roomId, TransportType.walking, pairs, null);
+            });
   }
 
   /* =========================================================
@@ -84,38 +206,45 @@ public class TravelTimeServiceImpl implements TravelTimeService {
     List<EventRequestDto> ordered =
         events.stream().sorted(Comparator.comparing(EventRequestDto::getEventOrder)).toList();
 
-    List<Node> nodes = resolveNodes(ordered);
+    return resolveNodesAsync(ordered)
+        .flatMap(nodes -> estimateAutoAsync(roomId, day, date, nodes, LegListener.NONE))
+        .block();
+  }
+
+  private Mono<RouteResultResponseDto> estimateAutoAsync(
+      Long roomId, int day, LocalDate date, List<Node> nodes, LegListener listener) {
     double meters =
-        haversineMeters(nodes.get(0).lat, nodes.get(0).lng, nodes.get(1).lat, nodes.get(1).lng);
+        GeoUtil.haversineMeters(
+            nodes.get(0).lat, nodes.get(0).lng, nodes.get(1).lat, nodes.get(1).lng);
     // 근거리 기준을 늘려서 도보 계산도 함께 수행 (1000m 이하)
     boolean near = meters <= 1000.0;
 
     if (near) {
-      Mono<RouteResultResponseDto> walk =
-          Mono.fromSupplier(() -> estimateWalking(roomId, day, nodes));
-      Mono<RouteResultResponseDto> tran =
-          Mono.fromSupplier(() -> estimateTransitPerLeg(roomId, day, date, nodes));
-      return Mono.zip(walk, tran)
+      // 두 결과를 비교해야 하므로 구간 스트리밍은 선택된 쪽만 마지막에 전송
+      return Mono.zip(
+              estimateWalking(roomId, day, nodes, LegListener.NONE),
+              estimateTransitPerLeg(roomId, day, date, nodes, LegListener.NONE))
           .map(
               t ->
                   t.getT1().getTotalDurationSec() <= t.getT2().getTotalDurationSec()
                       ? t.getT1()
                       : t.getT2())
-          .block();
+          .doOnNext(r -> emitAll(listener, r));
     } else {
-      return estimateTransitPerLeg(roomId, day, date, nodes);
+      return estimateTransitPerLeg(roomId, day, date, nodes, listener);
     }
   }
 
   /* =========================================================
    * TRANSIT 요청 시: 근거리면 walking과 비교해서 더 짧은 쪽 선택
    * ========================================================= */
-  private RouteResultResponseDto estimateTransitOrWalkingSmart(
-      Long roomId, int day, LocalDate date, List<Node> nodes) {
-    if (nodes.size() < 2) return RouteResultResponseDto.empty();
+  private Mono<RouteResultResponseDto> estimateTransitOrWalkingSmart(
+      Long roomId, int day, LocalDate date, List<Node> nodes, LegListener listener) {
+    if (nodes.size() < 2) return Mono.just(RouteResultResponseDto.empty());
 
     double meters =
-        haversineMeters(nodes.get(0).lat, nodes.get(0).lng, nodes.get(1).lat, nodes.get(1).lng);
+        GeoUtil.haversineMeters(
+            nodes.get(0).lat, nodes.get(0).lng, nodes.get(1).lat, nodes.get(1).lng);
     // 근거리 기준을 늘려서 도보 계산도 함께 수행 (1000m 이하)
     boolean near = meters <= 1000.0;
 
@@ -123,11 +252,9 @@ public class TravelTimeServiceImpl implements TravelTimeService {
 
     if (near) {
       log.info("🚶‍♂️ [transit-smart] 근거리 감지 - 도보와 대중교통 비교 시작");
-      Mono<RouteResultResponseDto> walk =
-          Mono.fromSupplier(() -> estimateWalking(roomId, day, nodes));
-      Mono<RouteResultResponseDto> tran =
-          Mono.fromSupplier(() -> estimateTransitPerLeg(roomId, day, date, nodes));
-      return Mono.zip(walk, tran)
+      return Mono.zip(
+              estimateWalking(roomId, day, nodes, LegListener.NONE),
+              estimateTransitPerLeg(roomId, day, date, nodes, LegListener.NONE))
           .map(
               t -> {
                 long walkSec = t.getT1().getTotalDurationSec();
@@ -147,18 +274,137 @@ public class TravelTimeServiceImpl implements TravelTimeService {
                     walkSec <= tranSec ? "도보" : "대중교통");
                 return result;
               })
-          .block();
+          .doOnNext(r -> emitAll(listener, r));
     } else {
       log.info("🚶‍♂️ [transit-smart] 원거리 - 대중교통만 계산");
-      return estimateTransitPerLeg(roomId, day, date, nodes);
+      return estimateTransitPerLeg(roomId, day, date, nodes, listener);
     }
   }
 
   /* =========================================================
    * DRIVING (Kakao Mobility, 다중 경유지)
    * ========================================================= */
-  private RouteResultResponseDto estimateDrivingWithKakao(Long roomId, int day, List<Node> nodes) {
-    if (nodes.size() < 2) return RouteResultResponseDto.empty();
+  private Mono<RouteResultResponseDto> estimateDrivingWithKakao(
+      Long roomId, int day, List<Node> nodes) {
+    if (nodes.size() < 2) return Mono.just(RouteResultResponseDto.empty());
+
+    // 방 행렬 → 직전 계산 스냅샷/구간 캐시 순으로 조회
+    return Mono.deferContextual(
+        ctx -> {
+          DayLegSnapshot snapshot = ctx.getOrDefault(DayLegSnapshot.class, DayLegSnapshot.EMPTY);
+          return Mono.fromCallable(
+                  () -> {
+                    RouteResultResponseDto hit =
+                        fromMatrix(roomId, day, TransportType.driving, nodes);
+                    if (hit != null) {
+                      log.info("🚗 [driving] 행렬 적중 - 노드 수: {}", nodes.size());
+                      return hit.getLegs().toArray(new LegResponseDto[0]);
+                    }
+                    LegResponseDto[] known = knownDrivingLegs(nodes, snapshot);
+                    if (useLocal(TransportType.driving, ctx)) fillLocally(nodes, known);
+                    return known;
+                  })
+              .subscribeOn(travelScheduler)
+              .flatMap(known -> completeDriving(roomId, day, nodes, known));
+        });
+  }
+
+  /**
+   * 모르는 구간이 없으면 그대로, 소수(travel.delta.max-driving-legs 이하)면 그 구간만 개별 호출해 끼워넣고, 그 외에는 전체 경로를 한 번에
+   * 요청한다.
+   */
+  private Mono<RouteResultResponseDto> completeDriving(
+      Long roomId, int day, List<Node> nodes, LegResponseDto[] known) {
+    List<Integer> missing = new ArrayList<>();
+    for (int i = 0; i < known.length; i++) {
+      if (known[i] == null) missing.add(i);
+    }
+
+    if (missing.isEmpty()) {
+      log.info("🚗 [driving] 캐시 적중 - 노드 수: {}", nodes.size());
+      return Mono.fromCallable(
+              () -> {
+                List<LegResponseDto> legs = List.of(known);
+                matrixStore.record(roomId, TransportType.driving, legs);
+                return summarize(roomId, day, TransportType.driving, legs);
+              })
+          .subscribeOn(travelScheduler);
+    }
+
+    if (missing.size() > deltaMaxDrivingLegs || missing.size() == known.length) {
+      return requestKakaoDrivingChunked(roomId, day, nodes, known);
+    }
+
+    log.info("🚗 [driving] 변경 구간만 재계산 - {}/{}", missing.size(), known.length);
+    return Flux.fromIterable(missing)
+        .flatMap(
+            i -> {
+              List<Node> pair = List.of(nodes.get(i), nodes.get(i + 1));
+              return requestKakaoDriving(roomId, day, pair)
+                  .doOnNext(r -> known[i] = segmentLegs(r, pair).get(0));
+            })
+        .then(
+            Mono.fromCallable(
+                () -> {
+                  // 경로가 없어 응답이 비었던 구간은 빈 leg 로 (하루 전체를 실패시키지 않는다)
+                  for (int i : missing) {
+                    if (known[i] == null) {
+                      known[i] = emptyLeg(nodes.get(i), nodes.get(i + 1), TransportType.driving);
+                    }
+                  }
+                  List<LegResponseDto> legs = List.of(known);
+                  matrixStore.record(roomId, TransportType.driving, legs);
+                  return summarize(roomId, day, TransportType.driving, legs);
+                }))
+        .subscribeOn(travelScheduler);
+  }
+
+  /**
+   * 경유지 한도(travel.kakao.max-waypoints)를 넘는 날은 끝점이 한 노드씩 겹치는 구간(segment)으로 나눠 병렬 요청하고 leg
+   * 순서대로 이어붙인다. 모든 leg를 이미 아는 구간은 다시 요청하지 않는다.
+   */
+  private Mono<RouteResultResponseDto> requestKakaoDrivingChunked(
+      Long roomId, int day, List<Node> nodes, LegResponseDto[] known) {
+    int segmentNodes = kakaoMaxWaypoints + 2; // origin + waypoints + destination
+    if (nodes.size() <= segmentNodes) {
+      return requestKakaoDriving(roomId, day, nodes);
+    }
+
+    List<int[]> segments = new ArrayList<>();
+    for (int s = 0; s < nodes.size() - 1; s += segmentNodes - 1) {
+      segments.add(new int[] {s, Math.min(s + segmentNodes, nodes.size())});
+    }
+    log.info("🚗 [driving] 경유지 한도 초과 - 노드 {}개를 {}개 구간으로 분할", nodes.size(), segments.size());
+
+    int concurrency = parallelEnabled ? maxConcurrency : 1;
+    return Flux.fromIterable(segments)
+        .flatMapSequential(
+            seg -> {
+              List<Node> part = nodes.subList(seg[0], seg[1]);
+              List<LegResponseDto> reuse = new ArrayList<>();
+              for (int i = seg[0]; i < seg[1] - 1 && known[i] != null; i++) reuse.add(known[i]);
+              if (reuse.size() == part.size() - 1) {
+                return Mono.just(reuse);
+              }
+              return requestKakaoDriving(roomId, day, part).map(r -> segmentLegs(r, part));
+            },
+            concurrency)
+        .concatMapIterable(legs -> legs)
+        .collectList()
+        .map(legs -> summarize(roomId, day, TransportType.driving, legs));
+  }
+
+  /** 구간 응답의 섹션 수가 모자라면(경로 없음 포함) 빈 leg로 채워 전체 leg 인덱스가 어긋나지 않게 한다 */
+  private static List<LegResponseDto> segmentLegs(RouteResultResponseDto result, List<Node> part) {
+    List<LegResponseDto> legs = new ArrayList<>(result.getLegs());
+    for (int i = legs.size(); i < part.size() - 1; i++) {
+      legs.add(emptyLeg(part.get(i), part.get(i + 1), TransportType.driving));
+    }
+    return legs;
+  }
+
+  private Mono<RouteResultResponseDto> requestKakaoDriving(
+      Long roomId, int day, List<Node> nodes) {
 
     // origin/destination/waypoints 구성 (x=lng, y=lat 주의)
     KakaoWayPointRequestDto.Coord origin =
@@ -182,206 +428,607 @@ public class TravelTimeServiceImpl implements TravelTimeService {
             .waypoints(wps.isEmpty() ? null : wps)
             .priority(KakaoWayPointRequestDto.Priority.RECOMMEND)
             .alternatives(false)
-            .roadDetails(true) // 도로 상세 포함 → 섹션/로드 기반 파싱시 유리
-            .summary(false) // 요약만 응답 X (상세 포함)
+            .roadDetails(false) // 섹션 거리/시간만 사용 → roads 배열은 받지 않음
+            .summary(false) // 섹션별 값이 필요하므로 요약 전용 응답 X
             .build();
 
-    JsonNode root = kakao.getMultiWaypointDirections(req);
-    return parseKakaoDriving(roomId, day, root, nodes);
+    return kakao
+        .getMultiWaypointSummaryAsync(req)
+        .map(route -> parseKakaoDriving(roomId, day, route, nodes))
+        .publishOn(travelScheduler)
+        .doOnNext(
+            result -> {
+              for (int i = 0; i < result.getLegs().size(); i++) {
+                LegResponseDto leg = result.getLegs().get(i);
+                remember(
+                    TransportType.driving,
+                    nodes.get(i),
+                    nodes.get(i + 1),
+                    null,
+                    leg.getDistanceMeters(),
+                    leg.getDurationSec());
+              }
+              matrixStore.record(roomId, TransportType.driving, result.getLegs());
+            });
   }
 
-  private RouteResultResponseDto parseKakaoDriving(
-      Long roomId, int day, JsonNode root, List<Node> nodes) {
-    try {
-      JsonNode routes = root.path("routes");
-      if (!routes.isArray() || routes.size() == 0) {
-        return RouteResultResponseDto.empty();
+  /** 모르는 자동차 구간을 로컬 그래프로 채운다 (그래프 범위 밖이면 null 유지) */
+  private void fillLocally(List<Node> nodes, LegResponseDto[] legs) {
+    for (int i = 0; i < legs.length; i++) {
+      if (legs[i] == null) {
+        legs[i] = localLeg(TransportType.driving, nodes.get(i), nodes.get(i + 1)).orElse(null);
       }
-      JsonNode r0 = routes.get(0);
-
-      long totalDist = r0.path("summary").path("distance").asLong(0L);
-      long totalSec = r0.path("summary").path("duration").asLong(0L);
+    }
+  }
 
-      List<LegResponseDto> legs = new ArrayList<>();
-      JsonNode sections = r0.path("sections");
-      int legCount = Math.min(sections.size(), Math.max(0, nodes.size() - 1));
-      for (int i = 0; i < legCount; i++) {
-        JsonNode sec = sections.get(i);
-
-        // 1) section.summary 우선
-        long dist = sec.path("summary").path("distance").asLong(-1);
-        long dur = sec.path("summary").path("duration").asLong(-1);
-
-        // 2) 없으면 section 루트 필드 시도
-        if (dist < 0) dist = sec.path("distance").asLong(-1);
-        if (dur < 0) dur = sec.path("duration").asLong(-1);
-
-        // 3) 그래도 없으면 roads 합산
-        if (dist < 0 || dur < 0) {
-          long sumDist = 0, sumDur = 0;
-          JsonNode roads = sec.path("roads");
-          if (roads.isArray()) {
-            for (JsonNode rd : roads) {
-              sumDist += rd.path("distance").asLong(0);
-              sumDur += rd.path("duration").asLong(0);
-            }
-          }
-          if (dist < 0) dist = sumDist;
-          if (dur < 0) dur = sumDur;
-        }
-
-        if (dist < 0) dist = 0;
-        if (dur < 0) dur = 0;
+  /** 스냅샷/구간 캐시로 알 수 있는 자동차 구간 (모르면 null) */
+  private LegResponseDto[] knownDrivingLegs(List<Node> nodes, DayLegSnapshot snapshot) {
+    LegResponseDto[] legs = new LegResponseDto[nodes.size() - 1];
+    for (int i = 0; i < legs.length; i++) {
+      Node from = nodes.get(i);
+      Node to = nodes.get(i + 1);
+      Optional<TravelLegCache.CachedLeg> hit =
+          snapshot.find(TransportType.driving, from.wantId, to.wantId, -1);
+      if (hit.isEmpty()) hit = legCache.get(legKey(TransportType.driving, from, to, null));
+      if (hit.isPresent()) legs[i] = toLeg(from, to, hit.get(), TransportType.driving);
+    }
+    return legs;
+  }
 
-        legs.add(
-            LegResponseDto.builder()
-                .fromWantId(nodes.get(i).wantId()) // record accessor
-                .toWantId(nodes.get(i + 1).wantId())
-                .distanceMeters(dist)
-                .durationSec(dur)
-                .transport(TransportType.driving)
-                .build());
+  /** 결과 구간을 스냅샷으로 변환 (대중교통은 출발시간 체인을 다시 따라가며 버킷 계산) */
+  private DayLegSnapshot snapshotOf(RouteResultResponseDto result, Instant start) {
+    List<DayLegSnapshot.Entry> entries = new ArrayList<>();
+    Instant t = start;
+    for (LegResponseDto leg : result.getLegs()) {
+      TransportType mode = leg.getTransport() != null ? leg.getTransport() : result.getTransport();
+      if (mode == null || leg.getDurationSec() <= 0) continue;
+      long bucket = (mode == TransportType.transit) ? legCache.departureBucket(t) : -1;
+      if (!leg.isLocal()) { // 로컬 추정 구간은 다음 계산에서 실측으로 재사용하지 않는다
+        entries.add(
+            new DayLegSnapshot.Entry(
+                mode,
+                leg.getFromWantId(),
+                leg.getToWantId(),
+                bucket,
+                leg.getDistanceMeters(),
+                leg.getDurationSec()));
       }
+      t = t.plusSeconds(leg.getDurationSec());
+    }
+    return new DayLegSnapshot(entries);
+  }
 
-      return RouteResultResponseDto.builder()
-          .roomId(roomId)
-          .day(day)
-          .transport(TransportType.driving) // ✅ 상위 transport도 채워주세요
-          .totalDistanceMeters(totalDist)
-          .totalDurationSec(totalSec)
-          .legs(legs)
-          .polyline(null)
-          .build();
+  private RouteResultResponseDto parseKakaoDriving(
+      Long roomId, int day, KakaoRouteParser.RouteSummary route, List<Node> nodes) {
+    if (!route.found()) {
+      return RouteResultResponseDto.empty();
+    }
 
-    } catch (Exception e) {
-      throw new RuntimeException("Kakao directions parse failed", e);
+    List<LegResponseDto> legs = new ArrayList<>();
+    int legCount = Math.min(route.sections().size(), Math.max(0, nodes.size() - 1));
+    for (int i = 0; i < legCount; i++) {
+      KakaoRouteParser.Section sec = route.sections().get(i);
+      legs.add(
+          LegResponseDto.builder()
+              .fromWantId(nodes.get(i).wantId()) // record accessor
+              .toWantId(nodes.get(i + 1).wantId())
+              .distanceMeters(sec.distanceMeters())
+              .durationSec(sec.durationSec())
+              .transport(TransportType.driving)
+              .build());
     }
+
+    return RouteResultResponseDto.builder()
+        .roomId(roomId)
+        .day(day)
+        .transport(TransportType.driving) // ✅ 상위 transport도 채워주세요
+        .totalDistanceMeters(route.totalDistanceMeters())
+        .totalDurationSec(route.totalDurationSec())
+        .legs(legs)
+        .polyline(null)
+        .build();
   }
 
   /* =========================================================
-   * WALKING (Google, leg별 호출) - waypoints 문제 해결
+   * WALKING (Google, leg별 호출) - 병렬 모드면 maxConcurrency만큼 동시 요청
    * ========================================================= */
-  private RouteResultResponseDto estimateWalking(Long roomId, int day, List<Node> nodes) {
-    if (nodes.size() < 2) return RouteResultResponseDto.empty();
+  private Mono<RouteResultResponseDto> estimateWalking(
+      Long roomId, int day, List<Node> nodes, LegListener listener) {
+    if (nodes.size() < 2) return Mono.just(RouteResultResponseDto.empty());
 
     log.info("🚶‍♂️ [walking] 도보 계산 시작 - 노드 수: {}", nodes.size());
 
-    long totalDist = 0, totalSec = 0;
-    List<LegResponseDto> legs = new ArrayList<>();
+    int concurrency = parallelEnabled ? maxConcurrency : 1;
+    return Mono.fromCallable(
+            () -> Optional.ofNullable(fromMatrix(roomId, day, TransportType.walking, nodes)))
+        .subscribeOn(travelScheduler)
+        .flatMap(
+            hit -> {
+              if (hit.isPresent()) {
+                log.info("🚶‍♂️ [walking] 행렬 적중 - 노드 수: {}", nodes.size());
+                emitAll(listener, hit.get());
+                return Mono.just(hit.get());
+              }
+              return prefetchLegs(roomId, TransportType.walking, consecutivePairs(nodes), null)
+                  .thenMany(Flux.range(0, nodes.size() - 1))
+                  .flatMapSequential(
+                      i ->
+                          walkingLeg(nodes.get(i), nodes.get(i + 1))
+                              .doOnNext(l -> listener.onLeg(i, nodes.size() - 1, l)),
+                      concurrency)
+                  .collectList()
+                  .map(legs -> summarize(roomId, day, TransportType.walking, legs))
+                  .publishOn(travelScheduler)
+                  .doOnNext(
+                      result ->
+                          matrixStore.record(roomId, TransportType.walking, result.getLegs()));
+            })
+        .doOnNext(
+            result ->
+                log.info(
+                    "🚶‍♂️ [walking] 도보 계산 결과: {}m, {}초",
+                    result.getTotalDistanceMeters(),
+                    result.getTotalDurationSec()));
+  }
 
-    for (int i = 0; i < nodes.size() - 1; i++) {
-      Node from = nodes.get(i);
-      Node to = nodes.get(i + 1);
+  /* =========================================================
+   * TRANSIT (Google, leg별 호출) - 시작점 endTime 기준으로 출발시간 체인
+   * ========================================================= */
+  private Mono<RouteResultResponseDto> estimateTransitPerLeg(
+      Long roomId, int day, LocalDate date, List<Node> nodes, LegListener listener) {
+    if (nodes.size() < 2) return Mono.just(RouteResultResponseDto.empty());
 
-      log.info(
-          "🚶‍♂️ [walking] leg {}: {} -> {} ({} -> {})",
-          i + 1,
-          from.wantId,
-          to.wantId,
-          ll(from),
-          ll(to));
+    log.info("🚌 [transit-per-leg] 대중교통 계산 시작 - 노드 수: {}", nodes.size());
 
-      String json = google.walking(ll(from), ll(to), null).block();
-      log.info("🚶‍♂️ [walking] Google API 응답 길이: {}", json != null ? json.length() : 0);
+    // ✅ 시작점(nodes[0])의 endTime을 기준으로 출발시간 설정 (없으면 now)
+    Instant start = firstDeparture(date, nodes);
+    int legCount = nodes.size() - 1;
 
-      LegResponseDto leg = parseSingleLeg(json, from.wantId, to.wantId(), TransportType.walking);
-      legs.add(leg);
+    log.info("🚌 [transit-per-leg] 출발시간: {}", start);
 
-      log.info(
-          "🚶‍♂️ [walking] leg {} 결과: {}m, {}초",
-          i + 1,
-          leg.getDistanceMeters(),
-          leg.getDurationSec());
+    if (!parallelEnabled) {
+      return chainTransit(nodes, null, null, 0, start, new ArrayList<>(legCount), listener)
+          .map(legs -> summarize(roomId, day, TransportType.transit, legs));
+    }
 
-      totalDist += leg.getDistanceMeters();
-      totalSec += leg.getDurationSec();
+    // 1) 투기적 출발시간 추정
+    Instant[] speculative = new Instant[legCount];
+    Instant t = start;
+    for (int i = 0; i < legCount; i++) {
+      speculative[i] = t;
+      t = t.plusSeconds(guessTransitSec(nodes.get(i), nodes.get(i + 1)));
     }
 
-    RouteResultResponseDto result =
-        RouteResultResponseDto.builder()
-            .roomId(roomId)
-            .day(day)
-            .transport(TransportType.walking)
-            .totalDistanceMeters(totalDist)
-            .totalDurationSec(totalSec)
-            .legs(legs)
-            .polyline(null)
-            .build();
+    // 2) 같은 출발시간 버킷끼리 Distance Matrix로 일괄 조회 → 전 구간 동시 요청
+    // 3) 실제 출발시간 체인으로 보정
+    Map<Long, List<Node[]>> byBucket = new LinkedHashMap<>();
+    Map<Long, Instant> bucketDeparture = new HashMap<>();
+    for (int i = 0; i < legCount; i++) {
+      long bucket = legCache.departureBucket(speculative[i]);
+      byBucket
+          .computeIfAbsent(bucket, k -> new ArrayList<>())
+          .add(new Node[] {nodes.get(i), nodes.get(i + 1)});
+      bucketDeparture.putIfAbsent(bucket, speculative[i]);
+    }
+    Mono<Void> prefetch =
+        Flux.fromIterable(byBucket.entrySet())
+            .flatMap(
+                e ->
+                    prefetchLegs(
+                        roomId,
+                        TransportType.transit,
+                        e.getValue(),
+                        bucketDeparture.get(e.getKey())))
+            .then();
+
+    return prefetch
+        .thenMany(Flux.range(0, legCount))
+        .flatMapSequential(
+            i -> transitLeg(nodes.get(i), nodes.get(i + 1), speculative[i]), maxConcurrency)
+        .collectList()
+        .flatMap(
+            first ->
+                chainTransit(nodes, first, speculative, 0, start, new ArrayList<>(), listener))
+        .map(legs -> summarize(roomId, day, TransportType.transit, legs));
+  }
 
-    log.info(
-        "🚶‍♂️ [walking] 도보 계산 결과: {}m, {}초",
-        result.getTotalDistanceMeters(),
-        result.getTotalDurationSec());
+  /**
+   * 실제 출발시간 체인을 따라가며 leg를 확정한다. 투기적 결과(first)가 있고 출발시간 버킷이 같으면 그대로 쓰고, 버킷이 어긋나거나 투기적 결과가
+   * 없으면 실제 출발시간으로 (재)요청한다.
+   */
+  private Mono<List<LegResponseDto>> chainTransit(
+      List<Node> nodes,
+      List<LegResponseDto> first,
+      Instant[] speculative,
+      int i,
+      Instant current,
+      List<LegResponseDto> acc,
+      LegListener listener) {
+    if (i == nodes.size() - 1) return Mono.just(acc);
+
+    boolean reuse =
+        first != null
+            && legCache.departureBucket(current) == legCache.departureBucket(speculative[i]);
+    Mono<LegResponseDto> leg =
+        reuse ? Mono.just(first.get(i)) : transitLeg(nodes.get(i), nodes.get(i + 1), current);
+
+    return leg.flatMap(
+        l -> {
+          acc.add(l);
+          listener.onLeg(i, nodes.size() - 1, l);
+          // 다음 leg 출발시간 = 직전 출발시간 + 이번 leg 소요시간
+          Instant next = l.getDurationSec() > 0 ? current.plusSeconds(l.getDurationSec()) : current;
+          return chainTransit(nodes, first, speculative, i + 1, next, acc, listener);
+        });
+  }
 
-    return result;
+  private Mono<LegResponseDto> walkingLeg(Node from, Node to) {
+    return cachedLegAsync(
+        TransportType.walking,
+        from,
+        to,
+        null,
+        () ->
+            google
+                .walkingLeg(ll(from), ll(to))
+                .map(sum -> parseSingleLeg(sum, from.wantId, to.wantId, TransportType.walking)))
+        .doOnNext(
+            leg ->
+                log.info(
+                    "🚶‍♂️ [walking] leg {} -> {} 결과: {}m, {}초",
+                    from.wantId,
+                    to.wantId,
+                    leg.getDistanceMeters(),
+                    leg.getDurationSec()));
   }
 
-  /* =========================================================
-   * TRANSIT (Google, leg별 호출) - 시작점 endTime 기준으로 출발시간 체인
-   * ========================================================= */
-  private RouteResultResponseDto estimateTransitPerLeg(
-      Long roomId, int day, LocalDate date, List<Node> nodes) {
-    if (nodes.size() < 2) return RouteResultResponseDto.empty();
+  private Mono<LegResponseDto> transitLeg(Node from, Node to, Instant departure) {
+    return cachedLegAsync(
+        TransportType.transit,
+        from,
+        to,
+        departure,
+        () ->
+            google
+                .transitLeg(ll(from), ll(to), departure)
+                .map(sum -> parseSingleLeg(sum, from.wantId, to.wantId, TransportType.transit)))
+        .doOnNext(
+            leg ->
+                log.info(
+                    "🚌 [transit-per-leg] leg {} -> {} ({}) 결과: {}m, {}초",
+                    from.wantId,
+                    to.wantId,
+                    departure,
+                    leg.getDistanceMeters(),
+                    leg.getDurationSec()));
+  }
 
-    log.info("🚌 [transit-per-leg] 대중교통 계산 시작 - 노드 수: {}", nodes.size());
+  /**
+   * 구간 캐시에 없는 구간이 2개 이상이면 Distance Matrix 한 번(한도 초과 시 타일 분할)으로 미리 채운다. 미스 구간의 출발지 × 도착지 전
+   * 조합을 받아 모두 캐시에 넣고, 도보는 방 이동 행렬에도 기록한다. 실패하면 leg별 Directions 호출로 그대로 진행.
+   *
+   * <p>행렬은 전 조합이 과금되므로 필요한 구간이 원소의 {@code MATRIX_MIN_DENSITY} 이상일 때(1:N, N:1 등)만 쓴다. 하루 일정처럼
+   * k개 구간이 이어진 체인은 k² 원소 중 k개만 쓰므로 leg별 호출이 더 싸다.
+   */
+  private Mono<Void> prefetchLegs(
+      Long roomId, TransportType mode, List<Node[]> pairs, Instant departure) {
+    return Mono.deferContextual(
+        ctx ->
+            useLocal(mode, ctx)
+                ? Mono.empty() // 로컬 구간은 필요할 때 바로 계산하고 방 행렬에는 넣지 않는다
+                : prefetchDistanceMatrix(roomId, mode, pairs, departure));
+  }
 
-    long totalDist = 0, totalSec = 0;
-    List<LegResponseDto> legs = new ArrayList<>();
+  private Mono<Void> prefetchDistanceMatrix(
+      Long roomId, TransportType mode, List<Node[]> pairs, Instant departure) {
+    if (!distanceMatrixEnabled || pairs.size() < 2) return Mono.empty();
+
+    return Mono.fromCallable(
+            () ->
+                pairs.stream()
+                    .filter(p -> p[0].wantId != p[1].wantId)
+                    .filter(p -> legCache.peek(legKey(mode, p[0], p[1], departure)).isEmpty())
+                    .toList())
+        .subscribeOn(travelScheduler)
+        .flatMap(
+            missing -> {
+              if (missing.size() < 2) return Mono.empty();
+
+              List<Node> origins = distinctNodes(missing.stream().map(p -> p[0]).toList());
+              List<Node> dests = distinctNodes(missing.stream().map(p -> p[1]).toList());
+              if (missing.size() < MATRIX_MIN_DENSITY * origins.size() * dests.size()) {
+                log.debug(
+                    "[distance-matrix] {} 미스 {}건 / {}x{} 원소 — 밀도 낮아 leg별 호출",
+                    mode,
+                    missing.size(),
+                    origins.size(),
+                    dests.size());
+                return Mono.empty();
+              }
+              log.info(
+                  "[distance-matrix] {} 미스 {}건 → {}x{} 일괄 조회",
+                  mode,
+                  missing.size(),
+                  origins.size(),
+                  dests.size());
+
+              return google
+                  .distanceMatrix(latLngs(origins), latLngs(dests), mode.name(), departure)
+                  .collectList()
+                  .publishOn(travelScheduler)
+                  .doOnNext(
+                      elements -> {
+                        List<LegResponseDto> legs = new ArrayList<>();
+                        for (GoogleDirectionsClient.MatrixElement el : elements) {
+                          Node from = origins.get(el.origin());
+                          Node to = dests.get(el.destination());
+                          if (el.durationSec() <= 0 || from.wantId == to.wantId) continue;
+                          TravelLegCache.CachedLeg cached =
+                              new TravelLegCache.CachedLeg(el.distanceMeters(), el.durationSec());
+                          remember(
+                              mode,
+                              from,
+                              to,
+                              departure,
+                              cached.distanceMeters(),
+                              cached.durationSec());
+                          legs.add(toLeg(from, to, cached, mode));
+                        }
+                        if (roomId != null) matrixStore.record(roomId, mode, legs);
+                      })
+                  .then();
+            })
+        .onErrorResume(
+            e -> {
+              log.warn(
+                  "[distance-matrix] {} 일괄 조회 실패, leg별 호출로 진행: {}", mode, e.getMessage());
+              return Mono.empty();
+            });
+  }
 
-    // ✅ 시작점(nodes[0])의 endTime을 기준으로 출발시간 설정 (없으면 now)
-    Instant currentDeparture =
-        (nodes.get(0).endTime != null)
-            ? ZonedDateTime.of(date, nodes.get(0).endTime, ZONE).toInstant()
-            : Instant.now();
+  private static List<Node[]> consecutivePairs(List<Node> nodes) {
+    List<Node[]> pairs = new ArrayList<>(nodes.size());
+    for (int i = 0; i + 1 < nodes.size(); i++) {
+      pairs.add(new Node[] {nodes.get(i), nodes.get(i + 1)});
+    }
+    return pairs;
+  }
 
-    log.info("🚌 [transit-per-leg] 출발시간: {}", currentDeparture);
+  private static List<GoogleDirectionsClient.LatLng> latLngs(List<Node> nodes) {
+    return nodes.stream().map(n -> new GoogleDirectionsClient.LatLng(n.lat, n.lng)).toList();
+  }
 
-    for (int i = 0; i < nodes.size() - 1; i++) {
-      Node from = nodes.get(i);
-      Node to = nodes.get(i + 1);
+  private static List<Node> distinctNodes(List<Node> nodes) {
+    Map<Long, Node> byId = new LinkedHashMap<>();
+    for (Node n : nodes) byId.putIfAbsent(n.wantId, n);
+    return new ArrayList<>(byId.values());
+  }
+
+  private Mono<LegResponseDto> cachedLegAsync(
+      TransportType mode,
+      Node from,
+      Node to,
+      Instant departure,
+      Supplier<Mono<LegResponseDto>> loader) {
+    LegCacheKey key = legKey(mode, from, to, departure);
+    return Mono.deferContextual(
+            ctx ->
+                Mono.justOrEmpty(
+                    ctx.getOrDefault(DayLegSnapshot.class, DayLegSnapshot.EMPTY)
+                        .find(mode, from.wantId, to.wantId, key.departureBucket())))
+        .map(Optional::of)
+        .switchIfEmpty(
+            Mono.fromCallable(() -> legCache.get(key)).subscribeOn(travelScheduler))
+        .flatMap(
+            hit ->
+                hit.isPresent()
+                    ? Mono.just(toLeg(from, to, hit.get(), mode))
+                    : localLegIfAllowed(mode, from, to)
+                        .switchIfEmpty(
+                            Mono.defer(
+                                () ->
+                                    loader
+                                        .get()
+                                        .switchIfEmpty(
+                                            Mono.fromSupplier(() -> emptyLeg(from, to, mode)))
+                                        .publishOn(travelScheduler)
+                                        .doOnNext(
+                                            leg ->
+                                                remember(
+                                                    mode,
+                                                    from,
+                                                    to,
+                                                    departure,
+                                                    leg.getDistanceMeters(),
+                                                    leg.getDurationSec())))));
+  }
 
-      log.info(
-          "🚌 [transit-per-leg] leg {}: {} -> {} ({} -> {})",
-          i + 1,
-          from.wantId,
-          to.wantId,
-          ll(from),
-          ll(to));
+  /**
+   * 로컬 그래프 사용 조건: 설정상 우선(routing.local.prefer)이거나, 사용자가 기다리는 요청이 아닐 때(행렬 워밍업/AI 보강). 로컬 결과는
+   * 실측이 아니므로 구간 캐시/추정기 보정에는 넣지 않는다.
+   */
+  private boolean useLocal(TransportType mode, ContextView ctx) {
+    return localLegs.supports(mode)
+        && (localPreferred || ApiPriority.from(ctx) != ApiPriority.INTERACTIVE);
+  }
 
-      String json = google.transit(ll(from), ll(to), null, currentDeparture).block();
-      log.info("🚌 [transit-per-leg] Google API 응답 길이: {}", json != null ? json.length() : 0);
+  private Mono<LegResponseDto> localLegIfAllowed(TransportType mode, Node from, Node to) {
+    return Mono.deferContextual(
+        ctx ->
+            useLocal(mode, ctx) ? Mono.justOrEmpty(localLeg(mode, from, to)) : Mono.empty());
+  }
 
-      LegResponseDto leg = parseSingleLeg(json, from.wantId, to.wantId(), TransportType.transit);
-      legs.add(leg);
+  private Optional<LegResponseDto> localLeg(TransportType mode, Node from, Node to) {
+    return localLegs.leg(mode, point(from), point(to)).map(l -> toLeg(from, to, l, mode));
+  }
 
-      log.info(
-          "🚌 [transit-per-leg] leg {} 결과: {}m, {}초",
-          i + 1,
-          leg.getDistanceMeters(),
-          leg.getDurationSec());
+  private static LegProvider.Point point(Node n) {
+    return new LegProvider.Point(n.lat, n.lng);
+  }
 
-      totalDist += leg.getDistanceMeters();
-      totalSec += leg.getDurationSec();
+  private static LegResponseDto toLeg(
+      Node from, Node to, LegProvider.Leg leg, TransportType transport) {
+    return LegResponseDto.builder()
+        .fromWantId(from.wantId)
+        .toWantId(to.wantId)
+        .distanceMeters(leg.distanceMeters())
+        .durationSec(leg.durationSec())
+        .transport(transport)
+        .local(true)
+        .build();
+  }
+
+  /** 한 번에 확정된 결과(행렬/캐시 적중, Kakao 전체 경로 등)의 구간을 순서대로 통지 */
+  private static void emitAll(LegListener listener, RouteResultResponseDto result) {
+    List<LegResponseDto> legs = result.getLegs();
+    for (int i = 0; i < legs.size(); i++) listener.onLeg(i, legs.size(), legs.get(i));
+  }
 
-      // 다음 leg 출발시간 = 직전 출발시간 + 이번 leg 소요시간
-      if (leg.getDurationSec() > 0) {
-        currentDeparture = currentDeparture.plusSeconds(leg.getDurationSec());
+  /** 외부 API 결과를 구간 캐시에 넣고 로컬 추정 모델 보정에도 반영 */
+  private void remember(
+      TransportType mode,
+      Node from,
+      Node to,
+      Instant departure,
+      long distanceMeters,
+      long durationSec) {
+    legCache.put(legKey(mode, from, to, departure), distanceMeters, durationSec);
+    estimator.observe(mode, from.lat, from.lng, to.lat, to.lng, distanceMeters, durationSec);
+  }
+
+  /* =========================================================
+   * 로컬 추정 (외부 호출 없음) - 선응답/쿼터 소진 시 대체값
+   * ========================================================= */
+  private RouteResultResponseDto estimateLocally(
+      Long roomId, int day, String mode, List<Node> nodes) {
+    if (nodes.size() < 2) return RouteResultResponseDto.empty();
+
+    return switch (mode) {
+      case "driving" -> locally(roomId, day, TransportType.driving, nodes);
+      case "walking" -> locally(roomId, day, TransportType.walking, nodes);
+      default -> {
+        // transit/auto: 근거리면 도보와 비교 (실계산 휴리스틱과 동일 기준)
+        RouteResultResponseDto transit = locally(roomId, day, TransportType.transit, nodes);
+        double meters =
+            GeoUtil.haversineMeters(
+                nodes.get(0).lat, nodes.get(0).lng, nodes.get(1).lat, nodes.get(1).lng);
+        if (meters > 1000.0) yield transit;
+        RouteResultResponseDto walking = locally(roomId, day, TransportType.walking, nodes);
+        yield walking.getTotalDurationSec() <= transit.getTotalDurationSec() ? walking : transit;
+      }
+    };
+  }
+
+  private RouteResultResponseDto locally(
+      Long roomId, int day, TransportType mode, List<Node> nodes) {
+    List<LegResponseDto> legs = new ArrayList<>(nodes.size() - 1);
+    for (int i = 0; i + 1 < nodes.size(); i++) {
+      Node from = nodes.get(i), to = nodes.get(i + 1);
+      // 구간 캐시에 실제 값이 있으면 우선 사용 (메트릭 미반영 조회)
+      Optional<TravelLegCache.CachedLeg> cached = legCache.peek(legKey(mode, from, to, null));
+      if (cached.isPresent()) {
+        legs.add(toLeg(from, to, cached.get(), mode));
+        continue;
       }
+      // 로컬 도로망 그래프가 있으면 직선거리 추정보다 우선
+      Optional<LegResponseDto> routed = localLeg(mode, from, to);
+      if (routed.isPresent()) {
+        legs.add(routed.get());
+        continue;
+      }
+      LocalTravelTimeEstimator.LegEstimate est = localEstimate(mode, from, to);
+      legs.add(
+          LegResponseDto.builder()
+              .fromWantId(from.wantId)
+              .toWantId(to.wantId)
+              .distanceMeters(est.distanceMeters())
+              .durationSec(est.durationSec())
+              .transport(mode)
+              .build());
     }
+    return summarize(roomId, day, mode, legs, true);
+  }
+
+  private LocalTravelTimeEstimator.LegEstimate localEstimate(
+      TransportType mode, Node from, Node to) {
+    return estimator.estimate(mode, from.lat, from.lng, to.lat, to.lng);
+  }
+
+  /** 쿼터 소진, 호출 대기열 기한 초과, 서킷 차단/벌크헤드 포화/타임아웃 → 로컬 추정으로 대체 */
+  private static boolean isUpstreamUnavailable(Throwable e) {
+    return (e instanceof GoogleDirectionsClient.DirectionsApiException g && g.isQuotaExceeded())
+        || (e instanceof KakaoNaviClient.KakaoNaviApiException k && k.isQuotaExceeded())
+        || e instanceof ExternalApiScheduler.QueueTimeoutException
+        || e instanceof UpstreamUnavailableException;
+  }
 
+  /** 방 이동 행렬에 모든 구간이 있으면 외부 호출 없이 결과 생성, 아니면 null */
+  private RouteResultResponseDto fromMatrix(
+      Long roomId, int day, TransportType mode, List<Node> nodes) {
+    if (roomId == null) return null;
+    List<Long> ids = nodes.stream().map(Node::wantId).toList();
+    return matrixStore
+        .lookup(roomId, mode, ids)
+        .map(legs -> summarize(roomId, day, mode, legs))
+        .orElse(null);
+  }
+
+  private RouteResultResponseDto summarize(
+      Long roomId, int day, TransportType transport, List<LegResponseDto> legs) {
+    return summarize(roomId, day, transport, legs, false);
+  }
+
+  private RouteResultResponseDto summarize(
+      Long roomId,
+      int day,
+      TransportType transport,
+      List<LegResponseDto> legs,
+      boolean provisional) {
+    long totalDist = 0, totalSec = 0;
+    for (LegResponseDto leg : legs) {
+      totalDist += leg.getDistanceMeters();
+      totalSec += leg.getDurationSec();
+    }
     return RouteResultResponseDto.builder()
         .roomId(roomId)
         .day(day)
+        .transport(transport)
         .totalDistanceMeters(totalDist)
         .totalDurationSec(totalSec)
         .legs(legs)
         .polyline(null)
+        .provisional(provisional)
+        .build();
+  }
+
+  // 대중교통 투기적 출발시간 추정 (지역별로 보정된 로컬 추정치)
+  private long guessTransitSec(Node from, Node to) {
+    return localEstimate(TransportType.transit, from, to).durationSec();
+  }
+
+  private static Instant firstDeparture(LocalDate date, List<Node> nodes) {
+    return (nodes.get(0).endTime != null && date != null)
+        ? ZonedDateTime.of(date, nodes.get(0).endTime, ZONE).toInstant()
+        : Instant.now();
+  }
+
+  private static LegResponseDto emptyLeg(Node from, Node to, TransportType transport) {
+    return LegResponseDto.builder()
+        .fromWantId(from.wantId)
+        .toWantId(to.wantId)
+        .distanceMeters(0)
+        .durationSec(0)
+        .transport(transport)
         .build();
   }
 
   /* =========================================================
    * 좌표/파서/유틸
    * ========================================================= */
+  private Mono<List<Node>> resolveNodesAsync(List<EventRequestDto> ordered) {
+    return Mono.fromCallable(() -> resolveNodes(ordered)).subscribeOn(travelScheduler);
+  }
+
   private List<Node> resolveNodes(List<EventRequestDto> ordered) {
     List<Long> ids = ordered.stream().map(EventRequestDto::getWantId).toList();
     List<WantPlace> wantPlaces = wantPlaceRepository.findAllById(ids);
@@ -471,72 +1118,68 @@ public class TravelTimeServiceImpl implements TravelTimeService {
   }
 
   private LegResponseDto parseSingleLeg(
-      String json, long fromId, long toId, TransportType transport) {
-    try {
-      JsonNode root = om.readTree(json);
-      String status = root.path("status").asText();
-
-      String logPrefix = transport == TransportType.walking ? "🚶‍♂️" : "🚌";
-      log.info("{} [parse-single-leg] Google API 상태: {}", logPrefix, status);
-
-      if (!"OK".equals(status)) {
-        log.warn("{} [parse-single-leg] Google API 오류: {}", logPrefix, status);
-        return LegResponseDto.builder()
-            .fromWantId(fromId)
-            .toWantId(toId)
-            .distanceMeters(0)
-            .durationSec(0)
-            .transport(transport)
-            .build();
-      }
+      DirectionsLegParser.LegSummary sum, long fromId, long toId, TransportType transport) {
+    String status = sum.status();
 
-      JsonNode routes = root.path("routes");
-      if (!routes.isArray() || routes.size() == 0) {
-        log.warn("{} [parse-single-leg] 경로 없음", logPrefix);
-        return LegResponseDto.builder()
-            .fromWantId(fromId)
-            .toWantId(toId)
-            .distanceMeters(0)
-            .durationSec(0)
-            .transport(transport)
-            .build();
-      }
+    String logPrefix = transport == TransportType.walking ? "🚶‍♂️" : "🚌";
+    log.info("{} [parse-single-leg] Google API 상태: {}", logPrefix, status);
 
-      JsonNode leg = routes.get(0).path("legs").get(0);
-      long dist = leg.path("distance").path("value").asLong(0);
-      long dur = leg.path("duration").path("value").asLong(0);
-
-      log.info("{} [parse-single-leg] 파싱 결과: {}m, {}초", logPrefix, dist, dur);
+    if (GoogleDirectionsClient.isQuotaStatus(status)) {
+      throw new GoogleDirectionsClient.DirectionsApiException(429, status);
+    }
+    if (!"OK".equals(status)) {
+      log.warn("{} [parse-single-leg] Google API 오류: {}", logPrefix, status);
+      return LegResponseDto.builder()
+          .fromWantId(fromId)
+          .toWantId(toId)
+          .distanceMeters(0)
+          .durationSec(0)
+          .transport(transport)
+          .build();
+    }
 
+    if (!sum.found()) {
+      log.warn("{} [parse-single-leg] 경로 없음", logPrefix);
       return LegResponseDto.builder()
           .fromWantId(fromId)
           .toWantId(toId)
-          .distanceMeters(dist)
-          .durationSec(dur)
+          .distanceMeters(0)
+          .durationSec(0)
           .transport(transport)
           .build();
-    } catch (Exception e) {
-      log.error("🚌 [parse-single-leg] 파싱 실패", e);
-      throw new RuntimeException("Directions parse failed", e);
     }
+
+    long dist = sum.distanceMeters();
+    long dur = sum.durationSec();
+
+    log.info("{} [parse-single-leg] 파싱 결과: {}m, {}초", logPrefix, dist, dur);
+
+    return LegResponseDto.builder()
+        .fromWantId(fromId)
+        .toWantId(toId)
+        .distanceMeters(dist)
+        .durationSec(dur)
+        .transport(transport)
+        .build();
   }
 
-  private static String ll(Node n) {
-    return n.lat + "," + n.lng;
+  private LegCacheKey legKey(TransportType mode, Node from, Node to, Instant departure) {
+    return legCache.key(mode, from.lat, from.lng, to.lat, to.lng, departure);
+  }
+
+  private static LegResponseDto toLeg(
+      Node from, Node to, TravelLegCache.CachedLeg cached, TransportType transport) {
+    return LegResponseDto.builder()
+        .fromWantId(from.wantId)
+        .toWantId(to.wantId)
+        .distanceMeters(cached.distanceMeters())
+        .durationSec(cached.durationSec())
+        .transport(transport)
+        .build();
   }
 
-  private static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
-    double R = 6371000.0;
-    double dLat = Math.toRadians(lat2 - lat1);
-    double dLon = Math.toRadians(lon2 - lon1);
-    double a =
-        Math.sin(dLat / 2) * Math.sin(dLat / 2)
-            + Math.cos(Math.toRadians(lat1))
-                * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2)
-                * Math.sin(dLon / 2);
-    double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-    return R * c;
+  private static String ll(Node n) {
+    return n.lat + "," + n.lng;
   }
 
   private record Node(long wantId, double lat, double lng, LocalTime endTime) {}
@@ -8,6 +8,9 @@ public interface AiRoutePublisher {
 
   void progress(Long roomId, String jobId, int progress);
 
+  /** 진행률 + 중간 결과(로컬 최적화 미리보기) — 이후 done 결과로 교체됨 */
+  void progress(Long roomId, String jobId, int progress, AiRecommendBroadcastDto preview);
+
   void done(Long roomId, String jobId, AiRecommendBroadcastDto result);
 
   void error(Long roomId, String jobId, String message);
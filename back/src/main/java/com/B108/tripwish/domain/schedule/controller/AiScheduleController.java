@@ -86,8 +86,10 @@ public class AiScheduleController {
       @AuthenticationPrincipal CustomUserDetails user,
       @PathVariable Long roomId,
       @RequestBody AiScheduleRequestDto req) {
-    // 방 락
-    if (!roomLockService.acquireScheduleLock(roomId)) {
+    // 방 락 — 진행 중인 작업이 있으면 취소하고 새 요청으로 대체
+    if (!roomLockService.acquireScheduleLock(roomId)
+        && !(aiScheduleService.supersede(roomId)
+            && roomLockService.acquireScheduleLock(roomId))) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "이미 일정 추천이 진행 중입니다."));
     }
     String jobId = aiScheduleService.enqueue(roomId, req);
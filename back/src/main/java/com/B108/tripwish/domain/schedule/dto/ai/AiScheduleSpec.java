@@ -2,6 +2,8 @@ package com.B108.tripwish.domain.schedule.dto.ai;
 
 import java.util.List;
 
+import com.B108.tripwish.domain.route.dto.ai.AiTravelMatrix;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
@@ -19,6 +21,10 @@ public class AiScheduleSpec {
   private List<AiPlaceInfoDto> placeList;
   private int days;
 
+  /** 백엔드가 이미 아는 자동차 이동 행렬 (없으면 필드 생략 → AI 서버가 직접 조회) */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private AiTravelMatrix travelMatrix;
+
   @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
   @Getter
   @NoArgsConstructor
@@ -0,0 +1,233 @@
+package com.B108.tripwish.domain.schedule.planner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.domain.route.estimate.LocalTravelTimeEstimator;
+import com.B108.tripwish.domain.route.optimize.DayRouteOptimizer;
+import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleResult;
+import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleSpec;
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * AI 일정 추천 전 미리보기용 로컬 다일 플래너.
+ *
+ * <p>장소 좌표를 용량 제한 k-means 로 {@code days} 개 그룹으로 나누고(하루 최대 ceil(n/days) 곳), 그룹별 방문 순서는 {@link
+ * DayRouteOptimizer} 로 정한다. 이동시간은 로컬 추정치만 사용하므로 외부 API 호출이 없다. 결과는 AI 응답과 같은 형태.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalSchedulePlanner {
+
+  private static final int MAX_ITERATIONS = 20;
+
+  private final LocalTravelTimeEstimator estimator;
+  private final DayRouteOptimizer optimizer;
+
+  @Value("${route.local-optimizer.walk-max-sec:900}")
+  private int walkMaxSec;
+
+  @Value("${route.local-optimizer.default-stay:60m}")
+  private Duration defaultStay;
+
+  public List<AiScheduleResult> plan(AiScheduleSpec spec) {
+    List<AiScheduleSpec.AiPlaceInfoDto> places = spec.getPlaceList();
+    for (AiScheduleSpec.AiPlaceInfoDto p : places) {
+      if (p.getLat() == null || p.getLng() == null) {
+        throw new IllegalStateException("좌표 없는 장소 wantId=" + p.getId());
+      }
+    }
+    List<AiScheduleResult> result = new ArrayList<>(spec.getDays());
+    int day = 1;
+    if (!places.isEmpty()) {
+      int days = Math.max(1, Math.min(spec.getDays(), places.size()));
+      for (List<AiScheduleSpec.AiPlaceInfoDto> group : orderDays(group(places, days))) {
+        result.add(AiScheduleResult.builder().day(day++).route(orderDay(group)).build());
+      }
+    }
+    // 장소보다 일수가 많으면 남는 날은 빈 일정
+    while (day <= spec.getDays()) {
+      result.add(AiScheduleResult.builder().day(day++).route(List.of()).build());
+    }
+    return result;
+  }
+
+  private List<List<AiScheduleSpec.AiPlaceInfoDto>> group(
+      List<AiScheduleSpec.AiPlaceInfoDto> places, int days) {
+    int[] cluster = cluster(places, days);
+    List<List<AiScheduleSpec.AiPlaceInfoDto>> groups = new ArrayList<>();
+    for (int d = 0; d < days; d++) groups.add(new ArrayList<>());
+    for (int i = 0; i < places.size(); i++) groups.get(cluster[i]).add(places.get(i));
+    groups.removeIf(List::isEmpty);
+    return groups;
+  }
+
+  /** 용량 제한 k-means — 배정은 (거리 오름차순 그리디 + 남은 용량) 방식 */
+  private int[] cluster(List<AiScheduleSpec.AiPlaceInfoDto> places, int k) {
+    int n = places.size();
+    int capacity = (n + k - 1) / k;
+    double[][] pts = new double[n][];
+    for (int i = 0; i < n; i++) pts[i] = point(places.get(i));
+
+    double[][] centers = seedCenters(pts, k);
+    int[] assign = new int[n];
+    Arrays.fill(assign, -1);
+
+    for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
+      // (장소, 중심) 쌍을 거리순으로 — 쌍 번호 = i * k + c
+      Integer[] pairs = new Integer[n * k];
+      double[] dist = new double[n * k];
+      for (int i = 0; i < n; i++) {
+        for (int c = 0; c < k; c++) {
+          dist[i * k + c] = sq(pts[i], centers[c]);
+          pairs[i * k + c] = i * k + c;
+        }
+      }
+      Arrays.sort(pairs, Comparator.comparingDouble(x -> dist[x]));
+
+      int[] next = new int[n];
+      Arrays.fill(next, -1);
+      int[] size = new int[k];
+      for (int pair : pairs) {
+        int i = pair / k;
+        int c = pair % k;
+        if (next[i] >= 0 || size[c] >= capacity) continue;
+        next[i] = c;
+        size[c]++;
+      }
+
+      boolean changed = !Arrays.equals(next, assign);
+      assign = next;
+      if (!changed) break;
+
+      double[][] sum = new double[k][2];
+      for (int i = 0; i < n; i++) {
+        sum[assign[i]][0] += pts[i][0];
+        sum[assign[i]][1] += pts[i][1];
+      }
+      for (int c = 0; c < k; c++) {
+        if (size[c] > 0) centers[c] = new double[] {sum[c][0] / size[c], sum[c][1] / size[c]};
+      }
+    }
+    return assign;
+  }
+
+  /** 결정적 k-means++ 변형: 첫 점에서 시작해 가장 먼 점을 차례로 중심으로 */
+  private static double[][] seedCenters(double[][] pts, int k) {
+    double[][] centers = new double[k][];
+    centers[0] = pts[0];
+    double[] nearest = new double[pts.length];
+    Arrays.fill(nearest, Double.MAX_VALUE);
+    for (int c = 1; c < k; c++) {
+      int far = 0;
+      for (int i = 0; i < pts.length; i++) {
+        nearest[i] = Math.min(nearest[i], sq(pts[i], centers[c - 1]));
+        if (nearest[i] > nearest[far]) far = i;
+      }
+      centers[c] = pts[far];
+    }
+    return centers;
+  }
+
+  /** 날짜 순서: 서쪽 끝 그룹부터 가장 가까운 그룹을 이어 붙여 날 사이 이동을 줄인다 */
+  private static List<List<AiScheduleSpec.AiPlaceInfoDto>> orderDays(
+      List<List<AiScheduleSpec.AiPlaceInfoDto>> groups) {
+    List<double[]> centroids = groups.stream().map(LocalSchedulePlanner::centroid).toList();
+    boolean[] used = new boolean[groups.size()];
+    List<List<AiScheduleSpec.AiPlaceInfoDto>> ordered = new ArrayList<>(groups.size());
+
+    int cur = 0;
+    for (int g = 1; g < groups.size(); g++) {
+      if (centroids.get(g)[1] < centroids.get(cur)[1]) cur = g;
+    }
+    while (cur >= 0) {
+      used[cur] = true;
+      ordered.add(groups.get(cur));
+      int next = -1;
+      for (int g = 0; g < groups.size(); g++) {
+        if (used[g]) continue;
+        if (next < 0
+            || sq(centroids.get(cur), centroids.get(g))
+                < sq(centroids.get(cur), centroids.get(next))) {
+          next = g;
+        }
+      }
+      cur = next;
+    }
+    return ordered;
+  }
+
+  private List<AiScheduleResult.RouteInfo> orderDay(List<AiScheduleSpec.AiPlaceInfoDto> group) {
+    int n = group.size();
+    int[][] duration = new int[n][n];
+    boolean[][] walk = new boolean[n][n];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        if (i == j) continue;
+        long w = legSec(TransportType.walking, group.get(i), group.get(j));
+        walk[i][j] = w <= walkMaxSec;
+        duration[i][j] =
+            (int) (walk[i][j] ? w : legSec(TransportType.driving, group.get(i), group.get(j)));
+      }
+    }
+    int[] stay = new int[n];
+    int[] earliest = new int[n];
+    Arrays.fill(stay, (int) defaultStay.toSeconds());
+    Arrays.fill(earliest, -1);
+
+    int[] order =
+        optimizer.optimize(new DayRouteOptimizer.Problem(duration, stay, earliest, 0)).order();
+
+    List<AiScheduleResult.RouteInfo> route = new ArrayList<>(n);
+    for (int k = 0; k < order.length; k++) {
+      int cur = order[k];
+      boolean last = k == order.length - 1;
+      int next = last ? -1 : order[k + 1];
+      route.add(
+          AiScheduleResult.RouteInfo.builder()
+              .id(group.get(cur).getId())
+              .transport(last ? null : (walk[cur][next] ? "walking" : "driving"))
+              .eventOrder(k + 1)
+              .nextTravelTime(last ? null : duration[cur][next])
+              .build());
+    }
+    return route;
+  }
+
+  private long legSec(
+      TransportType mode, AiScheduleSpec.AiPlaceInfoDto from, AiScheduleSpec.AiPlaceInfoDto to) {
+    return estimator
+        .estimate(mode, from.getLat(), from.getLng(), to.getLat(), to.getLng())
+        .durationSec();
+  }
+
+  private static double[] centroid(List<AiScheduleSpec.AiPlaceInfoDto> group) {
+    double lat = 0;
+    double lng = 0;
+    for (AiScheduleSpec.AiPlaceInfoDto p : group) {
+      double[] xy = point(p);
+      lat += xy[0];
+      lng += xy[1];
+    }
+    return new double[] {lat / group.size(), lng / group.size()};
+  }
+
+  /** 위도 보정한 평면 좌표(위도, 경도×cos(위도)) — 제곱거리 비교용 */
+  private static double[] point(AiScheduleSpec.AiPlaceInfoDto p) {
+    return new double[] {p.getLat(), p.getLng() * Math.cos(Math.toRadians(p.getLat()))};
+  }
+
+  private static double sq(double[] a, double[] b) {
+    double dx = a[0] - b[0];
+    double dy = a[1] - b[1];
+    return dx * dx + dy * dy;
+  }
+}
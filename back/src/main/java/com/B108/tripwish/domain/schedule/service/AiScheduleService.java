@@ -6,5 +6,11 @@ import com.B108.tripwish.domain.schedule.dto.response.AiSnapshotResponseDto;
 public interface AiScheduleService {
   String enqueue(Long roomId, AiScheduleRequestDto req);
 
+  /** 진행 중인 작업을 취소하고 방 락을 비운다 (새 요청이 대체) — 취소할 작업이 없으면 false */
+  boolean supersede(Long roomId);
+
+  /** 방의 AI 일정 결과를 무효화하고 진행 중인 작업을 취소 */
+  void invalidate(Long roomId, String reason);
+
   AiSnapshotResponseDto getRoomSnapshot(Long roomId);
 }
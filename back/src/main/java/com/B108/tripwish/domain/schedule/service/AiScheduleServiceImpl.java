@@ -2,28 +2,38 @@ package com.B108.tripwish.domain.schedule.service;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.B108.tripwish.domain.room.entity.WantPlace;
 import com.B108.tripwish.domain.room.repository.WantPlaceRepository;
+import com.B108.tripwish.domain.route.dto.ai.AiTravelMatrix;
+import com.B108.tripwish.domain.route.matrix.AiTravelMatrixBuilder;
+import com.B108.tripwish.domain.route.provider.LegProvider;
 import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleResult;
 import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleSpec;
 import com.B108.tripwish.domain.schedule.dto.request.AiScheduleRequestDto;
 import com.B108.tripwish.domain.schedule.dto.response.AiSnapshotResponseDto;
+import com.B108.tripwish.domain.schedule.planner.LocalSchedulePlanner;
 import com.B108.tripwish.domain.schedule.websocket.AiSchedulePublisher;
 import com.B108.tripwish.global.exception.CustomException;
 import com.B108.tripwish.global.exception.ErrorCode;
 import com.B108.tripwish.global.lock.RoomLockService;
+import com.B108.tripwish.global.queue.AiJobQueue;
+import com.B108.tripwish.global.queue.RetryableJobException;
 import com.B108.tripwish.global.util.PlaceInfo;
 import com.B108.tripwish.global.util.PlaceInfoResolver;
 import com.B108.tripwish.websocket.dto.response.AiRecommendBroadcastDto;
+import com.B108.tripwish.websocket.service.AiJobRegistry;
+import com.B108.tripwish.websocket.service.AiTaskType;
 import com.B108.tripwish.websocket.service.RedisAiService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +51,21 @@ public class AiScheduleServiceImpl implements AiScheduleService {
   private final RedisAiService redisAiService;
   private final ObjectMapper objectMapper;
   private final com.fasterxml.jackson.databind.ObjectMapper om;
+  private final LocalSchedulePlanner localPlanner; // AI 응답 전 미리보기
+  private final AiJobQueue jobQueue; // Redis Streams 작업 큐 (노드 간 분산)
+  private final AiJobRegistry jobRegistry; // 활성 작업 기록 + 취소 전파
+  private final AiTravelMatrixBuilder matrixBuilder;
+
+  private static final String QUEUE = AiTaskType.SCHEDULE.getCode();
+
+  /** 로컬 미리보기 시점의 진행률 — 이후 일차 도착마다 99까지 나눠 올린다 */
+  private static final int PREVIEW_PROGRESS = 10;
+
+  @Value("${schedule.local-preview.enabled:true}")
+  private boolean localPreviewEnabled;
+
+  @Value("${ai.log.payload-sample-rate:0.05}")
+  private double payloadSampleRate;
 
   @Override
   public String enqueue(Long roomId, AiScheduleRequestDto req) {
@@ -51,16 +76,66 @@ public class AiScheduleServiceImpl implements AiScheduleService {
       throw new CustomException(ErrorCode.BAD_REQUEST);
     }
     String jobId = UUID.randomUUID().toString();
-    runAsync(roomId, jobId, req); // 비동기 실행
-    return jobId;
+    try {
+      // STARTED 이벤트(프론트 로딩 표시용) — 큐 대기 중에도 상태 조회가 되도록 등록 시점에 기록
+      publisher.started(roomId, jobId, req.getDays());
+      jobRegistry.activate(AiTaskType.SCHEDULE, roomId, 0, jobId);
+      jobQueue.submit(QUEUE, jobId, new ScheduleJob(roomId, req));
+    } catch (RuntimeException e) {
+      roomLockService.releaseScheduleLock(roomId);
+      throw e;
+    }
+    return jobId; // 요청 스레드는 바로 반환
+  }
+
+  @Override
+  public boolean supersede(Long roomId) {
+    Optional<String> running = jobRegistry.activeJob(AiTaskType.SCHEDULE, roomId, 0);
+    if (running.isEmpty()) return false;
+    // 활성 표시를 먼저 지워야 취소된 작업이 새 작업의 락을 풀지 않는다
+    if (!jobRegistry.deactivate(AiTaskType.SCHEDULE, roomId, 0, running.get())) return false;
+    jobRegistry.cancel(running.get(), "superseded");
+    roomLockService.releaseScheduleLock(roomId);
+    return true;
   }
 
-  /** 실제 실행 — 지정된 TaskExecutor에서 비동기로 수행 */
-  @Async("travelTaskExecutor")
-  protected void runAsync(Long roomId, String jobId, AiScheduleRequestDto req) {
+  @Override
+  public void invalidate(Long roomId, String reason) {
+    jobRegistry.cancelRoom(AiTaskType.SCHEDULE, roomId, reason);
+    publisher.invalidated(roomId, reason);
+  }
+
+  /** 이 노드를 일정 추천 큐의 워커로 등록 */
+  @PostConstruct
+  void registerWorker() {
+    jobQueue.register(
+        QUEUE,
+        ScheduleJob.class,
+        new AiJobQueue.Handler<>() {
+          @Override
+          public void handle(String jobId, ScheduleJob job) {
+            run(job.roomId(), jobId, job.req());
+          }
+
+          @Override
+          public void onDeadLetter(String jobId, ScheduleJob job, String reason) {
+            publisher.error(job.roomId(), jobId, "job-dead-letter:" + reason);
+            if (jobRegistry.deactivate(AiTaskType.SCHEDULE, job.roomId(), 0, jobId)) {
+              roomLockService.releaseScheduleLock(job.roomId());
+            }
+          }
+        });
+  }
+
+  /** 실제 실행 — 큐 워커 스레드에서 수행 */
+  protected void run(Long roomId, String jobId, AiScheduleRequestDto req) {
+    AiJobRegistry.Handle handle = jobRegistry.open(jobId);
+    boolean retry = false;
     try {
-      // STARTED 이벤트(프론트 로딩 표시용)
-      publisher.started(roomId, jobId, req.getDays());
+      if (handle.isCancelled()) {
+        log.info("[AI-SCHEDULE] skip cancelled jobId={} reason={}", jobId, handle.reason());
+        return;
+      }
 
       // 프론트 DTO -> AI Spec (roomId는 Spec에 포함되지 않음)
       AiScheduleSpec spec = buildSpec(roomId, req);
@@ -78,58 +153,83 @@ public class AiScheduleServiceImpl implements AiScheduleService {
           placeCnt,
           ids);
 
-      // 🔎 상세 로그 (INFO로 강제 출력)
-      try {
-        // 1) 예쁘게 JSON (snake_case로 직렬화됨)
-        String pretty = om.writerWithDefaultPrettyPrinter().writeValueAsString(spec);
-        log.info("[🔎AI-SCHEDULE] ▶ Spec(JSON pretty)\n{}", pretty);
-      } catch (Exception je) {
-        log.warn("[🔎AI-SCHEDULE] ▶ Spec JSON serialize error: {}", je.getMessage(), je);
+      // 🔎 상세 로그 (DEBUG + 샘플링 — 50곳 행렬 포함 spec 은 수십 KB)
+      if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < payloadSampleRate) {
+        try {
+          log.debug("[🔎AI-SCHEDULE] ▶ Spec(JSON) {}", om.writeValueAsString(spec));
+        } catch (Exception je) {
+          log.warn("[🔎AI-SCHEDULE] ▶ Spec JSON serialize error: {}", je.getMessage(), je);
+        }
       }
 
-      // AI 호출
-      List<AiScheduleResult> result = ai.recommendSchedule(spec);
-
-      if (result == null || result.isEmpty()) {
-        throw new CustomException(ErrorCode.AI_BAD_RESPONSE);
+      // ⚡ 로컬 플래너 미리보기 (AI 응답 전 초안) — 실패해도 AI 경로는 그대로 진행
+      if (localPreviewEnabled) {
+        try {
+          List<AiScheduleResult> draft = localPlanner.plan(spec);
+          publisher.progress(roomId, jobId, PREVIEW_PROGRESS, toPayload(roomId, draft));
+        } catch (Exception pe) {
+          log.warn("[AI-SCHEDULE] local preview failed roomId={}: {}", roomId, pe.getMessage());
+        }
       }
 
-      // 2) AI가 반환한 wantId 전부 수집해 메타(이름/이미지/좌표) 로드
-      List<Long> aiWantIds =
-          result.stream()
-              .flatMap(d -> Optional.ofNullable(d.getRoute()).orElseGet(List::of).stream())
-              .map(AiScheduleResult.RouteInfo::getId)
-              .filter(Objects::nonNull)
-              .distinct()
-              .toList();
-
-      List<WantPlace> loaded =
-          aiWantIds.isEmpty() ? List.of() : wantPlaceRepository.findAllById(aiWantIds);
-
-      // 같은 방 소속/존재 검증(방어)
-      if (loaded.stream().anyMatch(wp -> !Objects.equals(wp.getTravelRoom().getId(), roomId))) {
-        throw new CustomException(ErrorCode.ROOM_FORBIDDEN);
+      // AI 호출 — 하루치씩 도착하는 대로 방에 발행 (이 스레드에서 소비하므로 JPA 조회도 여기서)
+      int days = Math.max(1, spec.getDays());
+      List<AiScheduleResult> result = new ArrayList<>(days);
+      // 취소 신호가 오면 구독을 끊어 WebClient 연결을 닫는다 → AI 서버도 다음 일차 계산 전에 중단
+      for (AiScheduleResult day :
+          ai.streamSchedule(spec).takeUntilOther(handle.cancelled()).toIterable()) {
+        result.add(day);
+        int progress = PREVIEW_PROGRESS + result.size() * (99 - PREVIEW_PROGRESS) / days;
+        publisher.dayReady(
+            roomId, jobId, day.getDay(), Math.min(99, progress), toPayload(roomId, List.of(day)));
       }
 
-      placeInfoResolver.preload(loaded); // N+1 방지
-      Map<Long, WantPlace> wantById =
-          loaded.stream().collect(Collectors.toMap(WantPlace::getId, w -> w));
-
-      // 3) 프론트로 보낼 페이로드 조립
-      AiRecommendBroadcastDto payload = buildPreviewPayload(roomId, result, wantById);
+      if (handle.isCancelled()) {
+        cancelled(roomId, jobId, handle);
+        return;
+      }
+      if (result.isEmpty()) {
+        throw new CustomException(ErrorCode.AI_BAD_RESPONSE);
+      }
 
-      // DONE 이벤트(프론트 프리뷰 렌더용)
-      publisher.done(roomId, jobId, payload);
+      // DONE 이벤트(프론트 프리뷰 렌더용) — 미리보기를 대체
+      publisher.done(roomId, jobId, toPayload(roomId, result));
 
     } catch (Exception e) {
+      if (handle.isCancelled()) {
+        cancelled(roomId, jobId, handle);
+        return;
+      }
+      if (RetryableJobException.isTransient(e)) {
+        // 큐에 남겨 재시도 (락/활성 표시 유지, 시도 횟수 초과 시 onDeadLetter 에서 정리)
+        log.warn("[AI-SCHEDULE] roomId={} jobId={} retry: {}", roomId, jobId, e.getMessage());
+        retry = true;
+        throw new RetryableJobException(e);
+      }
       log.warn("[AI-SCHEDULE] roomId={} jobId={} failed: {}", roomId, jobId, e.getMessage(), e);
       publisher.error(roomId, jobId, e.getMessage());
     } finally {
-      // 락 해제 보장
-      roomLockService.releaseScheduleLock(roomId);
+      jobRegistry.close(handle);
+      // 락 해제 보장 — 대체된 작업이면 이미 새 작업이 락을 가지고 있으므로 건드리지 않는다
+      if (!retry
+          && jobRegistry.deactivate(AiTaskType.SCHEDULE, roomId, 0, jobId)) {
+        roomLockService.releaseScheduleLock(roomId);
+      }
+    }
+  }
+
+  /** 취소된 작업 — 대체된 경우는 새 작업이 상태를 덮어쓰므로 알리지 않는다 */
+  private void cancelled(Long roomId, String jobId, AiJobRegistry.Handle handle) {
+    log.info(
+        "[AI-SCHEDULE] ⛔ cancelled roomId={} jobId={} reason={}", roomId, jobId, handle.reason());
+    if (!"superseded".equals(handle.reason())) {
+      publisher.error(roomId, jobId, "cancelled:" + handle.reason());
     }
   }
 
+  /** 큐에 저장되는 작업 내용 */
+  record ScheduleJob(Long roomId, AiScheduleRequestDto req) {}
+
   /** 프론트 요청을 AI Spec으로 변환 (검증/보강 포함) — roomId는 내부 검증에만 사용 */
   @Transactional(Transactional.TxType.SUPPORTS)
   protected AiScheduleSpec buildSpec(Long roomId, AiScheduleRequestDto req) {
@@ -168,9 +268,55 @@ public class AiScheduleServiceImpl implements AiScheduleService {
     return AiScheduleSpec.builder()
         .placeList(aiPlaces) // JSON: place_list (snake_case)
         .days(req.getDays())
+        .travelMatrix(travelMatrix(roomId, aiPlaces).orElse(null))
         .build();
   }
 
+  /** 이미 아는 이동시간을 spec 에 첨부 → AI 서버의 카카오 재조회 생략 */
+  private Optional<AiTravelMatrix> travelMatrix(
+      Long roomId, List<AiScheduleSpec.AiPlaceInfoDto> places) {
+    try {
+      return matrixBuilder.build(
+          roomId,
+          places.stream().map(AiScheduleSpec.AiPlaceInfoDto::getId).toList(),
+          places.stream()
+              .map(
+                  p ->
+                      p.getLat() == null || p.getLng() == null
+                          ? null
+                          : new LegProvider.Point(p.getLat(), p.getLng()))
+              .toList());
+    } catch (Exception e) {
+      log.warn("[AI-SCHEDULE] travel matrix skipped roomId={}: {}", roomId, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /** 결과 wantId 검증 + 메타(이름/이미지/좌표) 로드 후 프론트 페이로드 조립 */
+  private AiRecommendBroadcastDto toPayload(Long roomId, List<AiScheduleResult> result) {
+    List<Long> aiWantIds =
+        result.stream()
+            .flatMap(d -> Optional.ofNullable(d.getRoute()).orElseGet(List::of).stream())
+            .map(AiScheduleResult.RouteInfo::getId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+
+    List<WantPlace> loaded =
+        aiWantIds.isEmpty() ? List.of() : wantPlaceRepository.findAllById(aiWantIds);
+
+    // 같은 방 소속/존재 검증(방어)
+    if (loaded.stream().anyMatch(wp -> !Objects.equals(wp.getTravelRoom().getId(), roomId))) {
+      throw new CustomException(ErrorCode.ROOM_FORBIDDEN);
+    }
+
+    placeInfoResolver.preload(loaded); // N+1 방지
+    Map<Long, WantPlace> wantById =
+        loaded.stream().collect(Collectors.toMap(WantPlace::getId, w -> w));
+
+    return buildPreviewPayload(roomId, result, wantById);
+  }
+
   private AiRecommendBroadcastDto buildPreviewPayload(
       Long roomId, List<AiScheduleResult> ai, Map<Long, WantPlace> wantById) {
     List<AiRecommendBroadcastDto.ScheduleInfo> schedule =
@@ -259,10 +405,30 @@ public class AiScheduleServiceImpl implements AiScheduleService {
               resultJson -> {
                 builder.result(parseJson(resultJson));
               });
+    } else if ("PROGRESS".equals(type) && jobId != null) {
+      // 스트리밍 중이면 지금까지 도착한 일차만 모아서 (재접속 시 이어서 렌더)
+      builder.result(partialResult(roomId, jobId));
     }
     return builder.build();
   }
 
+  /** 일차별 부분 결과를 DONE 결과와 같은 형태(roomId + schedule[])로 합친다 */
+  private Map<String, Object> partialResult(Long roomId, String jobId) {
+    List<Object> schedule = new ArrayList<>();
+    redisAiService
+        .getJobDays(jobId)
+        .values()
+        .forEach(
+            json -> {
+              Object days = parseJson(json).get("schedule");
+              if (days instanceof List<?> list) schedule.addAll(list);
+            });
+    Map<String, Object> result = new HashMap<>();
+    result.put("roomId", roomId);
+    result.put("schedule", schedule);
+    return result;
+  }
+
   /** Redis에 저장되어 있는 JSON 문자열을 안전하게 꺼내고, DTO에 맞는 타입으로 변환하기 위한 헬퍼 메서드 */
   @SuppressWarnings("unchecked")
   private Map<String, Object> parseJson(String json) {
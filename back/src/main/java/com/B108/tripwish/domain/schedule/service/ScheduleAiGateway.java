@@ -5,6 +5,11 @@ import java.util.List;
 import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleResult;
 import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleSpec;
 
+import reactor.core.publisher.Flux;
+
 public interface ScheduleAiGateway {
   List<AiScheduleResult> recommendSchedule(AiScheduleSpec spec);
+
+  /** 하루 단위로 도착하는 대로 흘려보내는 스트리밍 버전 (NDJSON) */
+  Flux<AiScheduleResult> streamSchedule(AiScheduleSpec spec);
 }
@@ -10,6 +10,12 @@ public interface AiSchedulePublisher {
   /** 진행률 업데이트 (필요 없으면 구현에서 no-op 가능) */
   void progress(Long roomId, String jobId, int progress /* 0~100 */);
 
+  /** 진행률 + 중간 결과(로컬 미리보기) — 이후 done 결과로 교체됨 */
+  void progress(Long roomId, String jobId, int progress, AiRecommendBroadcastDto preview);
+
+  /** 스트리밍으로 하루치 결과가 도착할 때마다 (진행률 + 해당 일차만 담은 결과) */
+  void dayReady(Long roomId, String jobId, int day, int progress, AiRecommendBroadcastDto partial);
+
   /** 추천 결과 완료 알림 (프리뷰 렌더용) */
   void done(Long roomId, String jobId, AiRecommendBroadcastDto result);
 
@@ -0,0 +1,22 @@
+package com.B108.tripwish.global.queue;
+
+/** AI 작업 큐 — 요청 스레드는 등록만 하고, 실제 실행은 큐를 구독하는 노드의 워커가 맡는다 */
+public interface AiJobQueue {
+
+  /** 작업 등록 (payload 는 JSON 으로 직렬화되어 저장) */
+  void submit(String queue, String jobId, Object payload);
+
+  /** 이 노드에서 해당 큐를 처리할 핸들러 등록 — 등록 시점부터 워커가 동작 */
+  <T> void register(String queue, Class<T> payloadType, Handler<T> handler);
+
+  interface Handler<T> {
+    /**
+     * 정상 반환하면 ack. 예외를 던지면 ack 하지 않아 가시성 타임아웃 후 재시도되므로, 재시도할 가치가 있는 일시적 실패({@link
+     * RetryableJobException})만 던지고 나머지는 핸들러 안에서 처리(오류 발행 등)한 뒤 반환한다.
+     */
+    void handle(String jobId, T payload) throws Exception;
+
+    /** 최대 시도 횟수를 넘겨 dead-letter 로 옮겨질 때 */
+    default void onDeadLetter(String jobId, T payload, String reason) {}
+  }
+}
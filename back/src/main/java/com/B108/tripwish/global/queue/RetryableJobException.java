@@ -0,0 +1,35 @@
+package com.B108.tripwish.global.queue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * 일시적 실패 — 큐 핸들러가 던지면 ack 하지 않고 가시성 타임아웃 뒤 재시도한다. 최대 시도 횟수를 넘기면 dead-letter 로 옮겨지고
+ * {@link AiJobQueue.Handler#onDeadLetter} 가 정리를 맡는다.
+ */
+public class RetryableJobException extends RuntimeException {
+
+  public RetryableJobException(Throwable cause) {
+    super(cause.getMessage(), cause);
+  }
+
+  /** 타임아웃, 연결 오류, 게이트웨이 계열 5xx 면 true (원인 체인 전체를 본다) */
+  public static boolean isTransient(Throwable e) {
+    for (Throwable t = e; t != null; t = t.getCause() == t ? null : t.getCause()) {
+      if (t instanceof TimeoutException
+          || t instanceof io.netty.handler.timeout.TimeoutException
+          || t instanceof WebClientRequestException
+          || t instanceof IOException) {
+        return true;
+      }
+      if (t instanceof WebClientResponseException r) {
+        int code = r.getStatusCode().value();
+        return code == 502 || code == 503 || code == 504;
+      }
+    }
+    return false;
+  }
+}
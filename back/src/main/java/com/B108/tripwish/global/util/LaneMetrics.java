@@ -0,0 +1,59 @@
+package com.B108.tripwish.global.util;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 실행 레인(워크로드별 스레드 풀/작업 큐) 공통 지표.
+ *
+ * <ul>
+ *   <li>{@code lane.queued} — 대기 중인 작업 수
+ *   <li>{@code lane.active} — 실행 중인 작업 수
+ *   <li>{@code lane.wait} — 제출부터 실행 시작까지 대기 시간
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class LaneMetrics {
+
+  private final MeterRegistry meterRegistry;
+
+  /** 스레드 풀 레인 — 큐 길이/활성 스레드 수 게이지 등록 */
+  public void bind(String lane, ThreadPoolExecutor pool) {
+    gauges(lane, () -> pool.getQueue().size(), pool::getActiveCount);
+  }
+
+  public void gauges(String lane, Supplier<Number> queued, Supplier<Number> active) {
+    Gauge.builder("lane.queued", queued).tag("lane", lane).register(meterRegistry);
+    Gauge.builder("lane.active", active).tag("lane", lane).register(meterRegistry);
+  }
+
+  /** 제출 시각을 잡아 두었다가 실행 직전에 대기 시간을 기록 */
+  public TaskDecorator waitTimer(String lane) {
+    Timer timer = waitTimerOf(lane);
+    return task -> {
+      long submitted = System.nanoTime();
+      return () -> {
+        timer.record(Duration.ofNanos(System.nanoTime() - submitted));
+        task.run();
+      };
+    };
+  }
+
+  public void recordWait(String lane, Duration waited) {
+    waitTimerOf(lane).record(waited.isNegative() ? Duration.ZERO : waited);
+  }
+
+  private Timer waitTimerOf(String lane) {
+    return Timer.builder("lane.wait").tag("lane", lane).register(meterRegistry);
+  }
+}
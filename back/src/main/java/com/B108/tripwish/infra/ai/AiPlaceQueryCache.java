@@ -0,0 +1,140 @@
+package com.B108.tripwish.infra.ai;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AI 장소 추천 결과 캐시 — (regionId, 정규화 검색어) → AI 가 돌려준 placeId 순서 목록.
+ *
+ * <p>검색어는 NFKC 정규화(분해된 자모 → 완성형, 호환 자모·전각 문자 통일) 후 소문자화하고 공백을 모두 제거한다. 지역별 검색 빈도를 함께
+ * 기록해 인기 검색어 미리 채우기에 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiPlaceQueryCache {
+
+  private static final String KEY_PREFIX = "ai:place:q:";
+  private static final String POPULAR_REGIONS = "ai:place:popular:regions";
+  private static final String PREFETCH_LEASE = "ai:place:prefetch:lease";
+  private static final Duration POPULAR_TTL = Duration.ofDays(7);
+  private static final int MAX_QUERY_LENGTH = 100;
+
+  private final StringRedisTemplate redis;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${ai.place-cache.enabled:true}")
+  private boolean enabled;
+
+  @Value("${ai.place-cache.ttl:12h}")
+  private Duration ttl;
+
+  public static String normalize(String query) {
+    if (query == null) return "";
+    String s = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    return s.replaceAll("\\s+", "");
+  }
+
+  public Optional<List<Long>> get(Long regionId, String query) {
+    if (!enabled) return Optional.empty();
+    try {
+      String raw = redis.opsForValue().get(key(regionId, query));
+      if (raw != null) {
+        count("hit");
+        return Optional.of(objectMapper.readValue(raw, new TypeReference<List<Long>>() {}));
+      }
+    } catch (Exception e) {
+      log.warn("[ai-place-cache] get failed region={}: {}", regionId, e.getMessage());
+    }
+    count("miss");
+    return Optional.empty();
+  }
+
+  public void put(Long regionId, String query, List<Long> ids) {
+    if (!enabled || ids == null || ids.isEmpty()) return;
+    try {
+      redis.opsForValue().set(key(regionId, query), objectMapper.writeValueAsString(ids), ttl);
+    } catch (Exception e) {
+      log.warn("[ai-place-cache] put failed region={}: {}", regionId, e.getMessage());
+    }
+  }
+
+  /** 남은 TTL 이 기준보다 짧거나 없으면 true (미리 채우기 대상) */
+  public boolean expiresWithin(Long regionId, String query, Duration window) {
+    Long left = redis.getExpire(key(regionId, query));
+    return left == null || left < 0 || left < window.toSeconds();
+  }
+
+  /** 검색 빈도 기록 — 정규화 키로 집계하고, 재요청에 쓸 원문은 마지막 것을 보관 */
+  public void recordQuery(Long regionId, String query) {
+    String norm = normalize(query);
+    if (!enabled || norm.isEmpty() || norm.length() > MAX_QUERY_LENGTH) return;
+    try {
+      redis.opsForZSet().incrementScore(popularKey(regionId), norm, 1);
+      redis.opsForHash().put(popularKey(regionId) + ":text", norm, query.trim());
+      redis.opsForZSet().incrementScore(POPULAR_REGIONS, regionId.toString(), 1);
+      redis.expire(popularKey(regionId), POPULAR_TTL);
+      redis.expire(popularKey(regionId) + ":text", POPULAR_TTL);
+      redis.expire(POPULAR_REGIONS, POPULAR_TTL);
+    } catch (Exception e) {
+      log.warn("[ai-place-cache] record failed region={}: {}", regionId, e.getMessage());
+    }
+  }
+
+  public List<Long> popularRegions(int limit) {
+    Set<String> ids = redis.opsForZSet().reverseRange(POPULAR_REGIONS, 0, limit - 1L);
+    return ids == null ? List.of() : ids.stream().map(Long::valueOf).toList();
+  }
+
+  /** 지역의 인기 검색어 원문 (빈도 순) */
+  public List<String> popularQueries(Long regionId, int limit) {
+    Set<String> norms = redis.opsForZSet().reverseRange(popularKey(regionId), 0, limit - 1L);
+    if (norms == null || norms.isEmpty()) return List.of();
+    List<Object> texts =
+        redis.opsForHash().multiGet(popularKey(regionId) + ":text", new ArrayList<Object>(norms));
+    return texts.stream().filter(Objects::nonNull).map(Object::toString).toList();
+  }
+
+  /**
+   * 인기 검색어 미리 채우기 실행권 — 노드 여러 대 중 lease 동안 한 노드만 true (SET NX PX). 실행이 끝나도 풀지 않아 주기당 한 번만 돈다.
+   */
+  public boolean tryAcquirePrefetchLease(String owner, Duration lease) {
+    try {
+      return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(PREFETCH_LEASE, owner, lease));
+    } catch (Exception e) {
+      log.warn("[AI place cache] prefetch lease failed: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  private String key(Long regionId, String query) {
+    return KEY_PREFIX + regionId + ":" + normalize(query);
+  }
+
+  private static String popularKey(Long regionId) {
+    return "ai:place:popular:" + regionId;
+  }
+
+  private void count(String result) {
+    Counter.builder("ai.place.cache").tag("result", result).register(meterRegistry).increment();
+  }
+}
@@ -0,0 +1,240 @@
+package com.B108.tripwish.infra.ai;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongUnaryOperator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.domain.route.dto.ai.AiRouteResult;
+import com.B108.tripwish.domain.route.dto.ai.AiRouteSpec;
+import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleResult;
+import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleSpec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AI 추천 결과 캐시 — 스펙 내용(정렬된 장소의 카테고리/좌표 + 일수)의 해시를 키로 사용.
+ *
+ * <p>wantId 는 방마다 다르므로 키에서 빼고, 결과의 id 는 정규 순서상의 인덱스로 바꿔 저장한다. 조회 시 요청 스펙의 wantId 로 되돌리므로 같은
+ * 지역을 계획하는 다른 방도 결과를 공유한다. 항목 크기 상한과 전체 개수 상한(오래된 것부터 삭제)을 둔다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiResultCache {
+
+  private static final String KEY_PREFIX = "ai:result:";
+  private static final String INDEX_KEY = "ai:result:index";
+
+  private final StringRedisTemplate redis;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${ai.result-cache.enabled:true}")
+  private boolean enabled;
+
+  @Value("${ai.result-cache.ttl:6h}")
+  private Duration ttl;
+
+  @Value("${ai.result-cache.max-entries:5000}")
+  private long maxEntries;
+
+  @Value("${ai.result-cache.max-entry-bytes:65536}")
+  private int maxEntryBytes;
+
+  public Optional<AiRouteResult> getRoute(AiRouteSpec spec) {
+    Canonical c = canonical("route", spec.getDays(), routePlaces(spec));
+    return get(c, new TypeReference<AiRouteResult>() {}).map(r -> remapRoute(r, c::toId));
+  }
+
+  public void putRoute(AiRouteSpec spec, AiRouteResult result) {
+    if (result == null || result.getRoute() == null || result.getRoute().isEmpty()) return;
+    Canonical c = canonical("route", spec.getDays(), routePlaces(spec));
+    List<Long> ids = result.getRoute().stream().map(AiRouteResult.RouteInfo::getId).toList();
+    if (!c.coversAll(ids)) return;
+    put(c, remapRoute(result, c::toIndex));
+  }
+
+  public Optional<List<AiScheduleResult>> getSchedule(AiScheduleSpec spec) {
+    Canonical c = canonical("schedule", spec.getDays(), schedulePlaces(spec));
+    return get(c, new TypeReference<List<AiScheduleResult>>() {})
+        .map(days -> days.stream().map(d -> remapScheduleDay(d, c::toId)).toList());
+  }
+
+  public void putSchedule(AiScheduleSpec spec, List<AiScheduleResult> result) {
+    if (result == null || result.isEmpty()) return;
+    Canonical c = canonical("schedule", spec.getDays(), schedulePlaces(spec));
+    List<Long> ids =
+        result.stream()
+            .flatMap(d -> Optional.ofNullable(d.getRoute()).orElseGet(List::of).stream())
+            .map(AiScheduleResult.RouteInfo::getId)
+            .toList();
+    if (!c.coversAll(ids)) return;
+    put(c, result.stream().map(d -> remapScheduleDay(d, c::toIndex)).toList());
+  }
+
+  // ───────────────────────── 저장소 ─────────────────────────
+
+  private <T> Optional<T> get(Canonical c, TypeReference<T> type) {
+    if (!enabled) return Optional.empty();
+    try {
+      String raw = redis.opsForValue().get(KEY_PREFIX + c.hash());
+      if (raw != null) {
+        count(c.kind(), "hit");
+        return Optional.of(objectMapper.readValue(raw, type));
+      }
+    } catch (Exception e) {
+      log.warn("[ai-cache] get failed key={}: {}", c.hash(), e.getMessage());
+    }
+    count(c.kind(), "miss");
+    return Optional.empty();
+  }
+
+  private void put(Canonical c, Object value) {
+    if (!enabled) return;
+    try {
+      String json = objectMapper.writeValueAsString(value);
+      if (json.length() > maxEntryBytes) {
+        count(c.kind(), "too_large");
+        return;
+      }
+      String key = KEY_PREFIX + c.hash();
+      redis.opsForValue().set(key, json, ttl);
+      redis.opsForZSet().add(INDEX_KEY, key, System.currentTimeMillis());
+      trim();
+    } catch (Exception e) {
+      log.warn("[ai-cache] put failed key={}: {}", c.hash(), e.getMessage());
+    }
+  }
+
+  /** 개수 상한 초과분은 오래된 항목부터 삭제 (TTL 로 이미 사라진 키도 함께 정리) */
+  private void trim() {
+    Long size = redis.opsForZSet().zCard(INDEX_KEY);
+    if (size == null || size <= maxEntries) return;
+    Set<String> oldest = redis.opsForZSet().range(INDEX_KEY, 0, size - maxEntries - 1);
+    if (oldest == null || oldest.isEmpty()) return;
+    redis.delete(oldest);
+    redis.opsForZSet().remove(INDEX_KEY, oldest.toArray());
+  }
+
+  private void count(String kind, String result) {
+    Counter.builder("ai.result.cache")
+        .tag("kind", kind)
+        .tag("result", result)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  // ───────────────────────── 정규화 ─────────────────────────
+
+  private static List<Place> routePlaces(AiRouteSpec spec) {
+    return spec.getPlaceList().stream()
+        .map(p -> new Place(p.getId(), p.getCategoryId(), p.getLat(), p.getLng()))
+        .toList();
+  }
+
+  private static List<Place> schedulePlaces(AiScheduleSpec spec) {
+    return spec.getPlaceList().stream()
+        .map(p -> new Place(p.getId(), p.getCategoryId(), p.getLat(), p.getLng()))
+        .toList();
+  }
+
+  /** 장소를 (카테고리, 위도, 경도) 순으로 정렬하고 그 순서의 문자열을 SHA-256 으로 해시 */
+  static Canonical canonical(String kind, int days, List<Place> places) {
+    List<Place> sorted = new ArrayList<>(places);
+    sorted.sort(Comparator.comparing(Place::content).thenComparing(Place::id));
+
+    StringBuilder sb = new StringBuilder(kind).append("|days=").append(days);
+    long[] ids = new long[sorted.size()];
+    Map<Long, Integer> index = new HashMap<>();
+    for (int i = 0; i < sorted.size(); i++) {
+      Place p = sorted.get(i);
+      sb.append('|').append(p.content());
+      ids[i] = p.id();
+      index.put(p.id(), i);
+    }
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256")
+              .digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+      return new Canonical(kind, kind + ":" + HexFormat.of().formatHex(digest), ids, index);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static AiRouteResult remapRoute(AiRouteResult r, LongUnaryOperator map) {
+    List<AiRouteResult.RouteInfo> route =
+        r.getRoute().stream()
+            .map(
+                i ->
+                    AiRouteResult.RouteInfo.builder()
+                        .id(i.getId() == null ? null : map.applyAsLong(i.getId()))
+                        .transport(i.getTransport())
+                        .eventOrder(i.getEventOrder())
+                        .nextTravelTime(i.getNextTravelTime())
+                        .build())
+            .toList();
+    return AiRouteResult.builder().day(r.getDay()).route(route).build();
+  }
+
+  private static AiScheduleResult remapScheduleDay(AiScheduleResult d, LongUnaryOperator map) {
+    List<AiScheduleResult.RouteInfo> route =
+        Optional.ofNullable(d.getRoute()).orElseGet(List::of).stream()
+            .map(
+                i ->
+                    AiScheduleResult.RouteInfo.builder()
+                        .id(i.getId() == null ? null : map.applyAsLong(i.getId()))
+                        .transport(i.getTransport())
+                        .eventOrder(i.getEventOrder())
+                        .nextTravelTime(i.getNextTravelTime())
+                        .build())
+            .toList();
+    return AiScheduleResult.builder().day(d.getDay()).route(route).build();
+  }
+
+  record Place(Long id, Long categoryId, Double lat, Double lng) {
+    /** 좌표는 1e-5도(약 1m) 단위로 반올림 */
+    String content() {
+      return categoryId + "," + round(lat) + "," + round(lng);
+    }
+
+    private static String round(Double deg) {
+      return deg == null ? "null" : Long.toString(Math.round(deg * 100_000));
+    }
+  }
+
+  /** 정규 순서 인덱스 ↔ 요청 wantId 매핑 */
+  record Canonical(String kind, String hash, long[] ids, Map<Long, Integer> index) {
+    long toIndex(long wantId) {
+      return index.get(wantId);
+    }
+
+    long toId(long canonicalIndex) {
+      return ids[(int) canonicalIndex];
+    }
+
+    boolean coversAll(List<Long> wantIds) {
+      return wantIds.stream().allMatch(id -> id != null && index.containsKey(id))
+          && wantIds.stream().filter(Objects::nonNull).distinct().count() == wantIds.size();
+    }
+  }
+}
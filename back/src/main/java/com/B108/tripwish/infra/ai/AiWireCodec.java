@@ -0,0 +1,75 @@
+package com.B108.tripwish.infra.ai;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * AI 서버와 주고받는 본문 인코딩.
+ *
+ * <p>{@code ai.wire.compact=true} 이면 요청은 CBOR + gzip 으로 보내고, 응답은 CBOR 를 먼저 요청한다(Accept). gzip 응답은
+ * WebClient 의 HttpClient 가 풀고, CBOR 응답은 {@link #decoder()} 가 읽는다. AI 서버가 모르는 형식이면 JSON 으로 답하므로
+ * 그대로 동작한다. NDJSON 스트림과 장소 추천(원문 문자열 파싱)은 응답만 JSON 을 유지한다.
+ */
+@Component
+public class AiWireCodec {
+
+  private static final MediaType[] COMPACT_ACCEPT = {
+    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON
+  };
+
+  private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+
+  @Value("${ai.wire.compact:false}")
+  private boolean compact;
+
+  public boolean isCompact() {
+    return compact;
+  }
+
+  public Jackson2CborDecoder decoder() {
+    return new Jackson2CborDecoder(cbor);
+  }
+
+  /**
+   * 요청 본문 설정.
+   *
+   * @param accept 응답 형식을 고정할 때 지정 (비우면 압축 모드에서 CBOR → JSON 순으로 요청)
+   */
+  public WebClient.RequestHeadersSpec<?> body(
+      WebClient.RequestBodySpec request, Object body, MediaType... accept) {
+    if (!compact) {
+      if (accept.length > 0) request.accept(accept);
+      return request.bodyValue(body);
+    }
+    return request
+        .contentType(MediaType.APPLICATION_CBOR)
+        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+        .accept(accept.length > 0 ? accept : COMPACT_ACCEPT)
+        .bodyValue(encode(body));
+  }
+
+  /** CBOR 직렬화 후 gzip */
+  public byte[] encode(Object body) {
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+      try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+        cbor.writeValue(gz, body);
+      }
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -4,8 +4,10 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -23,6 +25,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Component
@@ -30,37 +34,71 @@ import lombok.extern.slf4j.Slf4j;
 public class HttpGateway implements RouteAiGateway, ScheduleAiGateway, PlaceAiGateWay {
   private final WebClient aiWebClient;
   private final ObjectMapper objectMapper;
+  private final AiResultCache resultCache;
+  private final AiWireCodec wireCodec;
+
+  private static final Duration AI_TIMEOUT = Duration.ofSeconds(120);
 
   @Override
   public AiRouteResult recommendRoute(AiRouteSpec spec) {
-    return aiWebClient
-        .post()
-        .uri("/recommend/route")
-        .bodyValue(spec)
-        .retrieve()
-        .bodyToMono(AiRouteResult.class)
-        .block(Duration.ofSeconds(120));
+    return recommendRouteAsync(spec).block(AI_TIMEOUT);
+  }
+
+  @Override
+  public Mono<AiRouteResult> recommendRouteAsync(AiRouteSpec spec) {
+    return Mono.defer(
+        () -> {
+          Optional<AiRouteResult> cached = resultCache.getRoute(spec);
+          if (cached.isPresent()) {
+            log.info("[AI cache] route hit places={}", spec.getPlaceList().size());
+            return Mono.just(cached.get());
+          }
+          return wireCodec
+              .body(aiWebClient.post().uri("/recommend/route"), spec)
+              .retrieve()
+              .bodyToMono(AiRouteResult.class)
+              .timeout(AI_TIMEOUT)
+              .doOnNext(result -> resultCache.putRoute(spec, result));
+        });
   }
 
   @Override
   public List<AiScheduleResult> recommendSchedule(AiScheduleSpec spec) {
-    return aiWebClient
-        .post()
-        .uri("/recommend/schedule")
-        .bodyValue(spec)
+    return streamSchedule(spec).collectList().block(AI_TIMEOUT);
+  }
+
+  /**
+   * NDJSON 으로 하루씩 받는다. AI 서버가 JSON 배열로 응답해도 Jackson 디코더가 원소 단위로 내보내므로 동작은 같다. 모든 날이 도착하면 결과
+   * 캐시에 저장.
+   */
+  @Override
+  public Flux<AiScheduleResult> streamSchedule(AiScheduleSpec spec) {
+    Optional<List<AiScheduleResult>> cached = resultCache.getSchedule(spec);
+    if (cached.isPresent()) {
+      log.info(
+          "[AI cache] schedule hit places={} days={}", spec.getPlaceList().size(), spec.getDays());
+      return Flux.fromIterable(cached.get());
+    }
+
+    List<AiScheduleResult> received = new ArrayList<>();
+    return wireCodec
+        .body(
+            aiWebClient.post().uri("/recommend/schedule"),
+            spec,
+            MediaType.APPLICATION_NDJSON,
+            MediaType.APPLICATION_JSON)
         .retrieve()
         .bodyToFlux(AiScheduleResult.class)
-        .collectList()
-        .block(Duration.ofSeconds(120));
+        .timeout(AI_TIMEOUT)
+        .doOnNext(received::add)
+        .doOnComplete(() -> resultCache.putSchedule(spec, received));
   }
 
   @Override
   public AiPlaceResult recommendPlace(AiPlaceSpec spec) {
     String raw =
-        aiWebClient
-            .post()
-            .uri("/recommend/places")
-            .bodyValue(spec)
+        wireCodec
+            .body(aiWebClient.post().uri("/recommend/places"), spec, MediaType.APPLICATION_JSON)
             .retrieve()
             .bodyToMono(String.class)
             .block(Duration.ofSeconds(120));
@@ -0,0 +1,130 @@
+package com.B108.tripwish.infra.google;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Directions API 응답에서 status와 routes[0].legs[0]의 distance/duration 값만 스트리밍으로 읽는다.
+ *
+ * <p>트리(JsonNode)나 문자열을 만들지 않고, steps/polyline 등 나머지 필드는 skipChildren으로 건너뛴다.
+ */
+public final class DirectionsLegParser {
+
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private DirectionsLegParser() {}
+
+  public static LegSummary parse(byte[] body) throws IOException {
+    try (JsonParser p = FACTORY.createParser(body)) {
+      return parse(p);
+    }
+  }
+
+  public static LegSummary parse(InputStream body) throws IOException {
+    try (JsonParser p = FACTORY.createParser(body)) {
+      return parse(p);
+    }
+  }
+
+  private static LegSummary parse(JsonParser p) throws IOException {
+    if (p.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("Directions response is not a JSON object");
+    }
+
+    String status = null;
+    long[] leg = null;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      JsonToken value = p.nextToken();
+      if ("status".equals(field)) {
+        status = p.getText();
+      } else if ("routes".equals(field) && value == JsonToken.START_ARRAY) {
+        leg = firstElement(p, DirectionsLegParser::firstLegOfRoute);
+      } else {
+        p.skipChildren();
+      }
+    }
+
+    boolean found = leg != null;
+    return new LegSummary(status, found, found ? leg[0] : 0, found ? leg[1] : 0);
+  }
+
+  /** route 객체 → legs[0] 의 {distance, duration} */
+  private static long[] firstLegOfRoute(JsonParser p) throws IOException {
+    long[] leg = null;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      JsonToken value = p.nextToken();
+      if ("legs".equals(field) && value == JsonToken.START_ARRAY) {
+        leg = firstElement(p, DirectionsLegParser::distanceAndDuration);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return leg;
+  }
+
+  /** leg 객체 → {distance.value, duration.value} */
+  private static long[] distanceAndDuration(JsonParser p) throws IOException {
+    long dist = 0, dur = 0;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      p.nextToken();
+      if ("distance".equals(field)) {
+        dist = valueOf(p);
+      } else if ("duration".equals(field)) {
+        dur = valueOf(p);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return new long[] {dist, dur};
+  }
+
+  /** {"text": ..., "value": n} → n */
+  private static long valueOf(JsonParser p) throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      p.skipChildren();
+      return 0;
+    }
+    long v = 0;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      p.nextToken();
+      if ("value".equals(field) && p.currentToken().isScalarValue()) {
+        v = p.getValueAsLong(0);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return v;
+  }
+
+  /** 현재 배열의 첫 객체만 reader로 읽고 나머지 원소는 건너뛴다 (배열 끝에서 반환) */
+  private static long[] firstElement(JsonParser p, ObjectReader reader) throws IOException {
+    long[] result = null;
+    boolean first = true;
+    JsonToken t;
+    while ((t = p.nextToken()) != JsonToken.END_ARRAY && t != null) {
+      if (first && t == JsonToken.START_OBJECT) {
+        result = reader.read(p);
+      } else {
+        p.skipChildren();
+      }
+      first = false;
+    }
+    return result;
+  }
+
+  @FunctionalInterface
+  private interface ObjectReader {
+    long[] read(JsonParser p) throws IOException;
+  }
+
+  /** found=false면 routes/legs가 비어 있음 */
+  public record LegSummary(String status, boolean found, long distanceMeters, long durationSec) {}
+}
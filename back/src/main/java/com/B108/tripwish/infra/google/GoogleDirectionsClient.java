@@ -145,11 +145,16 @@
 // }
 package com.B108.tripwish.infra.google;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
@@ -157,9 +162,16 @@ import org.springframework.util.Assert;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.B108.tripwish.infra.ratelimit.ApiProvider;
+import com.B108.tripwish.infra.ratelimit.ExternalApiScheduler;
+import com.B108.tripwish.infra.resilience.UpstreamGuard;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Slf4j
@@ -167,7 +179,15 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class GoogleDirectionsClient {
 
+  // Distance Matrix 요청당 한도
+  private static final int MATRIX_MAX_SIDE = 25;
+  private static final int MATRIX_MAX_ELEMENTS = 100;
+  private static final int MATRIX_CONCURRENCY = 4;
+
   private final WebClient.Builder webClientBuilder;
+  private final ExternalApiScheduler scheduler;
+  private final UpstreamGuard guard;
+  private final ObjectMapper om = new ObjectMapper();
   private WebClient webClient;
 
   @Value("${google.api.key}")
@@ -206,6 +226,17 @@ public class GoogleDirectionsClient {
     return directionsJson(origin, destination, waypoints, "transit", departureTime);
   }
 
+  /** 걷기 단일 구간 — 응답 본문을 문자열로 만들지 않고 distance/duration만 스트리밍 파싱 */
+  public Mono<DirectionsLegParser.LegSummary> walkingLeg(String origin, String destination) {
+    return directionsLeg(origin, destination, "walking", null);
+  }
+
+  /** 대중교통 단일 구간 — 응답 본문을 문자열로 만들지 않고 distance/duration만 스트리밍 파싱 */
+  public Mono<DirectionsLegParser.LegSummary> transitLeg(
+      String origin, String destination, Instant departureTime) {
+    return directionsLeg(origin, destination, "transit", departureTime);
+  }
+
   /**
    * Directions API v1(JSON) — walking / transit 전용 - 순서 고정: waypoints에 optimize:true 쓰지 말 것 -
    * transit일 때만 departure_time 사용(now 또는 epoch seconds)
@@ -216,7 +247,61 @@ public class GoogleDirectionsClient {
       String waypoints,
       String mode, // "walking" | "transit"
       Instant departureTime) {
+    return guarded(
+        retrieve(directionsUri(origin, destination, waypoints, mode, departureTime))
+            .bodyToMono(String.class));
+  }
+
+  /** 단일 구간 요약 — 버퍼를 InputStream으로 바로 넘겨 파싱하고, 스트림을 닫을 때 버퍼를 반환한다 */
+  private Mono<DirectionsLegParser.LegSummary> directionsLeg(
+      String origin, String destination, String mode, Instant departureTime) {
+    return guarded(
+        retrieve(directionsUri(origin, destination, null, mode, departureTime))
+            .bodyToMono(DataBuffer.class)
+            .map(
+                buffer -> {
+                  try (InputStream in = buffer.asInputStream(true)) {
+                    return DirectionsLegParser.parse(in);
+                  } catch (IOException e) {
+                    throw new DirectionsApiException(200, "invalid directions response");
+                  }
+                }));
+  }
+
+  /** 호출량 스케줄러(토큰) → 서킷/벌크헤드/타임아웃/헤지 순으로 감싼다 */
+  private <T> Mono<T> guarded(Mono<T> request) {
+    return scheduler.schedule(
+        ApiProvider.GOOGLE_DIRECTIONS,
+        guard.protect(
+            ApiProvider.GOOGLE_DIRECTIONS, request, GoogleDirectionsClient::isUpstreamFailure));
+  }
+
+  /** 서킷 실패로 셀 응답: 5xx, 한도 초과 */
+  private static boolean isUpstreamFailure(Throwable e) {
+    return e instanceof DirectionsApiException d && (d.statusCode >= 500 || d.isQuotaExceeded());
+  }
+
+  private WebClient.ResponseSpec retrieve(String uri) {
+    return withErrorStatus(webClient.get().uri(uri));
+  }
 
+  /** 이미 인코딩된 절대 URI — WebClient 가 다시 인코딩하지 않는다 */
+  private WebClient.ResponseSpec retrieve(URI uri) {
+    return withErrorStatus(webClient.get().uri(uri));
+  }
+
+  private WebClient.ResponseSpec withErrorStatus(WebClient.RequestHeadersSpec<?> request) {
+    return request
+        .retrieve()
+        .onStatus(
+            HttpStatusCode::isError,
+            resp ->
+                resp.bodyToMono(String.class)
+                    .map(body -> new DirectionsApiException(resp.statusCode().value(), body)));
+  }
+
+  private String directionsUri(
+      String origin, String destination, String waypoints, String mode, Instant departureTime) {
     String m = normalizeMode(mode);
 
     String base =
@@ -240,18 +325,97 @@ public class GoogleDirectionsClient {
       // b.queryParam("transit_routing_preference", "fewer_transfers"); // 옵션
     }
 
-    String finalUri = b.build(true).toUriString();
+    return b.build(true).toUriString();
+  }
 
-    return webClient
-        .get()
-        .uri(finalUri)
-        .retrieve()
-        .onStatus(
-            HttpStatusCode::isError,
-            resp ->
-                resp.bodyToMono(String.class)
-                    .map(body -> new DirectionsApiException(resp.statusCode().value(), body)))
-        .bodyToMono(String.class);
+  /**
+   * Distance Matrix API — origins × destinations 전 조합의 거리/소요시간을 조회한다. 요청당 한도(한 변 25개, 원소
+   * 100개)에 맞춰 타일로 나눠 병렬 호출하며, 결과 인덱스는 입력 리스트 기준이다. 경로가 없는 원소는 durationSec = -1.
+   */
+  public Flux<MatrixElement> distanceMatrix(
+      List<LatLng> origins, List<LatLng> destinations, String mode, Instant departureTime) {
+    if (origins.isEmpty() || destinations.isEmpty()) return Flux.empty();
+
+    String m = normalizeMode(mode);
+    int originChunk = Math.min(MATRIX_MAX_SIDE, origins.size());
+    int destChunk = Math.min(MATRIX_MAX_SIDE, Math.max(1, MATRIX_MAX_ELEMENTS / originChunk));
+
+    List<int[]> tiles = new ArrayList<>();
+    for (int o = 0; o < origins.size(); o += originChunk) {
+      for (int d = 0; d < destinations.size(); d += destChunk) {
+        tiles.add(new int[] {o, d});
+      }
+    }
+
+    return Flux.fromIterable(tiles)
+        .flatMap(
+            t -> {
+              List<LatLng> os = origins.subList(t[0], Math.min(t[0] + originChunk, origins.size()));
+              List<LatLng> ds =
+                  destinations.subList(t[1], Math.min(t[1] + destChunk, destinations.size()));
+              return distanceMatrixJson(os, ds, m, departureTime)
+                  .flatMapIterable(json -> parseMatrix(json, t[0], t[1]));
+            },
+            MATRIX_CONCURRENCY);
+  }
+
+  private Mono<String> distanceMatrixJson(
+      List<LatLng> origins, List<LatLng> destinations, String mode, Instant departureTime) {
+    return guarded(
+        retrieve(distanceMatrixUri(origins, destinations, mode, departureTime))
+            .bodyToMono(String.class));
+  }
+
+  /** 좌표 구분자 '|' 는 쿼리에 그대로 쓸 수 없으므로 build() 후 인코딩한다 (%7C) */
+  URI distanceMatrixUri(
+      List<LatLng> origins, List<LatLng> destinations, String mode, Instant departureTime) {
+    UriComponentsBuilder b =
+        UriComponentsBuilder.fromHttpUrl(baseUrl)
+            .path("/distancematrix/json")
+            .queryParam("origins", joinPoints(origins))
+            .queryParam("destinations", joinPoints(destinations))
+            .queryParam("mode", mode)
+            .queryParam("language", language)
+            .queryParam("key", apiKey);
+    if ("transit".equals(mode)) {
+      b.queryParam(
+          "departure_time", departureTime != null ? departureTime.getEpochSecond() : "now");
+    }
+    return b.build().encode().toUri();
+  }
+
+  private List<MatrixElement> parseMatrix(String json, int originOffset, int destOffset) {
+    JsonNode root;
+    try {
+      root = om.readTree(json);
+    } catch (Exception e) {
+      throw new DirectionsApiException(200, "invalid distance matrix response");
+    }
+    String status = root.path("status").asText();
+    if (!"OK".equals(status)) {
+      throw new DirectionsApiException(isQuotaStatus(status) ? 429 : 200, json);
+    }
+
+    List<MatrixElement> out = new ArrayList<>();
+    JsonNode rows = root.path("rows");
+    for (int i = 0; i < rows.size(); i++) {
+      JsonNode elements = rows.get(i).path("elements");
+      for (int j = 0; j < elements.size(); j++) {
+        JsonNode el = elements.get(j);
+        boolean ok = "OK".equals(el.path("status").asText());
+        out.add(
+            new MatrixElement(
+                originOffset + i,
+                destOffset + j,
+                ok ? el.path("distance").path("value").asLong(0) : 0,
+                ok ? el.path("duration").path("value").asLong(-1) : -1));
+      }
+    }
+    return out;
+  }
+
+  private static String joinPoints(List<LatLng> points) {
+    return points.stream().map(LatLng::asString).collect(Collectors.joining("|"));
   }
 
   /** mode 검증/정규화: walking/transit만 허용 */
@@ -284,6 +448,9 @@ public class GoogleDirectionsClient {
     }
   }
 
+  /** Distance Matrix 결과 원소 (origin/destination은 입력 리스트 인덱스) */
+  public record MatrixElement(int origin, int destination, long distanceMeters, long durationSec) {}
+
   public String joinWaypointsFromPoints(List<LatLng> points, boolean asVia) {
     if (points == null || points.size() <= 2) return null;
     return points.subList(1, points.size() - 1).stream()
@@ -299,5 +466,15 @@ public class GoogleDirectionsClient {
       super("Directions API error (" + code + "): " + body);
       this.statusCode = code;
     }
+
+    /** 쿼터/요청 한도 초과 여부 */
+    public boolean isQuotaExceeded() {
+      return statusCode == 429;
+    }
+  }
+
+  /** 응답 본문 status가 한도 초과를 뜻하는지 (Google은 HTTP 200 + status로 내려줌) */
+  public static boolean isQuotaStatus(String status) {
+    return "OVER_QUERY_LIMIT".equals(status) || "OVER_DAILY_LIMIT".equals(status);
   }
 }
@@ -0,0 +1,338 @@
+package com.B108.tripwish.infra.graph;
+
+import java.util.Arrays;
+
+/**
+ * {@link RoadGraph} 위의 ALT(A* + Landmarks + 삼각부등식) 최단경로.
+ *
+ * <p>전처리로 랜드마크 K개에서 정/역방향 Dijkstra 거리를 구해 두고, 질의 시 그 차이를 A* 하한으로 쓴다. 질의 상태(거리/부모 배열)는
+ * 스레드별로 재사용하고 스탬프로 초기화를 대신하므로 질의 비용은 탐색한 정점 수에만 비례한다.
+ */
+public final class AltRouter {
+
+  public enum Metric {
+    /** 보행 가능 간선, 가중치 = 길이(m) */
+    WALK,
+    /** 자동차 통행 가능 간선, 가중치 = 소요(0.1초) */
+    DRIVE
+  }
+
+  static final int INF = Integer.MAX_VALUE;
+
+  private final RoadGraph g;
+  private final Metric metric;
+  private final int[][] fromLandmark; // d(L, v)
+  private final int[][] toLandmark; // d(v, L)
+  private final ThreadLocal<SearchState> state;
+
+  public AltRouter(RoadGraph g, Metric metric, int landmarks) {
+    this.g = g;
+    this.metric = metric;
+    this.state = ThreadLocal.withInitial(() -> new SearchState(g.nodeCount));
+
+    int k = Math.max(0, Math.min(landmarks, g.nodeCount));
+    this.fromLandmark = new int[k][];
+    this.toLandmark = new int[k][];
+    selectLandmarks(k);
+  }
+
+  public Metric metric() {
+    return metric;
+  }
+
+  /** 가중치 (통행 불가면 -1) */
+  int weight(int e) {
+    return switch (metric) {
+      case WALK -> (g.edgeFlags[e] & RoadGraph.FLAG_WALK) != 0 ? g.edgeMeters[e] : -1;
+      case DRIVE -> g.edgeDriveDs[e] > 0 ? g.edgeDriveDs[e] : -1;
+    };
+  }
+
+  /** s → t 최단경로. 도달 불가면 null. */
+  public Path route(int s, int t) {
+    SearchState st = state.get();
+    st.reset();
+    st.relax(s, 0, -1, heuristic(s, t));
+
+    while (!st.heap.isEmpty()) {
+      long top = st.heap.poll();
+      int u = (int) top;
+      if (st.settled(u)) continue;
+      st.settle(u);
+      if (u == t) return st.path(t, g);
+
+      int du = st.dist(u);
+      for (int e = g.firstEdge[u]; e < g.firstEdge[u + 1]; e++) {
+        int w = weight(e);
+        if (w < 0) continue;
+        int v = g.edgeTarget[e];
+        int dv = du + w;
+        if (dv < st.dist(v)) st.relax(v, dv, e, dv + heuristic(v, t));
+      }
+    }
+    return null;
+  }
+
+  /** s → targets 각각의 최단경로 (도달 불가는 null). 모든 목표가 확정되면 탐색을 멈춘다. */
+  public Path[] oneToMany(int s, int[] targets) {
+    Path[] result = new Path[targets.length];
+    SearchState st = state.get();
+    st.reset();
+    st.relax(s, 0, -1, 0);
+
+    int remaining = 0;
+    for (int t : targets) {
+      if (t >= 0 && !st.isTarget(t)) {
+        st.markTarget(t);
+        remaining++;
+      }
+    }
+
+    while (!st.heap.isEmpty() && remaining > 0) {
+      int u = (int) st.heap.poll();
+      if (st.settled(u)) continue;
+      st.settle(u);
+      if (st.isTarget(u)) remaining--;
+
+      int du = st.dist(u);
+      for (int e = g.firstEdge[u]; e < g.firstEdge[u + 1]; e++) {
+        int w = weight(e);
+        if (w < 0) continue;
+        int v = g.edgeTarget[e];
+        int dv = du + w;
+        if (dv < st.dist(v)) st.relax(v, dv, e, dv);
+      }
+    }
+
+    for (int i = 0; i < targets.length; i++) {
+      int t = targets[i];
+      if (t >= 0 && st.settled(t)) result[i] = st.path(t, g);
+    }
+    return result;
+  }
+
+  /** ALT 하한: max_L max(d(L,t) - d(L,v), d(v,L) - d(t,L)) */
+  private int heuristic(int v, int t) {
+    int h = 0;
+    for (int i = 0; i < fromLandmark.length; i++) {
+      int[] from = fromLandmark[i];
+      int[] to = toLandmark[i];
+      if (from[t] != INF && from[v] != INF) h = Math.max(h, from[t] - from[v]);
+      if (to[v] != INF && to[t] != INF) h = Math.max(h, to[v] - to[t]);
+    }
+    return h;
+  }
+
+  /** 가장 먼 정점 선택(farthest-point)으로 랜드마크를 고르고 정/역방향 거리를 계산한다 */
+  private void selectLandmarks(int k) {
+    if (k == 0) return;
+    int[] minDist = new int[g.nodeCount];
+    Arrays.fill(minDist, INF);
+
+    int next = busiestNode();
+    for (int i = 0; i < k; i++) {
+      fromLandmark[i] = dijkstraAll(next, false);
+      toLandmark[i] = dijkstraAll(next, true);
+
+      int far = -1;
+      long farDist = -1;
+      for (int v = 0; v < g.nodeCount; v++) {
+        int d = fromLandmark[i][v];
+        if (d != INF) minDist[v] = Math.min(minDist[v], d);
+        if (minDist[v] != INF && minDist[v] > farDist) {
+          farDist = minDist[v];
+          far = v;
+        }
+      }
+      if (far < 0) break;
+      next = far;
+    }
+  }
+
+  private int busiestNode() {
+    int best = 0;
+    for (int v = 1; v < g.nodeCount; v++) {
+      if (g.firstEdge[v + 1] - g.firstEdge[v] > g.firstEdge[best + 1] - g.firstEdge[best]) {
+        best = v;
+      }
+    }
+    return best;
+  }
+
+  /** 전처리용 전체 Dijkstra (reverse=true면 역방향 그래프에서 v → L 거리) */
+  private int[] dijkstraAll(int source, boolean reverse) {
+    int[] dist = new int[g.nodeCount];
+    Arrays.fill(dist, INF);
+    LongHeap heap = new LongHeap(1024);
+    dist[source] = 0;
+    heap.push(0, source);
+
+    while (!heap.isEmpty()) {
+      long top = heap.peekKey();
+      int u = (int) heap.poll();
+      if (top > dist[u]) continue;
+      int du = dist[u];
+      if (reverse) {
+        for (int r = g.revFirst[u]; r < g.revFirst[u + 1]; r++) {
+          int w = weight(g.revEdge[r]);
+          if (w < 0) continue;
+          int v = g.revSource[r];
+          if (du + w < dist[v]) {
+            dist[v] = du + w;
+            heap.push(dist[v], v);
+          }
+        }
+      } else {
+        for (int e = g.firstEdge[u]; e < g.firstEdge[u + 1]; e++) {
+          int w = weight(e);
+          if (w < 0) continue;
+          int v = g.edgeTarget[e];
+          if (du + w < dist[v]) {
+            dist[v] = du + w;
+            heap.push(dist[v], v);
+          }
+        }
+      }
+    }
+    return dist;
+  }
+
+  /** 경로 결과: 가중치 합과 실제 길이(m) */
+  public record Path(int cost, long meters) {}
+
+  /** 스레드별 질의 상태 — stamp가 다른 칸은 초기값(INF/미확정)으로 본다 */
+  private static final class SearchState {
+    private final int[] dist;
+    private final int[] parentEdge;
+    private final int[] stamp;
+    private final byte[] marks; // bit0: settled, bit1: target
+    private final LongHeap heap = new LongHeap(256);
+    private int current;
+
+    SearchState(int n) {
+      dist = new int[n];
+      parentEdge = new int[n];
+      stamp = new int[n];
+      marks = new byte[n];
+    }
+
+    void reset() {
+      heap.clear();
+      if (++current == 0) { // 스탬프 한 바퀴 → 실제 초기화
+        Arrays.fill(stamp, 0);
+        current = 1;
+      }
+    }
+
+    private void touch(int v) {
+      if (stamp[v] != current) {
+        stamp[v] = current;
+        dist[v] = INF;
+        parentEdge[v] = -1;
+        marks[v] = 0;
+      }
+    }
+
+    int dist(int v) {
+      return stamp[v] == current ? dist[v] : INF;
+    }
+
+    void relax(int v, int d, int viaEdge, int priority) {
+      touch(v);
+      dist[v] = d;
+      parentEdge[v] = viaEdge;
+      heap.push(priority, v);
+    }
+
+    boolean settled(int v) {
+      return stamp[v] == current && (marks[v] & 1) != 0;
+    }
+
+    void settle(int v) {
+      touch(v);
+      marks[v] |= 1;
+    }
+
+    boolean isTarget(int v) {
+      return stamp[v] == current && (marks[v] & 2) != 0;
+    }
+
+    void markTarget(int v) {
+      touch(v);
+      marks[v] |= 2;
+    }
+
+    Path path(int t, RoadGraph g) {
+      long meters = 0;
+      for (int e = parentEdge[t]; e >= 0; ) {
+        meters += g.edgeMeters[e];
+        int from = findSource(g, e);
+        e = parentEdge[from];
+      }
+      return new Path(dist[t], meters);
+    }
+
+    /** 간선 번호 → 출발 정점 (firstEdge 이진 탐색) */
+    private static int findSource(RoadGraph g, int e) {
+      int lo = 0, hi = g.nodeCount - 1;
+      while (lo < hi) {
+        int mid = (lo + hi + 1) >>> 1;
+        if (g.firstEdge[mid] <= e) lo = mid;
+        else hi = mid - 1;
+      }
+      return lo;
+    }
+  }
+
+  /** (key, value) 최소 힙 — key 상위 32비트, value 하위 32비트로 long 하나에 담는다 */
+  static final class LongHeap {
+    private long[] a;
+    private int size;
+
+    LongHeap(int capacity) {
+      a = new long[capacity];
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void clear() {
+      size = 0;
+    }
+
+    void push(long key, int value) {
+      if (size == a.length) a = Arrays.copyOf(a, size * 2);
+      long x = (key << 32) | (value & 0xffffffffL);
+      int i = size++;
+      while (i > 0) {
+        int p = (i - 1) >>> 1;
+        if (a[p] <= x) break;
+        a[i] = a[p];
+        i = p;
+      }
+      a[i] = x;
+    }
+
+    long peekKey() {
+      return a[0] >>> 32;
+    }
+
+    /** 최소 원소의 value를 꺼낸다 */
+    long poll() {
+      long top = a[0];
+      long x = a[--size];
+      int i = 0;
+      while (true) {
+        int c = 2 * i + 1;
+        if (c >= size) break;
+        if (c + 1 < size && a[c + 1] < a[c]) c++;
+        if (x <= a[c]) break;
+        a[i] = a[c];
+        i = c;
+      }
+      if (size > 0) a[i] = x;
+      return top & 0xffffffffL;
+    }
+  }
+}
@@ -0,0 +1,295 @@
+package com.B108.tripwish.infra.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.B108.tripwish.global.util.GeoUtil;
+
+/**
+ * 지역 도로망 그래프 — 정점/간선을 원시 배열(CSR)로 보관한다.
+ *
+ * <p>파일 형식(빅엔디언): magic "TWRG", version(1), 정점 수 n, 간선 수 m, 위도[n]·경도[n](1e-6도 정수), 간선
+ * 시작 인덱스[n+1], 도착 정점[m], 길이(m)[m], 자동차 소요(0.1초, 0이면 통행 불가)[m], 플래그[m](bit0: 보행 가능). 도로망 추출본
+ * (예: OSM)은 배포 전에 {@link RoadGraphCsvImporter} 로 이 형식으로 변환해 둔다. 코드에서 만들 때는 {@link Builder}.
+ */
+public final class RoadGraph {
+
+  public static final int MAGIC = 0x54575247; // "TWRG"
+  public static final int VERSION = 1;
+
+  public static final byte FLAG_WALK = 1;
+  public static final byte FLAG_DRIVE = 2; // 정점 플래그에서만 사용
+
+  // 정점 검색 격자 (0.01도 ≈ 1km)
+  private static final double CELL_DEG = 0.01;
+
+  final int nodeCount;
+  final int[] latE6;
+  final int[] lngE6;
+
+  // 정방향 CSR
+  final int[] firstEdge;
+  final int[] edgeTarget;
+  final int[] edgeMeters;
+  final int[] edgeDriveDs;
+  final byte[] edgeFlags;
+
+  // 역방향 CSR (역간선 → 원래 간선 번호)
+  final int[] revFirst;
+  final int[] revSource;
+  final int[] revEdge;
+
+  // 정점별 가능한 이동수단 (FLAG_WALK | FLAG_DRIVE)
+  final byte[] nodeModes;
+
+  // 격자 색인: 정렬된 셀 키, 셀별 시작 위치, 셀 순서로 정렬된 정점
+  private final int[] cellKeys;
+  private final int[] cellStart;
+  private final int[] cellNodes;
+
+  RoadGraph(
+      int[] latE6,
+      int[] lngE6,
+      int[] firstEdge,
+      int[] edgeTarget,
+      int[] edgeMeters,
+      int[] edgeDriveDs,
+      byte[] edgeFlags) {
+    this.nodeCount = latE6.length;
+    this.latE6 = latE6;
+    this.lngE6 = lngE6;
+    this.firstEdge = firstEdge;
+    this.edgeTarget = edgeTarget;
+    this.edgeMeters = edgeMeters;
+    this.edgeDriveDs = edgeDriveDs;
+    this.edgeFlags = edgeFlags;
+
+    int m = edgeTarget.length;
+    this.revFirst = new int[nodeCount + 1];
+    this.revSource = new int[m];
+    this.revEdge = new int[m];
+    this.nodeModes = new byte[nodeCount];
+    for (int e = 0; e < m; e++) revFirst[edgeTarget[e] + 1]++;
+    for (int v = 0; v < nodeCount; v++) revFirst[v + 1] += revFirst[v];
+    int[] fill = Arrays.copyOf(revFirst, nodeCount);
+    for (int u = 0; u < nodeCount; u++) {
+      for (int e = firstEdge[u]; e < firstEdge[u + 1]; e++) {
+        int v = edgeTarget[e];
+        int slot = fill[v]++;
+        revSource[slot] = u;
+        revEdge[slot] = e;
+        byte modes = 0;
+        if ((edgeFlags[e] & FLAG_WALK) != 0) modes |= FLAG_WALK;
+        if (edgeDriveDs[e] > 0) modes |= FLAG_DRIVE;
+        nodeModes[u] |= modes;
+        nodeModes[v] |= modes;
+      }
+    }
+
+    // 격자 색인: (셀 키 << 32 | 정점) 을 정렬해 셀 단위로 묶는다
+    long[] sorted = new long[nodeCount];
+    for (int v = 0; v < nodeCount; v++) {
+      sorted[v] = ((long) cellKey(lat(v), lng(v)) << 32) | v;
+    }
+    Arrays.sort(sorted);
+    this.cellNodes = new int[nodeCount];
+    int[] keys = new int[nodeCount];
+    int[] starts = new int[nodeCount + 1];
+    int cells = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      cellNodes[i] = (int) sorted[i];
+      int k = (int) (sorted[i] >>> 32);
+      if (cells == 0 || keys[cells - 1] != k) {
+        keys[cells] = k;
+        starts[cells] = i;
+        cells++;
+      }
+    }
+    starts[cells] = nodeCount;
+    this.cellKeys = Arrays.copyOf(keys, cells);
+    this.cellStart = Arrays.copyOf(starts, cells + 1);
+  }
+
+  public int nodeCount() {
+    return nodeCount;
+  }
+
+  public int edgeCount() {
+    return edgeTarget.length;
+  }
+
+  public double lat(int v) {
+    return latE6[v] / 1e6;
+  }
+
+  public double lng(int v) {
+    return lngE6[v] / 1e6;
+  }
+
+  /**
+   * 좌표에서 가장 가까운 정점 (modeFlag 이동수단이 가능한 정점만). 반경 안에 없으면 -1.
+   *
+   * @param maxMeters 허용 반경
+   */
+  public int nearest(double lat, double lng, byte modeFlag, double maxMeters) {
+    int ring = (int) Math.ceil(maxMeters / 1000.0) + 1; // 셀 ≈ 1km (경도 방향은 더 좁음)
+    int cy = (int) Math.floor(lat / CELL_DEG);
+    int cx = (int) Math.floor(lng / CELL_DEG);
+
+    int best = -1;
+    double bestMeters = maxMeters;
+    for (int y = cy - ring; y <= cy + ring; y++) {
+      for (int x = cx - ring; x <= cx + ring; x++) {
+        int c = Arrays.binarySearch(cellKeys, pack(y, x));
+        if (c < 0) continue;
+        for (int i = cellStart[c]; i < cellStart[c + 1]; i++) {
+          int v = cellNodes[i];
+          if ((nodeModes[v] & modeFlag) == 0) continue;
+          double d = GeoUtil.haversineMeters(lat, lng, lat(v), lng(v));
+          if (d <= bestMeters) {
+            bestMeters = d;
+            best = v;
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  private static int cellKey(double lat, double lng) {
+    return pack((int) Math.floor(lat / CELL_DEG), (int) Math.floor(lng / CELL_DEG));
+  }
+
+  /** 위도 셀(-9000..9000) 15비트 + 경도 셀(-18000..18000) 16비트 */
+  private static int pack(int y, int x) {
+    return ((y + 9000) << 16) | (x + 18000);
+  }
+
+  /* ---------- 생성 ---------- */
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** 정점/간선을 순서 없이 추가하고 {@link #build()} 에서 CSR 로 정렬한다 */
+  public static final class Builder {
+    private final List<int[]> nodes = new ArrayList<>(); // {latE6, lngE6}
+    private final List<int[]> edges = new ArrayList<>(); // {from, to, meters, driveDs, flags}
+
+    private Builder() {}
+
+    /** 정점 추가 — 반환값이 정점 번호 */
+    public int addNode(double lat, double lng) {
+      nodes.add(new int[] {(int) Math.round(lat * 1e6), (int) Math.round(lng * 1e6)});
+      return nodes.size() - 1;
+    }
+
+    /**
+     * 단방향 간선 추가.
+     *
+     * @param driveDs 자동차 소요(0.1초), 0이면 자동차 통행 불가
+     * @param walkable 보행 가능 여부
+     */
+    public Builder addEdge(int from, int to, int meters, int driveDs, boolean walkable) {
+      if (from < 0 || from >= nodes.size() || to < 0 || to >= nodes.size()) {
+        throw new IllegalArgumentException("unknown node: " + from + " -> " + to);
+      }
+      edges.add(new int[] {from, to, meters, Math.max(0, driveDs), walkable ? FLAG_WALK : 0});
+      return this;
+    }
+
+    /** 양방향 간선 추가 (같은 속성으로 두 방향) */
+    public Builder addRoad(int a, int b, int meters, int driveDs, boolean walkable) {
+      addEdge(a, b, meters, driveDs, walkable);
+      return addEdge(b, a, meters, driveDs, walkable);
+    }
+
+    public RoadGraph build() {
+      int n = nodes.size();
+      int m = edges.size();
+      int[] lat = new int[n];
+      int[] lng = new int[n];
+      for (int v = 0; v < n; v++) {
+        lat[v] = nodes.get(v)[0];
+        lng[v] = nodes.get(v)[1];
+      }
+
+      int[] first = new int[n + 1];
+      for (int[] e : edges) first[e[0] + 1]++;
+      for (int v = 0; v < n; v++) first[v + 1] += first[v];
+      int[] fill = Arrays.copyOf(first, n);
+      int[] target = new int[m];
+      int[] meters = new int[m];
+      int[] driveDs = new int[m];
+      byte[] flags = new byte[m];
+      for (int[] e : edges) {
+        int slot = fill[e[0]]++;
+        target[slot] = e[1];
+        meters[slot] = e[2];
+        driveDs[slot] = e[3];
+        flags[slot] = (byte) e[4];
+      }
+      return new RoadGraph(lat, lng, first, target, meters, driveDs, flags);
+    }
+  }
+
+  /* ---------- 파일 입출력 ---------- */
+
+  public static RoadGraph read(Path path) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+      if (in.readInt() != MAGIC) throw new IOException("not a road graph file: " + path);
+      int version = in.readInt();
+      if (version != VERSION) throw new IOException("unsupported road graph version " + version);
+
+      int n = in.readInt();
+      int m = in.readInt();
+      int[] lat = readInts(in, n);
+      int[] lng = readInts(in, n);
+      int[] first = readInts(in, n + 1);
+      int[] target = readInts(in, m);
+      int[] meters = readInts(in, m);
+      int[] driveDs = readInts(in, m);
+      byte[] flags = new byte[m];
+      in.readFully(flags);
+
+      if (first[0] != 0 || first[n] != m) throw new IOException("corrupt edge index: " + path);
+      return new RoadGraph(lat, lng, first, target, meters, driveDs, flags);
+    }
+  }
+
+  public void write(Path path) throws IOException {
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(nodeCount);
+      out.writeInt(edgeTarget.length);
+      writeInts(out, latE6);
+      writeInts(out, lngE6);
+      writeInts(out, firstEdge);
+      writeInts(out, edgeTarget);
+      writeInts(out, edgeMeters);
+      writeInts(out, edgeDriveDs);
+      out.write(edgeFlags);
+    }
+  }
+
+  private static int[] readInts(DataInputStream in, int count) throws IOException {
+    int[] a = new int[count];
+    for (int i = 0; i < count; i++) a[i] = in.readInt();
+    return a;
+  }
+
+  private static void writeInts(DataOutputStream out, int[] a) throws IOException {
+    for (int v : a) out.writeInt(v);
+  }
+}
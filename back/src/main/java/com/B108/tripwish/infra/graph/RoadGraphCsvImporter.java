@@ -0,0 +1,94 @@
+package com.B108.tripwish.infra.graph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 도로망 CSV → {@link RoadGraph} 파일(TWRG) 변환 도구. {@code routing.local.graph-path} 에 넣을 파일을 만든다.
+ *
+ * <p>입력은 OSM 추출본 등에서 뽑은 두 CSV 다 (첫 줄 헤더, {@code #} 주석 줄은 무시).
+ *
+ * <ul>
+ *   <li>nodes.csv: {@code id,lat,lng} — id 는 임의의 정수(예: OSM node id)
+ *   <li>edges.csv: {@code from,to,meters,drive_sec,walk,oneway} — drive_sec 이 비었거나 0 이면 자동차 통행 불가,
+ *       walk/oneway 는 0/1. oneway=1 이면 자동차는 from→to 만, 보행은 양방향.
+ * </ul>
+ *
+ * <p>실행 (부트 jar 기준):
+ *
+ * <pre>
+ * java -cp tripwish.jar -Dloader.main=com.B108.tripwish.infra.graph.RoadGraphCsvImporter \
+ *     org.springframework.boot.loader.PropertiesLauncher nodes.csv edges.csv seoul.twrg
+ * </pre>
+ */
+public final class RoadGraphCsvImporter {
+
+  private RoadGraphCsvImporter() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3) {
+      System.err.println("usage: RoadGraphCsvImporter <nodes.csv> <edges.csv> <out.twrg>");
+      System.exit(2);
+    }
+    RoadGraph g = read(Path.of(args[0]), Path.of(args[1]));
+    g.write(Path.of(args[2]));
+    System.out.printf("wrote %s nodes=%d edges=%d%n", args[2], g.nodeCount(), g.edgeCount());
+  }
+
+  public static RoadGraph read(Path nodesCsv, Path edgesCsv) throws IOException {
+    RoadGraph.Builder b = RoadGraph.builder();
+    Map<Long, Integer> index = new HashMap<>();
+
+    try (BufferedReader r = Files.newBufferedReader(nodesCsv, StandardCharsets.UTF_8)) {
+      String line;
+      int no = 0;
+      while ((line = r.readLine()) != null) {
+        if (++no == 1 || skip(line)) continue;
+        String[] c = line.split(",", -1);
+        long id = Long.parseLong(c[0].trim());
+        int v = b.addNode(Double.parseDouble(c[1].trim()), Double.parseDouble(c[2].trim()));
+        if (index.putIfAbsent(id, v) != null) {
+          throw new IOException(nodesCsv + ":" + no + " duplicate node id " + id);
+        }
+      }
+    }
+
+    try (BufferedReader r = Files.newBufferedReader(edgesCsv, StandardCharsets.UTF_8)) {
+      String line;
+      int no = 0;
+      while ((line = r.readLine()) != null) {
+        if (++no == 1 || skip(line)) continue;
+        String[] c = line.split(",", -1);
+        Integer from = index.get(Long.parseLong(c[0].trim()));
+        Integer to = index.get(Long.parseLong(c[1].trim()));
+        if (from == null || to == null) {
+          throw new IOException(edgesCsv + ":" + no + " unknown node in edge: " + line);
+        }
+        int meters = (int) Math.round(Double.parseDouble(c[2].trim()));
+        String driveSec = c[3].trim();
+        int driveDs = driveSec.isEmpty() ? 0 : (int) Math.round(Double.parseDouble(driveSec) * 10);
+        boolean walk = flag(c, 4);
+        boolean oneway = flag(c, 5);
+
+        b.addEdge(from, to, meters, driveDs, walk);
+        int backDriveDs = oneway ? 0 : driveDs;
+        if (walk || backDriveDs > 0) b.addEdge(to, from, meters, backDriveDs, walk);
+      }
+    }
+    return b.build();
+  }
+
+  private static boolean skip(String line) {
+    String t = line.trim();
+    return t.isEmpty() || t.startsWith("#");
+  }
+
+  private static boolean flag(String[] c, int i) {
+    return i < c.length && "1".equals(c[i].trim());
+  }
+}
@@ -1,7 +1,11 @@
 package com.B108.tripwish.infra.kakao;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 import org.apache.http.HttpHeaders;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -9,6 +13,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.B108.tripwish.infra.kakao.dto.KakaoWayPointRequestDto;
+import com.B108.tripwish.infra.ratelimit.ApiProvider;
+import com.B108.tripwish.infra.ratelimit.ExternalApiScheduler;
+import com.B108.tripwish.infra.resilience.UpstreamGuard;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import reactor.core.publisher.Mono;
@@ -17,11 +24,17 @@ import reactor.core.publisher.Mono;
 public class KakaoNaviClient {
 
   private final WebClient webClient;
+  private final ExternalApiScheduler scheduler;
+  private final UpstreamGuard guard;
 
   public KakaoNaviClient(
       WebClient.Builder builder,
+      ExternalApiScheduler scheduler,
+      UpstreamGuard guard,
       @Value("${kakao.navi.base-url}") String baseUrl,
       @Value("${kakao.api.key}") String apiKey) {
+    this.scheduler = scheduler;
+    this.guard = guard;
     this.webClient =
         builder
             .baseUrl(baseUrl) // e.g. https://apis-navi.kakaomobility.com
@@ -32,36 +45,47 @@ public class KakaoNaviClient {
   /** 동기 호출: 다중 경유지 길찾기 */
   public JsonNode getMultiWaypointDirections(KakaoWayPointRequestDto request) {
     try {
-      return webClient
-          .post()
-          .uri("/v1/waypoints/directions")
-          .contentType(MediaType.APPLICATION_JSON)
-          .accept(MediaType.APPLICATION_JSON)
-          .bodyValue(request)
-          .retrieve()
-          .onStatus(
-              HttpStatusCode::isError,
-              resp ->
-                  resp.bodyToMono(String.class)
-                      .flatMap(
-                          body ->
-                              Mono.error(
-                                  new IllegalStateException(
-                                      "Kakao Navi API error: "
-                                          + resp.statusCode()
-                                          + " - "
-                                          + body))))
-          .bodyToMono(JsonNode.class)
-          .block();
+      return getMultiWaypointDirectionsAsync(request).block();
     } catch (WebClientResponseException e) {
       // HTTP 에러 응답을 명확히 남김
-      throw new IllegalStateException(
-          "Kakao Navi API error: " + e.getStatusCode() + " - " + e.getResponseBodyAsString(), e);
+      throw new KakaoNaviApiException(e.getStatusCode().value(), e.getResponseBodyAsString());
     }
   }
 
   /** 비동기 호출: 필요 시 리액티브로 사용 */
   public Mono<JsonNode> getMultiWaypointDirectionsAsync(KakaoWayPointRequestDto request) {
+    return guarded(waypointsDirections(request).bodyToMono(JsonNode.class));
+  }
+
+  /** 비동기 호출(요약): 응답 버퍼를 트리로 만들지 않고 경로 요약/섹션별 거리·시간만 스트리밍 파싱 */
+  public Mono<KakaoRouteParser.RouteSummary> getMultiWaypointSummaryAsync(
+      KakaoWayPointRequestDto request) {
+    return guarded(
+        waypointsDirections(request)
+            .bodyToMono(DataBuffer.class)
+            .map(
+                buffer -> {
+                  try (InputStream in = buffer.asInputStream(true)) {
+                    return KakaoRouteParser.parse(in);
+                  } catch (IOException e) {
+                    throw new KakaoNaviApiException(200, "invalid directions response");
+                  }
+                }));
+  }
+
+  /** 호출량 스케줄러(토큰) → 서킷/벌크헤드/타임아웃 순으로 감싼다 */
+  private <T> Mono<T> guarded(Mono<T> request) {
+    return scheduler.schedule(
+        ApiProvider.KAKAO_NAVI,
+        guard.protect(ApiProvider.KAKAO_NAVI, request, KakaoNaviClient::isUpstreamFailure));
+  }
+
+  /** 서킷 실패로 셀 응답: 5xx, 한도 초과 */
+  private static boolean isUpstreamFailure(Throwable e) {
+    return e instanceof KakaoNaviApiException k && (k.statusCode >= 500 || k.isQuotaExceeded());
+  }
+
+  private WebClient.ResponseSpec waypointsDirections(KakaoWayPointRequestDto request) {
     return webClient
         .post()
         .uri("/v1/waypoints/directions")
@@ -76,8 +100,21 @@ public class KakaoNaviClient {
                     .flatMap(
                         body ->
                             Mono.error(
-                                new IllegalStateException(
-                                    "Kakao Navi API error: " + resp.statusCode() + " - " + body))))
-        .bodyToMono(JsonNode.class);
+                                new KakaoNaviApiException(resp.statusCode().value(), body))));
+  }
+
+  /** API 에러 래핑 (기존 IllegalStateException 처리와 호환) */
+  public static class KakaoNaviApiException extends IllegalStateException {
+    public final int statusCode;
+
+    public KakaoNaviApiException(int code, String body) {
+      super("Kakao Navi API error: " + code + " - " + body);
+      this.statusCode = code;
+    }
+
+    /** 쿼터/요청 한도 초과 여부 */
+    public boolean isQuotaExceeded() {
+      return statusCode == 429;
+    }
   }
 }
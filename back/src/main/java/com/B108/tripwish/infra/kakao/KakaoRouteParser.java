@@ -0,0 +1,166 @@
+package com.B108.tripwish.infra.kakao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * 카카오 다중 경유지 길찾기 응답에서 routes[0]의 요약과 섹션별 distance/duration만 스트리밍으로 읽는다.
+ *
+ * <p>guides/bound 등은 skipChildren으로 건너뛰고, roads는 섹션 값이 없을 때를 대비해 합계만 누적한다.
+ */
+public final class KakaoRouteParser {
+
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private KakaoRouteParser() {}
+
+  public static RouteSummary parse(byte[] body) throws IOException {
+    try (JsonParser p = FACTORY.createParser(body)) {
+      return parse(p);
+    }
+  }
+
+  public static RouteSummary parse(InputStream body) throws IOException {
+    try (JsonParser p = FACTORY.createParser(body)) {
+      return parse(p);
+    }
+  }
+
+  private static RouteSummary parse(JsonParser p) throws IOException {
+    if (p.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("Kakao response is not a JSON object");
+    }
+
+    RouteSummary result = RouteSummary.EMPTY;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      JsonToken value = p.nextToken();
+      if ("routes".equals(field) && value == JsonToken.START_ARRAY) {
+        boolean first = true;
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY && t != null) {
+          if (first && t == JsonToken.START_OBJECT) {
+            result = route(p);
+          } else {
+            p.skipChildren();
+          }
+          first = false;
+        }
+      } else {
+        p.skipChildren();
+      }
+    }
+    return result;
+  }
+
+  private static RouteSummary route(JsonParser p) throws IOException {
+    int resultCode = 0;
+    long[] total = {0, 0};
+    List<Section> sections = new ArrayList<>();
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      JsonToken value = p.nextToken();
+      if ("result_code".equals(field)) {
+        resultCode = p.getValueAsInt(0);
+      } else if ("summary".equals(field) && value == JsonToken.START_OBJECT) {
+        total = distanceAndDuration(p, 0);
+      } else if ("sections".equals(field) && value == JsonToken.START_ARRAY) {
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY && t != null) {
+          if (t == JsonToken.START_OBJECT) {
+            sections.add(section(p));
+          } else {
+            p.skipChildren();
+          }
+        }
+      } else {
+        p.skipChildren();
+      }
+    }
+    return new RouteSummary(true, resultCode, total[0], total[1], sections);
+  }
+
+  /** section.summary → section 루트 필드 → roads 합산 순으로 값을 정한다 */
+  private static Section section(JsonParser p) throws IOException {
+    long[] summary = {-1, -1};
+    long[] own = {-1, -1};
+    long roadsDist = 0, roadsDur = 0;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      JsonToken value = p.nextToken();
+      switch (field) {
+        case "summary" -> {
+          if (value == JsonToken.START_OBJECT) summary = distanceAndDuration(p, -1);
+          else p.skipChildren();
+        }
+        case "distance" -> own[0] = number(p, -1);
+        case "duration" -> own[1] = number(p, -1);
+        case "roads" -> {
+          if (value == JsonToken.START_ARRAY) {
+            JsonToken t;
+            while ((t = p.nextToken()) != JsonToken.END_ARRAY && t != null) {
+              if (t == JsonToken.START_OBJECT) {
+                long[] road = distanceAndDuration(p, 0);
+                roadsDist += road[0];
+                roadsDur += road[1];
+              } else {
+                p.skipChildren();
+              }
+            }
+          } else {
+            p.skipChildren();
+          }
+        }
+        default -> p.skipChildren();
+      }
+    }
+
+    long dist = summary[0] >= 0 ? summary[0] : own[0] >= 0 ? own[0] : roadsDist;
+    long dur = summary[1] >= 0 ? summary[1] : own[1] >= 0 ? own[1] : roadsDur;
+    return new Section(Math.max(0, dist), Math.max(0, dur));
+  }
+
+  /** 현재 객체의 distance/duration 숫자 필드 (없으면 missing) */
+  private static long[] distanceAndDuration(JsonParser p, long missing) throws IOException {
+    long dist = missing, dur = missing;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      p.nextToken();
+      if ("distance".equals(field)) {
+        dist = number(p, missing);
+      } else if ("duration".equals(field)) {
+        dur = number(p, missing);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return new long[] {dist, dur};
+  }
+
+  /** 숫자가 아닌 값(객체/배열)은 건너뛰고 missing */
+  private static long number(JsonParser p, long missing) throws IOException {
+    if (p.currentToken().isStructStart()) {
+      p.skipChildren();
+      return missing;
+    }
+    return p.getValueAsLong(missing);
+  }
+
+  public record Section(long distanceMeters, long durationSec) {}
+
+  /** found=false면 routes가 비어 있음 */
+  public record RouteSummary(
+      boolean found,
+      int resultCode,
+      long totalDistanceMeters,
+      long totalDurationSec,
+      List<Section> sections) {
+    public static final RouteSummary EMPTY = new RouteSummary(false, 0, 0, 0, List.of());
+  }
+}
@@ -0,0 +1,391 @@
+package com.B108.tripwish.infra.queue;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.global.queue.AiJobQueue;
+import com.B108.tripwish.global.util.LaneMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis Streams 기반 AI 작업 큐.
+ *
+ * <ul>
+ *   <li>큐마다 스트림 {@code ai:queue:{queue}} + 소비자 그룹 하나. 노드마다 {@code concurrency} 개 워커가 한 건씩 가져간다.
+ *   <li>처리 중인 항목은 리스 키를 주기적으로 갱신한다. 리스가 끊긴 채 {@code visibilityTimeout} 이상 방치된 pending
+ *       항목(노드 종료, 핸들러가 던진 일시적 실패)은 다른 워커가 XCLAIM 으로 가져가 재시도한다. 핸들러가 정상 반환하면 결과와 무관하게
+ *       ack 한다.
+ *   <li>전달 횟수가 {@code maxAttempts} 를 넘으면 {@code ai:queue:{queue}:dead} 로 옮기고 핸들러에 알린다.
+ *   <li>워커 스레드는 큐별 전용 풀이라 AI 대기가 다른 레인(travel/mail)을 점유하지 않는다. 지표는 {@code lane=ai-{queue}}.
+ * </ul>
+ */
+@Slf4j
+@Component
+public class RedisStreamAiJobQueue implements AiJobQueue {
+
+  private static final String GROUP = "ai-workers";
+  private static final String F_JOB_ID = "jobId";
+  private static final String F_PAYLOAD = "payload";
+  private static final int PENDING_PAGE = 100;
+
+  private final StringRedisTemplate redis;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final LaneMetrics laneMetrics;
+  private final String consumerName;
+  private final ScheduledExecutorService heartbeat;
+  private final Map<String, ExecutorService> workers = new ConcurrentHashMap<>();
+  private final Set<String> leases = ConcurrentHashMap.newKeySet();
+  private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+  private volatile boolean running = true;
+
+  @Value("${ai.queue.concurrency:2}")
+  private int concurrency;
+
+  @Value("${ai.queue.visibility-timeout:60s}")
+  private Duration visibilityTimeout;
+
+  @Value("${ai.queue.max-attempts:3}")
+  private int maxAttempts;
+
+  @Value("${ai.queue.poll-interval:500ms}")
+  private Duration pollInterval;
+
+  public RedisStreamAiJobQueue(
+      StringRedisTemplate redis,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      LaneMetrics laneMetrics) {
+    this.redis = redis;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    this.laneMetrics = laneMetrics;
+    this.consumerName = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    this.heartbeat =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread t = new Thread(r, "ai-queue-lease");
+              t.setDaemon(true);
+              return t;
+            });
+  }
+
+  @Override
+  public void submit(String queue, String jobId, Object payload) {
+    try {
+      String json = objectMapper.writeValueAsString(payload);
+      MapRecord<String, String, String> record =
+          StreamRecords.newRecord()
+              .in(streamKey(queue))
+              .ofMap(Map.of(F_JOB_ID, jobId, F_PAYLOAD, json));
+      RecordId id = redis.opsForStream().add(record);
+      count(queue, "submitted");
+      log.info("[AI-QUEUE] ⏩ submit queue={} jobId={} recordId={}", queue, jobId, id);
+    } catch (Exception e) {
+      throw new IllegalStateException("AI 작업 큐 등록 실패: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public <T> void register(String queue, Class<T> payloadType, Handler<T> handler) {
+    ensureGroup(queue);
+    AtomicInteger busy = inFlight.computeIfAbsent(queue, q -> new AtomicInteger());
+    // AI 레인 지표 — 대기 수는 스트림 전체 기준(모든 노드), 실행 수는 이 노드 기준
+    laneMetrics.gauges(laneOf(queue), () -> waiting(queue), busy::get);
+
+    ExecutorService pool =
+        Executors.newFixedThreadPool(
+            concurrency,
+            r -> {
+              Thread t = new Thread(r, "ai-queue-" + queue);
+              t.setDaemon(true);
+              return t;
+            });
+    if (workers.putIfAbsent(queue, pool) != null) {
+      pool.shutdown();
+      throw new IllegalStateException("이미 등록된 큐: " + queue);
+    }
+    for (int i = 0; i < concurrency; i++) {
+      pool.submit(() -> workLoop(queue, payloadType, handler));
+    }
+    log.info(
+        "[AI-QUEUE] ▶ worker started queue={} consumer={} concurrency={}",
+        queue,
+        consumerName,
+        concurrency);
+  }
+
+  @PostConstruct
+  void startHeartbeat() {
+    long period = Math.max(1, visibilityTimeout.toMillis() / 3);
+    heartbeat.scheduleAtFixedRate(this::renewLeases, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+    heartbeat.shutdownNow();
+    workers.values().forEach(ExecutorService::shutdown);
+  }
+
+  // ───────────────────────── 워커 ─────────────────────────
+
+  private <T> void workLoop(String queue, Class<T> type, Handler<T> handler) {
+    while (running) {
+      try {
+        Delivery next = nextNew(queue);
+        if (next == null) next = claimExpired(queue);
+        if (next == null) {
+          Thread.sleep(pollInterval.toMillis());
+          continue;
+        }
+        process(queue, next, type, handler);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        log.warn("[AI-QUEUE] worker error queue={}: {}", queue, e.getMessage());
+        sleepQuietly();
+      }
+    }
+  }
+
+  private <T> void process(String queue, Delivery d, Class<T> type, Handler<T> handler) {
+    String jobId = d.record().getValue().get(F_JOB_ID);
+    String recordId = d.record().getId().getValue();
+    T payload;
+    try {
+      payload = objectMapper.readValue(d.record().getValue().get(F_PAYLOAD), type);
+    } catch (Exception e) {
+      log.warn("[AI-QUEUE] bad payload queue={} jobId={}: {}", queue, jobId, e.getMessage());
+      deadLetter(queue, d, "bad-payload");
+      return;
+    }
+
+    if (d.deliveries() > maxAttempts) {
+      deadLetter(queue, d, "max-attempts");
+      try {
+        handler.onDeadLetter(jobId, payload, "max-attempts");
+      } catch (Exception e) {
+        log.warn("[AI-QUEUE] dead-letter hook failed jobId={}: {}", jobId, e.getMessage());
+      }
+      return;
+    }
+
+    if (d.deliveries() == 1) {
+      // 스트림 ID 앞부분 = 등록 시각(ms)
+      long enqueuedAt = d.record().getId().getTimestamp();
+      laneMetrics.recordWait(
+          laneOf(queue), Duration.ofMillis(System.currentTimeMillis() - enqueuedAt));
+    }
+
+    String lease = leaseKey(queue, recordId);
+    redis.opsForValue().set(lease, consumerName, visibilityTimeout);
+    leases.add(lease);
+    inFlight.get(queue).incrementAndGet();
+    try {
+      handler.handle(jobId, payload);
+      ack(queue, recordId);
+      count(queue, "done");
+    } catch (Exception e) {
+      // ack 하지 않음 → 가시성 타임아웃 뒤 다른 워커(또는 자신)가 재시도
+      count(queue, "failed");
+      log.warn(
+          "[AI-QUEUE] job failed queue={} jobId={} attempt={}: {}",
+          queue,
+          jobId,
+          d.deliveries(),
+          e.getMessage());
+    } finally {
+      inFlight.get(queue).decrementAndGet();
+      leases.remove(lease);
+      redis.delete(lease);
+    }
+  }
+
+  private Delivery nextNew(String queue) {
+    List<MapRecord<String, Object, Object>> records =
+        redis
+            .opsForStream()
+            .read(
+                Consumer.from(GROUP, consumerName),
+                StreamReadOptions.empty().count(1),
+                StreamOffset.create(streamKey(queue), ReadOffset.lastConsumed()));
+    if (records == null || records.isEmpty()) return null;
+    return new Delivery(toStrings(records.get(0)), 1);
+  }
+
+  /**
+   * 리스 없이 visibilityTimeout 이상 방치된 pending 항목 하나를 가져온다. 리스가 살아 있는 오래 걸리는 작업이 앞에 쌓여 있어도 그 뒤를 볼 수
+   * 있도록 마지막으로 본 ID 부터 페이지 단위로 끝까지 훑는다.
+   */
+  private Delivery claimExpired(String queue) {
+    String after = null;
+    while (true) {
+      Range<String> range =
+          after == null ? Range.unbounded() : Range.rightUnbounded(Range.Bound.inclusive(after));
+      PendingMessages pending =
+          redis.opsForStream().pending(streamKey(queue), GROUP, range, PENDING_PAGE);
+      if (pending == null || pending.isEmpty()) return null;
+
+      for (PendingMessage pm : pending) {
+        if (pm.getIdAsString().equals(after)) continue; // 페이지 시작(이전 페이지 마지막) 중복
+        Delivery d = tryClaim(queue, pm);
+        if (d != null) return d;
+      }
+      if (pending.size() < PENDING_PAGE) return null;
+      after = pending.get(pending.size() - 1).getIdAsString();
+    }
+  }
+
+  private Delivery tryClaim(String queue, PendingMessage pm) {
+    if (pm.getElapsedTimeSinceLastDelivery().compareTo(visibilityTimeout) < 0) return null;
+    if (Boolean.TRUE.equals(redis.hasKey(leaseKey(queue, pm.getIdAsString())))) return null;
+
+    List<MapRecord<String, Object, Object>> claimed =
+        redis
+            .opsForStream()
+            .claim(streamKey(queue), GROUP, consumerName, visibilityTimeout, pm.getId());
+    if (claimed == null || claimed.isEmpty()) return null; // 다른 워커가 먼저 가져감
+    count(queue, "reclaimed");
+    log.info(
+        "[AI-QUEUE] ♻ reclaim queue={} recordId={} from={} deliveries={}",
+        queue,
+        pm.getIdAsString(),
+        pm.getConsumerName(),
+        pm.getTotalDeliveryCount() + 1);
+    return new Delivery(toStrings(claimed.get(0)), pm.getTotalDeliveryCount() + 1);
+  }
+
+  private void deadLetter(String queue, Delivery d, String reason) {
+    Map<String, String> fields = new HashMap<>(d.record().getValue());
+    fields.put("reason", reason);
+    fields.put("deliveries", Long.toString(d.deliveries()));
+    redis
+        .opsForStream()
+        .add(StreamRecords.newRecord().in(streamKey(queue) + ":dead").ofMap(fields));
+    ack(queue, d.record().getId().getValue());
+    count(queue, "dead");
+    log.warn(
+        "[AI-QUEUE] ☠ dead-letter queue={} jobId={} reason={}",
+        queue,
+        fields.get(F_JOB_ID),
+        reason);
+  }
+
+  private void ack(String queue, String recordId) {
+    redis.opsForStream().acknowledge(streamKey(queue), GROUP, recordId);
+    redis.opsForStream().delete(streamKey(queue), recordId);
+  }
+
+  private void renewLeases() {
+    for (String lease : leases) {
+      try {
+        redis.expire(lease, visibilityTimeout);
+      } catch (Exception e) {
+        log.warn("[AI-QUEUE] lease renew failed {}: {}", lease, e.getMessage());
+      }
+    }
+  }
+
+  // ───────────────────────── 유틸 ─────────────────────────
+
+  private void ensureGroup(String queue) {
+    try {
+      redis.opsForStream().createGroup(streamKey(queue), ReadOffset.from("0"), GROUP);
+    } catch (Exception e) {
+      // BUSYGROUP: 다른 노드가 이미 생성
+      log.debug("[AI-QUEUE] group exists queue={}: {}", queue, e.getMessage());
+    }
+  }
+
+  private static MapRecord<String, String, String> toStrings(
+      MapRecord<String, Object, Object> raw) {
+    Map<String, String> fields = new HashMap<>();
+    raw.getValue().forEach((k, v) -> fields.put(k.toString(), v == null ? null : v.toString()));
+    return StreamRecords.newRecord().in(raw.getStream()).withId(raw.getId()).ofMap(fields);
+  }
+
+  /** 아직 어느 워커도 가져가지 않은 항목 수 (ack 시 삭제하므로 길이 - pending) */
+  private double waiting(String queue) {
+    try {
+      Long len = redis.opsForStream().size(streamKey(queue));
+      PendingMessagesSummary pending = redis.opsForStream().pending(streamKey(queue), GROUP);
+      long inProgress = pending == null ? 0 : pending.getTotalPendingMessages();
+      return Math.max(0, (len == null ? 0 : len) - inProgress);
+    } catch (Exception e) {
+      return Double.NaN;
+    }
+  }
+
+  private static String laneOf(String queue) {
+    return "ai-" + queue;
+  }
+
+  private void count(String queue, String result) {
+    Counter.builder("ai.queue.jobs")
+        .tag("queue", queue)
+        .tag("result", result)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private void sleepQuietly() {
+    try {
+      Thread.sleep(pollInterval.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String streamKey(String queue) {
+    return "ai:queue:" + queue;
+  }
+
+  private static String leaseKey(String queue, String recordId) {
+    return "ai:queue:" + queue + ":lease:" + recordId;
+  }
+
+  private static String hostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (Exception e) {
+      return "node";
+    }
+  }
+
+  private record Delivery(MapRecord<String, String, String> record, long deliveries) {}
+}
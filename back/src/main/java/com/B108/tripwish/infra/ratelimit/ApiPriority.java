@@ -0,0 +1,26 @@
+package com.B108.tripwish.infra.ratelimit;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * 외부 API 호출 우선순위. 선언 순서가 곧 우선순위다.
+ *
+ * <p>Reactor Context(키: {@code ApiPriority.class})로 전달하며, 없으면 {@link #INTERACTIVE}로 본다.
+ */
+public enum ApiPriority {
+  /** 사용자가 기다리는 재계산 (일정 변경 → 이동시간) */
+  INTERACTIVE,
+  /** 방 이동 행렬 백그라운드 채우기 */
+  WARMUP,
+  /** AI 일정 요청 spec 보강 */
+  AI_ENRICHMENT;
+
+  public ContextView asContext() {
+    return Context.of(ApiPriority.class, this);
+  }
+
+  public static ApiPriority from(ContextView ctx) {
+    return ctx.getOrDefault(ApiPriority.class, INTERACTIVE);
+  }
+}
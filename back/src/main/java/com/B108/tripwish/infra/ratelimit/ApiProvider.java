@@ -0,0 +1,19 @@
+package com.B108.tripwish.infra.ratelimit;
+
+/** 호출량(쿼터)을 따로 관리하는 외부 지도 API */
+public enum ApiProvider {
+  GOOGLE_DIRECTIONS("google"),
+  KAKAO_NAVI("kakao-navi"),
+  KAKAO_LOCAL("kakao-local");
+
+  /** 메트릭 태그/설정 키에 쓰는 이름 */
+  private final String key;
+
+  ApiProvider(String key) {
+    this.key = key;
+  }
+
+  public String key() {
+    return key;
+  }
+}
@@ -0,0 +1,233 @@
+package com.B108.tripwish.infra.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 외부 지도 API 호출 스케줄러 — 제공자별 토큰 버킷 + 우선순위 대기열.
+ *
+ * <p>토큰이 있으면 바로 통과하고, 없으면 우선순위(INTERACTIVE → WARMUP → AI_ENRICHMENT) 순으로 대기한다. 대기 중 기한을 넘긴
+ * 요청은 호출하지 않고 {@link QueueTimeoutException}으로 버린다. 설정 키: {@code
+ * external-api.{provider}.rate-per-sec / burst}, {@code external-api.deadline.*}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExternalApiScheduler {
+
+  private static final long MIN_WAKEUP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final MeterRegistry meterRegistry;
+  private final Environment env;
+  private final Map<ApiProvider, Lane> lanes = new EnumMap<>(ApiProvider.class);
+
+  @Value("${external-api.scheduler.enabled:true}")
+  private boolean enabled;
+
+  @Value("${external-api.deadline.interactive:10s}")
+  private Duration interactiveDeadline;
+
+  @Value("${external-api.deadline.warmup:2m}")
+  private Duration warmupDeadline;
+
+  @Value("${external-api.deadline.ai-enrichment:30s}")
+  private Duration aiEnrichmentDeadline;
+
+  @PostConstruct
+  void init() {
+    for (ApiProvider provider : ApiProvider.values()) {
+      String prefix = "external-api." + provider.key();
+      double rate = env.getProperty(prefix + ".rate-per-sec", Double.class, 10.0);
+      int burst = env.getProperty(prefix + ".burst", Integer.class, (int) Math.ceil(rate * 2));
+      Lane lane = new Lane(provider, rate, burst);
+      lanes.put(provider, lane);
+
+      for (ApiPriority priority : ApiPriority.values()) {
+        Gauge.builder("external.api.queue.depth", lane, l -> l.depth(priority))
+            .tag("provider", provider.key())
+            .tag("priority", priority.name())
+            .register(meterRegistry);
+      }
+      log.info("[api-scheduler] {} rate={}/s burst={}", provider.key(), rate, burst);
+    }
+  }
+
+  /** 토큰을 받은 뒤 call을 구독한다. 우선순위는 Reactor Context의 {@link ApiPriority}를 따른다. */
+  public <T> Mono<T> schedule(ApiProvider provider, Mono<T> call) {
+    if (!enabled) return call;
+    return Mono.deferContextual(
+        ctx -> {
+          ApiPriority priority = ApiPriority.from(ctx);
+          return lanes.get(provider).acquire(priority, deadline(priority)).then(call);
+        });
+  }
+
+  /** 동기 호출용 — 토큰을 받을 때까지 호출 스레드에서 기다린 뒤 call을 그대로 실행한다 */
+  public <T> T execute(ApiProvider provider, ApiPriority priority, Callable<T> call)
+      throws Exception {
+    if (enabled) {
+      lanes.get(provider).acquire(priority, deadline(priority)).block();
+    }
+    return call.call();
+  }
+
+  private Duration deadline(ApiPriority priority) {
+    return switch (priority) {
+      case INTERACTIVE -> interactiveDeadline;
+      case WARMUP -> warmupDeadline;
+      case AI_ENRICHMENT -> aiEnrichmentDeadline;
+    };
+  }
+
+  private void granted(Ticket t, long now) {
+    Timer.builder("external.api.wait")
+        .tag("provider", t.provider.key())
+        .tag("priority", t.priority.name())
+        .register(meterRegistry)
+        .record(now - t.enqueuedAt, TimeUnit.NANOSECONDS);
+    t.sink.success();
+  }
+
+  private void expired(Ticket t) {
+    Counter.builder("external.api.dropped")
+        .tag("provider", t.provider.key())
+        .tag("priority", t.priority.name())
+        .register(meterRegistry)
+        .increment();
+    log.warn("[api-scheduler] {} {} 대기 기한 초과 - 호출 생략", t.provider.key(), t.priority);
+    t.sink.error(new QueueTimeoutException(t.provider, t.priority));
+  }
+
+  /** 제공자 하나의 토큰 버킷과 우선순위별 대기열 */
+  private final class Lane {
+    private final ApiProvider provider;
+    private final double tokensPerNano;
+    private final double burst;
+    private final Map<ApiPriority, Deque<Ticket>> queues = new EnumMap<>(ApiPriority.class);
+
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+    private boolean wakeupScheduled;
+
+    Lane(ApiProvider provider, double ratePerSec, int burst) {
+      this.provider = provider;
+      this.tokensPerNano = ratePerSec / TimeUnit.SECONDS.toNanos(1);
+      this.burst = Math.max(1, burst);
+      this.tokens = this.burst;
+      for (ApiPriority p : ApiPriority.values()) queues.put(p, new ArrayDeque<>());
+    }
+
+    Mono<Void> acquire(ApiPriority priority, Duration deadline) {
+      return Mono.create(
+          sink -> {
+            long now = System.nanoTime();
+            Ticket t = new Ticket(provider, priority, sink, now, now + deadline.toNanos());
+            sink.onCancel(() -> remove(t));
+            synchronized (this) {
+              queues.get(priority).addLast(t);
+            }
+            drain();
+          });
+    }
+
+    synchronized double depth(ApiPriority priority) {
+      return queues.get(priority).size();
+    }
+
+    private synchronized void remove(Ticket t) {
+      queues.get(t.priority).remove(t);
+    }
+
+    /** 토큰이 허락하는 만큼 높은 우선순위부터 통과시키고, 남은 요청이 있으면 다음 토큰 시점에 다시 깨운다 */
+    private void drain() {
+      List<Ticket> granted = new ArrayList<>();
+      List<Ticket> expired = new ArrayList<>();
+      long wakeupNanos = -1;
+      long now = System.nanoTime();
+
+      synchronized (this) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+
+        Deque<Ticket> q;
+        while ((q = nextQueue()) != null) {
+          if (q.peekFirst().deadline - now < 0) {
+            expired.add(q.pollFirst());
+            continue;
+          }
+          if (tokens < 1) break;
+          tokens -= 1;
+          granted.add(q.pollFirst());
+        }
+
+        if (nextQueue() != null && !wakeupScheduled) {
+          wakeupScheduled = true;
+          wakeupNanos = Math.max(MIN_WAKEUP_NANOS, (long) ((1 - tokens) / tokensPerNano));
+        }
+      }
+
+      if (wakeupNanos >= 0) {
+        Schedulers.parallel()
+            .schedule(
+                () -> {
+                  synchronized (this) {
+                    wakeupScheduled = false;
+                  }
+                  drain();
+                },
+                wakeupNanos,
+                TimeUnit.NANOSECONDS);
+      }
+      granted.forEach(t -> granted(t, now));
+      expired.forEach(ExternalApiScheduler.this::expired);
+    }
+
+    private Deque<Ticket> nextQueue() {
+      for (Deque<Ticket> q : queues.values()) {
+        if (!q.isEmpty()) return q;
+      }
+      return null;
+    }
+  }
+
+  private record Ticket(
+      ApiProvider provider,
+      ApiPriority priority,
+      MonoSink<Void> sink,
+      long enqueuedAt,
+      long deadline) {}
+
+  /** 대기 기한 안에 토큰을 받지 못해 호출하지 않은 요청 */
+  public static class QueueTimeoutException extends IllegalStateException {
+    public final ApiProvider provider;
+    public final ApiPriority priority;
+
+    public QueueTimeoutException(ApiProvider provider, ApiPriority priority) {
+      super("External API queue deadline exceeded: " + provider.key() + " / " + priority);
+      this.provider = provider;
+      this.priority = priority;
+    }
+  }
+}
@@ -0,0 +1,330 @@
+package com.B108.tripwish.infra.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import com.B108.tripwish.infra.ratelimit.ApiProvider;
+import com.B108.tripwish.infra.ratelimit.ExternalApiScheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 외부 API별 서킷 브레이커 + 벌크헤드 + 타임아웃 + (선택) 헤지 요청.
+ *
+ * <ul>
+ *   <li>서킷: 최근 N회 호출 중 실패 비율이 임계치를 넘으면 일정 시간 즉시 실패(OPEN), 이후 한 건만 시험 호출(HALF_OPEN)
+ *   <li>벌크헤드: 제공자별 동시 호출 수 상한 — 한 제공자가 느려져도 다른 제공자 호출은 영향받지 않는다
+ *   <li>헤지: 응답이 최근 p95 지연을 넘기면 같은 요청을 한 번 더 보내 먼저 온 응답을 쓴다. 헤지는 서킷이 CLOSED 일
+ *       때만, 호출량 토큰을 따로 받아 보내며, 원 요청이 실패하면(한도 초과/4xx 포함) 즉시 취소된다
+ * </ul>
+ *
+ * <p>즉시 실패는 {@link UpstreamUnavailableException}으로 알리며, 호출부는 캐시/로컬 추정치로 대체한다. 설정 키: {@code
+ * upstream.{provider}.*}, {@code upstream.circuit.*}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UpstreamGuard {
+
+  private static final int LATENCY_SAMPLES = 128;
+  private static final int MIN_LATENCY_SAMPLES = 20;
+
+  private final MeterRegistry meterRegistry;
+  private final Environment env;
+  private final ExternalApiScheduler scheduler;
+  private final Map<ApiProvider, Upstream> upstreams = new EnumMap<>(ApiProvider.class);
+
+  @Value("${upstream.guard.enabled:true}")
+  private boolean enabled;
+
+  @Value("${upstream.circuit.window:20}")
+  private int window;
+
+  @Value("${upstream.circuit.min-calls:10}")
+  private int minCalls;
+
+  @Value("${upstream.circuit.failure-rate:0.5}")
+  private double failureRate;
+
+  @Value("${upstream.circuit.open-duration:30s}")
+  private Duration openDuration;
+
+  @Value("${upstream.hedge.min-delay:300ms}")
+  private Duration hedgeMinDelay;
+
+  @PostConstruct
+  void init() {
+    for (ApiProvider provider : ApiProvider.values()) {
+      String prefix = "upstream." + provider.key();
+      Upstream u =
+          new Upstream(
+              provider,
+              env.getProperty(prefix + ".timeout", Duration.class, Duration.ofSeconds(5)),
+              env.getProperty(prefix + ".max-concurrent", Integer.class, 16),
+              env.getProperty(prefix + ".hedge-enabled", Boolean.class, false));
+      upstreams.put(provider, u);
+      Gauge.builder("upstream.circuit.state", u, x -> x.state().ordinal())
+          .tag("provider", provider.key())
+          .register(meterRegistry);
+    }
+  }
+
+  /**
+   * call을 보호해서 실행한다.
+   *
+   * @param isFailure 서킷 실패로 셀 오류 (타임아웃/연결 오류는 항상 실패로 센다)
+   */
+  public <T> Mono<T> protect(ApiProvider provider, Mono<T> call, Predicate<Throwable> isFailure) {
+    if (!enabled) return call;
+    Upstream u = upstreams.get(provider);
+    Mono<T> attempt = Mono.defer(() -> u.attempt(call, isFailure));
+    if (!u.hedgeEnabled) return attempt;
+
+    return Mono.defer(
+        () -> {
+          Duration p95 = u.p95();
+          if (p95 == null) return attempt;
+          Duration delay = p95.compareTo(hedgeMinDelay) < 0 ? hedgeMinDelay : p95;
+          // 원 요청이 끝나면(오류 포함) 헤지는 시작 전이든 진행 중이든 취소 — 빠른 실패에 중복 호출 금지
+          Sinks.One<Boolean> primaryDone = Sinks.one();
+          Mono<T> primary = attempt.doFinally(signal -> primaryDone.tryEmitValue(true));
+          Mono<T> hedge =
+              Mono.delay(delay)
+                  .filter(x -> u.state() == State.CLOSED && u.canHedge())
+                  .doOnNext(x -> count("upstream.hedge", provider))
+                  // 헤지도 실제 호출이므로 호출량 토큰을 따로 받는다
+                  .flatMap(x -> scheduler.schedule(provider, attempt))
+                  .takeUntilOther(primaryDone.asMono());
+          return Mono.firstWithValue(primary, hedge)
+              .onErrorResume(
+                  NoSuchElementException.class,
+                  e -> {
+                    // 둘 다 값 없이 끝남: 원래 오류가 있으면 그대로, 없으면(빈 응답) 빈 결과
+                    Throwable cause = firstCause(e);
+                    return cause == null ? Mono.empty() : Mono.error(cause);
+                  });
+        });
+  }
+
+  private static Throwable firstCause(Throwable e) {
+    for (Throwable s : e.getSuppressed()) {
+      for (Throwable t : Exceptions.unwrapMultiple(s)) return t;
+    }
+    if (e.getCause() != null) {
+      for (Throwable t : Exceptions.unwrapMultiple(e.getCause())) return t;
+    }
+    return null;
+  }
+
+  private void count(String name, ApiProvider provider) {
+    Counter.builder(name).tag("provider", provider.key()).register(meterRegistry).increment();
+  }
+
+  enum State {
+    CLOSED,
+    HALF_OPEN,
+    OPEN
+  }
+
+  /** 제공자 하나의 서킷/벌크헤드/지연 통계 */
+  private final class Upstream {
+    private final ApiProvider provider;
+    private final Duration timeout;
+    private final int maxConcurrent;
+    private final boolean hedgeEnabled;
+    private final Semaphore bulkhead;
+    private final Timer latency;
+
+    // 서킷 (this로 동기화)
+    private final boolean[] outcomes = new boolean[Math.max(1, window)];
+    private int recorded;
+    private int cursor;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    // 최근 성공 지연 (this로 동기화)
+    private final long[] samples = new long[LATENCY_SAMPLES];
+    private int sampleCount;
+    private int sampleCursor;
+    private Duration p95;
+
+    Upstream(ApiProvider provider, Duration timeout, int maxConcurrent, boolean hedgeEnabled) {
+      this.provider = provider;
+      this.timeout = timeout;
+      this.maxConcurrent = maxConcurrent;
+      this.hedgeEnabled = hedgeEnabled;
+      this.bulkhead = new Semaphore(maxConcurrent);
+      this.latency =
+          Timer.builder("upstream.latency").tag("provider", provider.key()).register(meterRegistry);
+    }
+
+    <T> Mono<T> attempt(Mono<T> call, Predicate<Throwable> isFailure) {
+      if (!tryPermit()) {
+        count("upstream.rejected", provider);
+        return Mono.error(
+            new UpstreamUnavailableException(
+                provider, UpstreamUnavailableException.Reason.CIRCUIT_OPEN));
+      }
+      if (!bulkhead.tryAcquire()) {
+        releaseTrial();
+        count("upstream.rejected", provider);
+        return Mono.error(
+            new UpstreamUnavailableException(
+                provider, UpstreamUnavailableException.Reason.BULKHEAD_FULL));
+      }
+
+      long start = System.nanoTime();
+      return call.timeout(
+              timeout,
+              Mono.error(
+                  () ->
+                      new UpstreamUnavailableException(
+                          provider, UpstreamUnavailableException.Reason.TIMEOUT)))
+          .doOnSuccess(v -> onSuccess(System.nanoTime() - start))
+          .doOnError(
+              e -> {
+                boolean failure =
+                    e instanceof UpstreamUnavailableException
+                        || e instanceof WebClientRequestException
+                        || isFailure.test(e);
+                if (failure) onFailure(e);
+                else onSuccess(-1);
+              })
+          .doFinally(
+              signal -> {
+                bulkhead.release();
+                if (signal == SignalType.CANCEL) releaseTrial();
+              });
+    }
+
+    State state() {
+      synchronized (this) {
+        if (state == State.OPEN && System.currentTimeMillis() >= openUntil) return State.HALF_OPEN;
+        return state;
+      }
+    }
+
+    /** 헤지 요청은 동시 호출 여유가 절반 이상 남았을 때만 */
+    boolean canHedge() {
+      return bulkhead.availablePermits() * 2 >= maxConcurrent;
+    }
+
+    synchronized Duration p95() {
+      return p95;
+    }
+
+    private synchronized boolean tryPermit() {
+      switch (state) {
+        case CLOSED:
+          return true;
+        case OPEN:
+          if (System.currentTimeMillis() < openUntil) return false;
+          state = State.HALF_OPEN;
+          trialInFlight = false;
+          log.info("[upstream] {} 서킷 HALF_OPEN - 시험 호출 허용", provider.key());
+          // fall through
+        case HALF_OPEN:
+        default:
+          if (trialInFlight) return false;
+          trialInFlight = true;
+          return true;
+      }
+    }
+
+    private synchronized void releaseTrial() {
+      if (state == State.HALF_OPEN) trialInFlight = false;
+    }
+
+    private void onSuccess(long latencyNanos) {
+      if (latencyNanos >= 0) {
+        latency.record(Duration.ofNanos(latencyNanos));
+      }
+      synchronized (this) {
+        if (latencyNanos >= 0) recordLatency(latencyNanos);
+        if (state == State.HALF_OPEN) {
+          log.info("[upstream] {} 서킷 CLOSED", provider.key());
+          state = State.CLOSED;
+          resetWindow();
+          return;
+        }
+        recordOutcome(false);
+      }
+    }
+
+    private void onFailure(Throwable e) {
+      synchronized (this) {
+        if (state == State.HALF_OPEN) {
+          open();
+          return;
+        }
+        recordOutcome(true);
+        if (recorded >= Math.min(minCalls, outcomes.length)
+            && failures >= failureRate * recorded
+            && state == State.CLOSED) {
+          open();
+        }
+      }
+      log.warn("[upstream] {} 호출 실패: {}", provider.key(), e.getMessage());
+    }
+
+    private void open() {
+      state = State.OPEN;
+      openUntil = System.currentTimeMillis() + openDuration.toMillis();
+      trialInFlight = false;
+      resetWindow();
+      count("upstream.circuit.opened", provider);
+      log.warn("[upstream] {} 서킷 OPEN - {} 동안 즉시 실패", provider.key(), openDuration);
+    }
+
+    private void recordOutcome(boolean failed) {
+      if (recorded == outcomes.length) {
+        if (outcomes[cursor]) failures--;
+      } else {
+        recorded++;
+      }
+      outcomes[cursor] = failed;
+      if (failed) failures++;
+      cursor = (cursor + 1) % outcomes.length;
+    }
+
+    private void resetWindow() {
+      Arrays.fill(outcomes, false);
+      recorded = 0;
+      cursor = 0;
+      failures = 0;
+    }
+
+    private void recordLatency(long nanos) {
+      samples[sampleCursor] = nanos;
+      sampleCursor = (sampleCursor + 1) % samples.length;
+      if (sampleCount < samples.length) sampleCount++;
+      if (sampleCount >= MIN_LATENCY_SAMPLES && sampleCursor % 16 == 0) {
+        long[] sorted = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(sorted);
+        p95 = Duration.ofNanos(sorted[(int) Math.ceil(sorted.length * 0.95) - 1]);
+      }
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.B108.tripwish.infra.resilience;
+
+import com.B108.tripwish.infra.ratelimit.ApiProvider;
+
+/** 외부 API를 호출하지 않고(또는 기다리지 않고) 바로 실패 처리한 경우 — 호출부는 캐시/추정치로 대체한다 */
+public class UpstreamUnavailableException extends IllegalStateException {
+
+  public enum Reason {
+    CIRCUIT_OPEN,
+    BULKHEAD_FULL,
+    TIMEOUT
+  }
+
+  public final ApiProvider provider;
+  public final Reason reason;
+
+  public UpstreamUnavailableException(ApiProvider provider, Reason reason) {
+    super("Upstream unavailable: " + provider.key() + " (" + reason + ")");
+    this.provider = provider;
+    this.reason = reason;
+  }
+}
@@ -5,7 +5,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
-import com.B108.tripwish.websocket.subscriber.*;
+import com.B108.tripwish.websocket.subscriber.AiJobCancelSubscriber;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -17,37 +17,11 @@ public class RedisSubscriberConfig {
   @Qualifier("redisMessageListenerContainer")
   private final RedisMessageListenerContainer listenerContainer;
 
-  private final ScheduleRedisSubscriber scheduleRedisSubscriber;
-  private final PlaceWantAddSubscriber placeWantAddSubscriber;
-  private final PlaceWantRemoveSubscriber placeWantRemoveSubscriber;
-  private final VotePlaceSubscriber votePlaceSubscriber;
-  private final TravelTimeStatusSubscriber travelTimeStatusSubscriber;
-  private final TravelTimeResultSubscriber travelTimeResultSubscriber;
-  private final AiScheduleResultSubscriber aiScheduleResultSubscriber;
-  private final AiScheduleStatusSubscriber aiScheduleStatusSubscriber;
-  private final AiRouteStatusSubscriber aiRouteStatusSubscriber;
-  private final AiRouteResultSubscriber aiRouteResultSubscriber;
+  private final AiJobCancelSubscriber aiJobCancelSubscriber;
 
   @PostConstruct
   public void init() {
-    // RedisChannelType 기반으로 구독
-    listenerContainer.addMessageListener(scheduleRedisSubscriber, new PatternTopic("schedule"));
-    listenerContainer.addMessageListener(
-        placeWantAddSubscriber, new PatternTopic("place-want:add"));
-    listenerContainer.addMessageListener(
-        placeWantRemoveSubscriber, new PatternTopic("place-want:remove"));
-    listenerContainer.addMessageListener(votePlaceSubscriber, new PatternTopic("place:vote"));
-    listenerContainer.addMessageListener(
-        travelTimeStatusSubscriber, new PatternTopic("travel:status"));
-    listenerContainer.addMessageListener(
-        travelTimeResultSubscriber, new PatternTopic("travel:result"));
-    listenerContainer.addMessageListener(
-        aiScheduleStatusSubscriber, new PatternTopic("ai-schedule:status"));
-    listenerContainer.addMessageListener(
-        aiScheduleResultSubscriber, new PatternTopic("ai-schedule:result"));
-    listenerContainer.addMessageListener(
-        aiRouteResultSubscriber, new PatternTopic("ai-route:result"));
-    listenerContainer.addMessageListener(
-        aiRouteStatusSubscriber, new PatternTopic("ai-route:status"));
+    // 노드 전체 채널만 여기서 구독 — 방 채널은 RoomChannelSubscriptions 가 로컬 세션 기준으로 관리
+    listenerContainer.addMessageListener(aiJobCancelSubscriber, new PatternTopic("ai-job:cancel"));
   }
 }
@@ -0,0 +1,23 @@
+package com.B108.tripwish.websocket.dto.response;
+
+import com.B108.tripwish.domain.route.dto.response.LegResponseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** Redis "travel:leg" 채널 본문 — 계산 중 확정된 구간 하나 */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelTimeLegMessage {
+  private Long roomId;
+  private Integer day;
+  private String jobId; // 계산 작업 식별자 (작업이 바뀌면 이전 구간은 버림)
+  private long seq; // 작업 내 전송 순번 (클라이언트 병합용)
+  private int legIndex; // 0부터
+  private int legCount;
+  private LegResponseDto leg;
+}
@@ -0,0 +1,17 @@
+package com.B108.tripwish.websocket.dto.response;
+
+import lombok.*;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelTimeLegMessageResponseDto {
+  private Long roomId;
+  private Integer day;
+  private String jobId;
+  private long seq;
+  private int legIndex;
+  private int legCount;
+  private LegResponseDto leg; // ✅ 분 단위
+}
@@ -15,4 +15,5 @@ public class TravelTimeResultMessageResponseDto {
   private long totalDistanceMeters;
   private long totalDurationMinutes; // ✅ 분 단위
   private List<LegResponseDto> legs;
+  private boolean provisional; // 로컬 추정치 여부
 }
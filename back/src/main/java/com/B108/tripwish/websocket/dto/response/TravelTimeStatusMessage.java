@@ -9,9 +9,11 @@ import lombok.Getter;
 @Builder
 public class TravelTimeStatusMessage {
   public enum Status {
+    QUEUED,
     STARTED,
     ALREADY_RUNNING,
     DONE,
+    PROVISIONAL, // 시간 초과/쿼터 소진 — 로컬 추정치만 전송, 스케줄에는 저장하지 않음
     FAILED
   }
 
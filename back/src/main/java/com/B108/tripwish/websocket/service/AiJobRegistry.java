@@ -0,0 +1,148 @@
+package com.B108.tripwish.websocket.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 진행 중인 AI 작업 핸들 — 방/일차별 활성 작업 기록과 노드 간 취소 전파.
+ *
+ * <p>활성 작업은 {@code ai:{type}:room:{roomId}:active} 해시(필드 = 일차, 일정은 0)에 둔다. 취소는 {@code
+ * ai:job:{jobId}:cancelled} 키(큐 대기 중 취소 대비) + {@code ai-job:cancel} 채널로 알리고, 작업을 실행 중인 노드가 핸들의 취소
+ * 신호로 Reactor 구독(WebClient 요청)을 끊는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiJobRegistry {
+
+  private static final Duration CANCEL_TTL = Duration.ofMinutes(10);
+
+  /** 필드 값이 기대한 jobId 일 때만 삭제 */
+  private static final DefaultRedisScript<Long> COMPARE_AND_DELETE =
+      new DefaultRedisScript<>(
+          "if redis.call('HGET', KEYS[1], ARGV[1]) == ARGV[2] then "
+              + "return redis.call('HDEL', KEYS[1], ARGV[1]) else return 0 end",
+          Long.class);
+
+  private final StringRedisTemplate redis;
+  private final RedisPublisher redisPublisher;
+  private final Map<String, Handle> local = new ConcurrentHashMap<>();
+
+  private String activeKey(AiTaskType t, Long roomId) {
+    return "ai:" + t.getCode() + ":room:" + roomId + ":active";
+  }
+
+  private String cancelKey(String jobId) {
+    return "ai:job:" + jobId + ":cancelled";
+  }
+
+  /** 새 작업을 방/일차의 활성 작업으로 등록 — 이전 작업이 있으면 대체(취소) */
+  public void activate(AiTaskType t, Long roomId, int day, String jobId) {
+    String field = Integer.toString(day);
+    Object prev = redis.opsForHash().get(activeKey(t, roomId), field);
+    redis.opsForHash().put(activeKey(t, roomId), field, jobId);
+    if (prev != null && !jobId.equals(prev.toString())) {
+      cancel(prev.toString(), "superseded");
+    }
+  }
+
+  public Optional<String> activeJob(AiTaskType t, Long roomId, int day) {
+    Object v = redis.opsForHash().get(activeKey(t, roomId), Integer.toString(day));
+    return Optional.ofNullable(v).map(Object::toString);
+  }
+
+  /** 아직 이 작업이 활성 상태일 때만 해제 — 대체된 작업이 새 작업의 락을 풀지 않도록 */
+  public boolean deactivate(AiTaskType t, Long roomId, int day, String jobId) {
+    Long removed =
+        redis.execute(
+            COMPARE_AND_DELETE, List.of(activeKey(t, roomId)), Integer.toString(day), jobId);
+    return removed != null && removed > 0;
+  }
+
+  /** 작업 취소 — 어느 노드에서 실행 중이든 전파 */
+  public void cancel(String jobId, String reason) {
+    try {
+      redis.opsForValue().set(cancelKey(jobId), reason, CANCEL_TTL);
+      redisPublisher.publish(
+          RedisChannelType.AI_JOB_CANCEL, Map.of("jobId", jobId, "reason", reason));
+    } catch (Exception e) {
+      log.warn("[AI-JOB] cancel publish failed jobId={}: {}", jobId, e.getMessage());
+    }
+    onCancel(jobId, reason);
+  }
+
+  /** 방의 해당 종류 활성 작업 전부 취소 (무효화 / 방 인원 0) */
+  public void cancelRoom(AiTaskType t, Long roomId, String reason) {
+    redis
+        .opsForHash()
+        .values(activeKey(t, roomId))
+        .forEach(jobId -> cancel(jobId.toString(), reason));
+  }
+
+  /** 취소 채널 수신 (이 노드에서 실행 중인 작업이면 즉시 중단) */
+  public void onCancel(String jobId, String reason) {
+    Handle h = local.get(jobId);
+    if (h != null) {
+      log.info("[AI-JOB] ⛔ cancel jobId={} reason={}", jobId, reason);
+      h.cancel(reason);
+    }
+  }
+
+  /** 실행 시작 시 핸들 획득 — 큐 대기 중 이미 취소됐으면 취소된 상태로 반환 */
+  public Handle open(String jobId) {
+    Handle h = new Handle(jobId);
+    local.put(jobId, h);
+    String reason = redis.opsForValue().get(cancelKey(jobId));
+    if (reason != null) h.cancel(reason);
+    return h;
+  }
+
+  public void close(Handle h) {
+    local.remove(h.jobId(), h);
+  }
+
+  public static final class Handle {
+    private final String jobId;
+    private final Sinks.One<String> signal = Sinks.one();
+    private volatile String reason;
+
+    Handle(String jobId) {
+      this.jobId = jobId;
+    }
+
+    public String jobId() {
+      return jobId;
+    }
+
+    public boolean isCancelled() {
+      return reason != null;
+    }
+
+    public String reason() {
+      return reason;
+    }
+
+    /** 취소 시 값을 내보내는 신호 — {@code takeUntilOther} 로 진행 중인 구독을 끊는 데 사용 */
+    public Mono<String> cancelled() {
+      return signal.asMono();
+    }
+
+    void cancel(String why) {
+      if (reason != null) return;
+      reason = why;
+      signal.tryEmitValue(why);
+    }
+  }
+}
@@ -57,7 +57,7 @@ public class AiRoutePublisherImpl implements AiRoutePublisher {
         jobId,
         days,
         front);
-    redisPublisher.publish(RedisChannelType.AI_ROUTE_STATUS, front);
+    redisPublisher.publish(RedisChannelType.AI_ROUTE_STATUS, roomId, front);
   }
 
   @Override
@@ -77,7 +77,19 @@ public class AiRoutePublisherImpl implements AiRoutePublisher {
         jobId,
         progress,
         front);
-    redisPublisher.publish(RedisChannelType.AI_ROUTE_STATUS, front);
+    redisPublisher.publish(RedisChannelType.AI_ROUTE_STATUS, roomId, front);
+  }
+
+  @Override
+  public void progress(Long roomId, String jobId, int progress, AiRecommendBroadcastDto preview) {
+    progress(roomId, jobId, progress);
+
+    // 결과 채널에 PREVIEW로 전달 (스냅샷 저장은 하지 않음 — DONE 결과만 저장)
+    Map<String, Object> m = basePayload(roomId, jobId);
+    m.put("type", "PREVIEW");
+    m.put("result", preview);
+    log.info("[AI-ROUTE][PUBLISH] PREVIEW → roomId={}, jobId={}", roomId, jobId);
+    redisPublisher.publish(RedisChannelType.AI_ROUTE_RESULT, roomId, m);
   }
 
   @Override
@@ -93,7 +105,7 @@ public class AiRoutePublisherImpl implements AiRoutePublisher {
         roomId,
         jobId,
         frontStatus);
-    redisPublisher.publish(RedisChannelType.AI_ROUTE_STATUS, frontStatus);
+    redisPublisher.publish(RedisChannelType.AI_ROUTE_STATUS, roomId, frontStatus);
 
     // 🔒 결과 저장 (Route 네임스페이스)
     redisAiService.saveDone(ROUTE, roomId, jobId, result, base);
@@ -104,7 +116,7 @@ public class AiRoutePublisherImpl implements AiRoutePublisher {
     m.put("result", result);
     log.info(
         "[AI-ROUTE][PUBLISH] RESULT(data) → roomId={}, jobId={}, payload={}", roomId, jobId, m);
-    redisPublisher.publish(RedisChannelType.AI_ROUTE_RESULT, m);
+    redisPublisher.publish(RedisChannelType.AI_ROUTE_RESULT, roomId, m);
   }
 
   @Override
@@ -124,7 +136,7 @@ public class AiRoutePublisherImpl implements AiRoutePublisher {
         jobId,
         message,
         front);
-    redisPublisher.publish(RedisChannelType.AI_ROUTE_STATUS, front);
+    redisPublisher.publish(RedisChannelType.AI_ROUTE_STATUS, roomId, front);
   }
 
   @Override
@@ -144,6 +156,6 @@ public class AiRoutePublisherImpl implements AiRoutePublisher {
         roomId,
         reason,
         front);
-    redisPublisher.publish(RedisChannelType.AI_ROUTE_STATUS, front);
+    redisPublisher.publish(RedisChannelType.AI_ROUTE_STATUS, roomId, front);
   }
 }
@@ -56,7 +56,7 @@ public class AiSchedulePublisherImpl implements AiSchedulePublisher {
         jobId,
         days,
         front);
-    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, front);
+    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, roomId, front);
   }
 
   @Override
@@ -74,7 +74,40 @@ public class AiSchedulePublisherImpl implements AiSchedulePublisher {
         jobId,
         progress,
         front);
-    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, front);
+    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, roomId, front);
+  }
+
+  @Override
+  public void progress(Long roomId, String jobId, int progress, AiRecommendBroadcastDto preview) {
+    progress(roomId, jobId, progress);
+
+    // 결과 채널에 PREVIEW로 전달 (스냅샷 저장은 하지 않음 — DONE 결과만 저장)
+    Map<String, Object> m = basePayload(roomId, jobId);
+    m.put("type", "PREVIEW");
+    m.put("result", preview);
+    log.info("[AI-SCHEDULE][PUBLISH] PREVIEW → roomId={}, jobId={}", roomId, jobId);
+    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_RESULT, roomId, m);
+  }
+
+  @Override
+  public void dayReady(
+      Long roomId, String jobId, int day, int progress, AiRecommendBroadcastDto partial) {
+    Map<String, Object> m = basePayload(roomId, jobId);
+    redisAiService.saveDayPartial(roomId, jobId, day, progress, partial, m);
+
+    m.put("type", "DAY");
+    m.put("day", day);
+    m.put("progress", progress);
+    m.put("result", partial);
+
+    Map<String, Object> front = toFrontStatusPayload(m);
+    log.info(
+        "[AI-SCHEDULE][PUBLISH] DAY → roomId={}, jobId={}, day={}, progress={}",
+        roomId,
+        jobId,
+        day,
+        progress);
+    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, roomId, front);
   }
 
   @Override
@@ -92,7 +125,7 @@ public class AiSchedulePublisherImpl implements AiSchedulePublisher {
       log.info("[AI-SCHEDULE][PUBLISH] DONE(status) JSON:\n{}", statusJson);
     } catch (Exception ignore) {
     }
-    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, frontStatus);
+    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, roomId, frontStatus);
 
     // 결과 저장
     redisAiService.saveDone(roomId, jobId, result, base);
@@ -108,7 +141,7 @@ public class AiSchedulePublisherImpl implements AiSchedulePublisher {
       log.info("[AI-SCHEDULE][PUBLISH] RESULT(data) JSON:\n{}", resultJson);
     } catch (Exception ignore) {
     }
-    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_RESULT, m);
+    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_RESULT, roomId, m);
   }
 
   @Override
@@ -126,7 +159,7 @@ public class AiSchedulePublisherImpl implements AiSchedulePublisher {
         jobId,
         message,
         front);
-    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, front);
+    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, roomId, front);
   }
 
   @Override
@@ -145,6 +178,6 @@ public class AiSchedulePublisherImpl implements AiSchedulePublisher {
         roomId,
         reason,
         front);
-    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, front);
+    redisPublisher.publish(RedisChannelType.AI_SCHEDULE_STATUS, roomId, front);
   }
 }
@@ -14,6 +14,9 @@ import com.B108.tripwish.domain.room.entity.WantPlace;
 import com.B108.tripwish.domain.room.service.RoomReaderService;
 import com.B108.tripwish.domain.room.service.WantPlaceReaderService;
 import com.B108.tripwish.domain.room.service.WantPlaceService;
+import com.B108.tripwish.domain.route.service.AiRouteService;
+import com.B108.tripwish.domain.route.service.TravelMatrixWarmupService;
+import com.B108.tripwish.domain.schedule.service.AiScheduleService;
 import com.B108.tripwish.domain.user.entity.User;
 import com.B108.tripwish.domain.user.service.MyPlaceReaderService;
 import com.B108.tripwish.global.common.enums.PlaceType;
@@ -37,6 +40,9 @@ public class PlaceWantSocketService {
   private final WantPlaceService wantPlaceService;
   private final MyPlaceReaderService myPlaceReaderService;
   private final PlaceReaderService placeReaderService;
+  private final TravelMatrixWarmupService travelMatrixWarmupService;
+  private final AiScheduleService aiScheduleService;
+  private final AiRouteService aiRouteService;
 
   public void handleAdd(CustomUserDetails sender, Long roomId, PlaceWantAddRequestDto request) {
     Long refId = request.getId();
@@ -102,6 +108,9 @@ public class PlaceWantSocketService {
             .build();
 
     messagingTemplate.convertAndSend("/topic/room/" + roomId + "/place-want/add", response);
+
+    // 방 이동 행렬에 새 장소 구간 채우기 (백그라운드)
+    travelMatrixWarmupService.onPlaceAdded(roomId, wantId);
   }
 
   public void handleRemove(
@@ -109,6 +118,10 @@ public class PlaceWantSocketService {
 
     // 희망장소 삭제
     wantPlaceService.removeWantPlace(roomId, request.getWantId());
+    travelMatrixWarmupService.onPlaceRemoved(roomId, request.getWantId());
+    // 삭제된 장소가 들어간 AI 결과/진행 중 작업 무효화
+    aiScheduleService.invalidate(roomId, "place-removed");
+    aiRouteService.invalidate(roomId, "place-removed");
 
     // 메시지 생성
     PlaceWantRemoveMessageResponseDto response =
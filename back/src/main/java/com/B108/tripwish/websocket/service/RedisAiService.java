@@ -5,6 +5,7 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
@@ -51,6 +52,10 @@ public class RedisAiService {
     return ns(t) + "job:" + jobId + ":result";
   }
 
+  private String jobDaysKey(AiTaskType t, String jobId) {
+    return ns(t) + "job:" + jobId + ":days";
+  }
+
   public void saveStarted(
       AiTaskType t, Long roomId, String jobId, int days, Map<String, Object> base) {
     try {
@@ -106,6 +111,32 @@ public class RedisAiService {
     }
   }
 
+  /** 스트리밍 중 도착한 하루치 결과 저장 + 진행률 갱신 (스로틀 없음 — 날짜 단위라 빈도가 낮다) */
+  public void saveDayPartial(
+      AiTaskType t,
+      Long roomId,
+      String jobId,
+      int day,
+      int progress,
+      Object dayDto,
+      Map<String, Object> base) {
+    try {
+      Map<String, Object> status = new HashMap<>(base);
+      status.put("type", "PROGRESS");
+      status.put("progress", progress);
+      status.putIfAbsent("updatedAt", Instant.now().toString());
+
+      String statusJson = om.writeValueAsString(status);
+      String dayJson = om.writeValueAsString(dayDto);
+      redis.opsForHash().put(jobDaysKey(t, jobId), Integer.toString(day), dayJson);
+      redis.expire(jobDaysKey(t, jobId), JOB_TTL);
+
+      redis.opsForValue().set(roomStatusKey(t, roomId), statusJson);
+      redis.opsForValue().set(jobStatusKey(t, jobId), statusJson, JOB_TTL);
+    } catch (Exception ignored) {
+    }
+  }
+
   public void saveDone(
       AiTaskType t, Long roomId, String jobId, Object resultDto, Map<String, Object> base) {
     try {
@@ -175,6 +206,16 @@ public class RedisAiService {
     return Optional.ofNullable(redis.opsForValue().get(jobResultKey(t, jobId)));
   }
 
+  /** 지금까지 도착한 일차별 부분 결과 (day → JSON) */
+  public Map<Integer, String> getJobDays(AiTaskType t, String jobId) {
+    Map<Integer, String> days = new TreeMap<>();
+    redis
+        .opsForHash()
+        .entries(jobDaysKey(t, jobId))
+        .forEach((k, v) -> days.put(Integer.valueOf(k.toString()), v.toString()));
+    return days;
+  }
+
   // === 기존 무타입 메서드(하위호환, 일정용 기본 가정) ===
   public void saveStarted(Long roomId, String jobId, int days, Map<String, Object> base) {
     saveStarted(AiTaskType.SCHEDULE, roomId, jobId, days, base);
@@ -185,6 +226,11 @@ public class RedisAiService {
     saveProgressThrottled(AiTaskType.SCHEDULE, roomId, jobId, progress, base);
   }
 
+  public void saveDayPartial(
+      Long roomId, String jobId, int day, int progress, Object dayDto, Map<String, Object> base) {
+    saveDayPartial(AiTaskType.SCHEDULE, roomId, jobId, day, progress, dayDto, base);
+  }
+
   public void saveDone(Long roomId, String jobId, Object resultDto, Map<String, Object> base) {
     saveDone(AiTaskType.SCHEDULE, roomId, jobId, resultDto, base);
   }
@@ -212,4 +258,8 @@ public class RedisAiService {
   public Optional<String> getJobResult(String jobId) {
     return getJobResult(AiTaskType.SCHEDULE, jobId);
   }
+
+  public Map<Integer, String> getJobDays(String jobId) {
+    return getJobDays(AiTaskType.SCHEDULE, jobId);
+  }
 }
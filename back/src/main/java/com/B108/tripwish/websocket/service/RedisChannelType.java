@@ -5,20 +5,37 @@ public enum RedisChannelType {
   PLACE_WANT_REMOVE("place-want:remove"),
   SCHEDULE_UPDATE("schedule"),
   PLACE_VOTE("place:vote"),
-  TRAVEL_TIME_STATUS("travel:status"), // STARTED / ALREADY_RUNNING / DONE / FAILED
+  TRAVEL_TIME_STATUS("travel:status"), // STARTED / ALREADY_RUNNING / DONE / PROVISIONAL / FAILED
   TRAVEL_TIME_RESULT("travel:result"), // RouteResultResponseDto 본문
+  TRAVEL_TIME_LEG("travel:leg"), // TravelTimeLegMessage 본문 (구간 단위 스트리밍)
   AI_SCHEDULE_STATUS("ai-schedule:status"),
   AI_SCHEDULE_RESULT("ai-schedule:result"),
   AI_ROUTE_RESULT("ai-route:result"),
-  AI_ROUTE_STATUS("ai-route:status");
+  AI_ROUTE_STATUS("ai-route:status"),
+  AI_JOB_CANCEL("ai-job:cancel", false); // {jobId, reason} — 실행 중인 노드가 작업 중단
 
   private final String channel;
+  private final boolean roomScoped;
 
   RedisChannelType(String channel) {
+    this(channel, true);
+  }
+
+  RedisChannelType(String channel, boolean roomScoped) {
     this.channel = channel;
+    this.roomScoped = roomScoped;
   }
 
   public String getChannel() {
     return channel;
   }
+
+  /** true 면 방마다 채널이 나뉜다 ({@link #forRoom}) — 그 방 세션이 있는 노드만 구독 */
+  public boolean isRoomScoped() {
+    return roomScoped;
+  }
+
+  public String forRoom(Long roomId) {
+    return channel + ":" + roomId;
+  }
 }
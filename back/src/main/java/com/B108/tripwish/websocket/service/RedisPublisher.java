@@ -21,8 +21,16 @@ public class RedisPublisher {
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // ✅ "2025-07-01" 형식으로 직렬화
   }
 
+  /** 노드 전체 채널 (예: 작업 취소) */
   public void publish(RedisChannelType channelType, Object message) {
-
+    if (channelType.isRoomScoped()) {
+      throw new IllegalArgumentException(channelType + " 는 방 채널 — roomId 필요");
+    }
     redisTemplate.convertAndSend(channelType.getChannel(), message);
   }
+
+  /** 방 채널 — 해당 방에 STOMP 세션이 있는 노드만 받는다 */
+  public void publish(RedisChannelType channelType, Long roomId, Object message) {
+    redisTemplate.convertAndSend(channelType.forRoom(roomId), message);
+  }
 }
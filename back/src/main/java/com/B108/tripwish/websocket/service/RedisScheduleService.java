@@ -1,17 +1,18 @@
 package com.B108.tripwish.websocket.service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
 import com.B108.tripwish.domain.route.dto.response.RouteResultResponseDto;
 import com.B108.tripwish.websocket.dto.redis.DayScheduleRedisDto;
-import com.B108.tripwish.websocket.dto.request.ScheduleEventMessageRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -20,9 +21,43 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class RedisScheduleService {
 
+  /**
+   * 이동시간 반영 — KEYS: 스케줄 해시, 계산 버전 키 / ARGV: day, 작업 버전, 기대 일정 version('' 이면 생략), {"from>to": 분},
+   * full(1 이면 구간 없는 이벤트와 마지막 이벤트를 null 로). 반환: -1 대체된 작업, -2 일정 version 변경, 그 외 바뀐 이벤트 수
+   */
+  private static final DefaultRedisScript<Long> PATCH_TRAVEL_TIMES =
+      new DefaultRedisScript<>(
+          "if redis.call('GET', KEYS[2]) ~= ARGV[2] then return -1 end "
+              + "local raw = redis.call('HGET', KEYS[1], ARGV[1]) "
+              + "if not raw then return 0 end "
+              + "local d = cjson.decode(raw) "
+              + "if ARGV[3] ~= '' and tostring(d.version) ~= ARGV[3] then return -2 end "
+              + "local ev = d.events "
+              + "if type(ev) ~= 'table' or #ev == 0 then return 0 end "
+              + "local legs = cjson.decode(ARGV[4]) "
+              + "local changed = 0 "
+              + "for i = 1, #ev do "
+              + "  local cur, nxt, v = ev[i], ev[i + 1], cjson.null "
+              + "  if nxt and type(cur.wantId) == 'number' and type(nxt.wantId) == 'number' then "
+              + "    local m = legs[string.format('%d>%d', cur.wantId, nxt.wantId)] "
+              + "    if m then v = m end "
+              + "  end "
+              + "  if (v ~= cjson.null or ARGV[5] == '1') and cur.nextTravelTime ~= v then "
+              + "    cur.nextTravelTime = v "
+              + "    changed = changed + 1 "
+              + "  end "
+              + "end "
+              + "if changed > 0 then redis.call('HSET', KEYS[1], ARGV[1], cjson.encode(d)) end "
+              + "return changed",
+          Long.class);
+
   private final RedisTemplate<String, Object> redisTemplate;
+  private final StringRedisTemplate stringRedis; // Lua 인자/키는 문자열 그대로
   private final ObjectMapper objectMapper; // 주입 (JavaTimeModule 등록된 mapper)
 
+  /** 이동시간 계산 작업 식별 — 계산 버전 키의 값이 version 일 때(최신 작업)만 스케줄에 반영 */
+  public record TravelCalcVersion(String versionKey, long version, Integer dayVersion) {}
+
   private HashOperations<String, String, Object> ops() {
     return redisTemplate.opsForHash();
   }
@@ -49,6 +84,7 @@ public class RedisScheduleService {
 
   public void deleteSchedule(String redisKey) {
     redisTemplate.delete(redisKey);
+    redisTemplate.delete(redisKey + ":legs"); // 일차별 마지막 계산 구간 (DayLegSnapshotStore)
   }
 
   public String getRedisKey(Long roomId) {
@@ -65,47 +101,67 @@ public class RedisScheduleService {
     redisTemplate.delete(getRedisKey(roomId) + ":versions");
   }
 
-  public void applyTravelTimesFromResult(RouteResultResponseDto result) {
-    String redisKey = getRedisKey(result.getRoomId());
-    Integer day = result.getDay();
-
-    DayScheduleRedisDto existing = getScheduleByDay(redisKey, day);
-    if (existing == null || existing.getEvents() == null || existing.getEvents().isEmpty()) {
-      return; // 저장할 본문이 없으면 스킵
-    }
-
-    // (fromId,toId) -> duration(min) 맵 구성
+  /**
+   * 계산 결과 전체를 nextTravelTime 에 반영 (구간이 없는 이벤트와 마지막 이벤트는 null).
+   *
+   * @return 작업이 이미 대체됐거나 그 사이 일정 구조가 바뀌어 반영하지 않았으면 false
+   */
+  public boolean applyTravelTimesFromResult(RouteResultResponseDto result, TravelCalcVersion job) {
     Map<String, Integer> legMinByPair =
         result.getLegs().stream()
             .collect(
                 Collectors.toMap(
                     l -> pairKey(l.getFromWantId(), l.getToWantId()),
-                    l -> (int) Math.round(l.getDurationSec() / 60.0) // 초→분 반올림
-                    ));
-
-    // 이벤트 순서대로 nextTravelTime 채우기 (마지막 이벤트는 null)
-    List<ScheduleEventMessageRequestDto> updated = new ArrayList<>(existing.getEvents());
-    for (int i = 0; i < updated.size(); i++) {
-      ScheduleEventMessageRequestDto cur = updated.get(i);
-      if (i == updated.size() - 1) {
-        cur.setNextTravelTime(null);
-        continue;
-      }
-      Long fromId = cur.getWantId();
-      Long toId = updated.get(i + 1).getWantId();
-      Integer minutes = legMinByPair.get(pairKey(fromId, toId));
-      cur.setNextTravelTime(minutes); // 없으면 null 그대로(경로 없음 등)
-    }
+                    l -> toMinutes(l.getDurationSec()),
+                    (a, b) -> b));
+    return patchTravelTimes(result.getRoomId(), result.getDay(), legMinByPair, true, job);
+  }
+
+  /**
+   * 구간 하나가 확정될 때 해당 이벤트의 nextTravelTime만 갱신 (스트리밍 모드). 전체 결과가 나오면 {@link
+   * #applyTravelTimesFromResult}가 최종값으로 다시 맞춘다.
+   *
+   * @return 작업이 이미 대체됐거나 그 사이 일정 구조가 바뀌어 반영하지 않았으면 false (브로드캐스트도 생략)
+   */
+  public boolean applyTravelTimeForLeg(
+      Long roomId,
+      Integer day,
+      long fromWantId,
+      long toWantId,
+      long durationSec,
+      TravelCalcVersion job) {
+    return patchTravelTimes(
+        roomId, day, Map.of(pairKey(fromWantId, toWantId), toMinutes(durationSec)), false, job);
+  }
 
-    // ✅ 버전 그대로 유지!
-    DayScheduleRedisDto toSave =
-        DayScheduleRedisDto.builder()
-            .date(existing.getDate())
-            .version(existing.getVersion())
-            .events(updated)
-            .build();
+  /**
+   * 스케줄 해시의 day 본문을 Redis 안에서 한 번에 고친다 — 읽기와 쓰기 사이에 들어온 사용자 편집을 덮어쓰지 않도록 Lua 로 처리하고, 버전
+   * (일정 본문 version)은 그대로 둔다.
+   */
+  private boolean patchTravelTimes(
+      Long roomId,
+      Integer day,
+      Map<String, Integer> legMinByPair,
+      boolean full,
+      TravelCalcVersion job) {
+    try {
+      Long r =
+          stringRedis.execute(
+              PATCH_TRAVEL_TIMES,
+              List.of(getRedisKey(roomId), job.versionKey()),
+              day.toString(),
+              Long.toString(job.version()),
+              job.dayVersion() == null ? "" : job.dayVersion().toString(),
+              objectMapper.writeValueAsString(legMinByPair),
+              full ? "1" : "0");
+      return r != null && r >= 0;
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
 
-    saveSchedule(redisKey, day, toSave);
+  private static int toMinutes(long durationSec) {
+    return (int) Math.round(durationSec / 60.0); // 초→분 반올림
   }
 
   private static String pairKey(Long fromId, Long toId) {
@@ -0,0 +1,121 @@
+package com.B108.tripwish.websocket.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.websocket.subscriber.*;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 노드별 방 채널 구독 관리 — 이 노드에 STOMP 세션이 있는 방의 채널만 Redis 에서 구독한다.
+ *
+ * <p>방의 첫 로컬 세션이 들어오면 {@link RedisChannelType#forRoom} 채널들을 구독하고, 마지막 세션이 끊기면 해제한다. 같은 방의
+ * 구독/해제는 {@code sessionsByRoom.compute} 안에서만 일어나 순서가 꼬이지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomChannelSubscriptions {
+
+  @Qualifier("redisMessageListenerContainer")
+  private final RedisMessageListenerContainer listenerContainer;
+
+  private final ScheduleRedisSubscriber scheduleRedisSubscriber;
+  private final PlaceWantAddSubscriber placeWantAddSubscriber;
+  private final PlaceWantRemoveSubscriber placeWantRemoveSubscriber;
+  private final VotePlaceSubscriber votePlaceSubscriber;
+  private final TravelTimeStatusSubscriber travelTimeStatusSubscriber;
+  private final TravelTimeResultSubscriber travelTimeResultSubscriber;
+  private final TravelTimeLegSubscriber travelTimeLegSubscriber;
+  private final AiScheduleResultSubscriber aiScheduleResultSubscriber;
+  private final AiScheduleStatusSubscriber aiScheduleStatusSubscriber;
+  private final AiRouteStatusSubscriber aiRouteStatusSubscriber;
+  private final AiRouteResultSubscriber aiRouteResultSubscriber;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<RedisChannelType, MessageListener> listeners =
+      new EnumMap<>(RedisChannelType.class);
+  private final Map<Long, Set<String>> sessionsByRoom = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  public void init() {
+    listeners.put(RedisChannelType.SCHEDULE_UPDATE, scheduleRedisSubscriber);
+    listeners.put(RedisChannelType.PLACE_WANT_ADD, placeWantAddSubscriber);
+    listeners.put(RedisChannelType.PLACE_WANT_REMOVE, placeWantRemoveSubscriber);
+    listeners.put(RedisChannelType.PLACE_VOTE, votePlaceSubscriber);
+    listeners.put(RedisChannelType.TRAVEL_TIME_STATUS, travelTimeStatusSubscriber);
+    listeners.put(RedisChannelType.TRAVEL_TIME_RESULT, travelTimeResultSubscriber);
+    listeners.put(RedisChannelType.TRAVEL_TIME_LEG, travelTimeLegSubscriber);
+    listeners.put(RedisChannelType.AI_SCHEDULE_STATUS, aiScheduleStatusSubscriber);
+    listeners.put(RedisChannelType.AI_SCHEDULE_RESULT, aiScheduleResultSubscriber);
+    listeners.put(RedisChannelType.AI_ROUTE_RESULT, aiRouteResultSubscriber);
+    listeners.put(RedisChannelType.AI_ROUTE_STATUS, aiRouteStatusSubscriber);
+
+    Gauge.builder("ws.room_channels.rooms", sessionsByRoom, Map::size)
+        .description("Redis 방 채널을 구독 중인 방 수 (이 노드)")
+        .register(meterRegistry);
+  }
+
+  /** 이 노드에 방 세션 추가 — 방의 첫 세션이면 방 채널 구독 */
+  public void join(Long roomId, String sessionId) {
+    sessionsByRoom.compute(
+        roomId,
+        (id, sessions) -> {
+          if (sessions == null) {
+            sessions = ConcurrentHashMap.newKeySet();
+            subscribe(id);
+          }
+          sessions.add(sessionId);
+          return sessions;
+        });
+  }
+
+  /** 이 노드에서 방 세션 제거 — 마지막 세션이면 방 채널 해제 */
+  public void leave(Long roomId, String sessionId) {
+    sessionsByRoom.computeIfPresent(
+        roomId,
+        (id, sessions) -> {
+          sessions.remove(sessionId);
+          if (!sessions.isEmpty()) return sessions;
+          unsubscribe(id);
+          return null;
+        });
+  }
+
+  private void subscribe(Long roomId) {
+    try {
+      listeners.forEach(
+          (type, listener) ->
+              listenerContainer.addMessageListener(
+                  listener, new ChannelTopic(type.forRoom(roomId))));
+      log.info("[ROOM-CHANNEL] ➕ subscribed roomId={}", roomId);
+    } catch (Exception e) {
+      log.warn("[ROOM-CHANNEL] subscribe failed roomId={}: {}", roomId, e.getMessage());
+    }
+  }
+
+  private void unsubscribe(Long roomId) {
+    try {
+      listeners.forEach(
+          (type, listener) ->
+              listenerContainer.removeMessageListener(
+                  listener, new ChannelTopic(type.forRoom(roomId))));
+      log.info("[ROOM-CHANNEL] ➖ unsubscribed roomId={}", roomId);
+    } catch (Exception e) {
+      log.warn("[ROOM-CHANNEL] unsubscribe failed roomId={}: {}", roomId, e.getMessage());
+    }
+  }
+}
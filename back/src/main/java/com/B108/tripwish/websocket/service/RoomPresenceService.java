@@ -0,0 +1,139 @@
+package com.B108.tripwish.websocket.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * 방별 STOMP 접속 세션 추적 — {@code /topic/room/{roomId}/...} 구독으로 방 참여를 기록하고, 세션이 그 방 구독을 모두
+ * 해제(UNSUBSCRIBE)하거나 끊기면 방에서 뺀다. 마지막 세션이 나간 뒤 유예 시간이 지나도 비어 있으면 그 방의 AI 작업을 취소한다. 세션
+ * 집합은 Redis 에 두어 노드가 여러 대여도 방 전체 기준으로 판단한다.
+ *
+ * <p>같은 이벤트로 이 노드의 방 채널 구독도 갱신한다 ({@link RoomChannelSubscriptions}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomPresenceService {
+
+  private static final Pattern ROOM_TOPIC = Pattern.compile("^/topic/room/(\\d+)/");
+  private static final Duration SESSIONS_TTL = Duration.ofDays(1);
+
+  private final StringRedisTemplate redis;
+  private final AiJobRegistry jobRegistry;
+  private final RoomChannelSubscriptions roomChannels;
+  // sessionId → (subscriptionId → roomId). 세션 단위 변경은 compute 안에서만 일어난다
+  private final Map<String, Map<String, Long>> subscriptionsBySession = new ConcurrentHashMap<>();
+
+  @Value("${ai.cancel.empty-room-grace:30s}")
+  private Duration emptyRoomGrace;
+
+  private String sessionsKey(Long roomId) {
+    return "ws:room:" + roomId + ":sessions";
+  }
+
+  @EventListener
+  public void onSubscribe(SessionSubscribeEvent event) {
+    StompHeaderAccessor acc = StompHeaderAccessor.wrap(event.getMessage());
+    String dest = acc.getDestination();
+    String sessionId = acc.getSessionId();
+    String subscriptionId = acc.getSubscriptionId();
+    if (dest == null || sessionId == null || subscriptionId == null) return;
+
+    Matcher m = ROOM_TOPIC.matcher(dest);
+    if (!m.find()) return;
+    Long roomId = Long.valueOf(m.group(1));
+
+    subscriptionsBySession.compute(
+        sessionId,
+        (s, subs) -> {
+          if (subs == null) subs = new HashMap<>();
+          // 이 세션의 첫 방 구독일 때만 방 참여
+          if (!subs.containsValue(roomId)) enter(roomId, sessionId);
+          subs.put(subscriptionId, roomId);
+          return subs;
+        });
+  }
+
+  @EventListener
+  public void onUnsubscribe(SessionUnsubscribeEvent event) {
+    StompHeaderAccessor acc = StompHeaderAccessor.wrap(event.getMessage());
+    String sessionId = acc.getSessionId();
+    String subscriptionId = acc.getSubscriptionId();
+    if (sessionId == null || subscriptionId == null) return;
+
+    subscriptionsBySession.computeIfPresent(
+        sessionId,
+        (s, subs) -> {
+          Long roomId = subs.remove(subscriptionId);
+          // 이 세션에 같은 방 구독이 더 남아 있지 않을 때만 방에서 나감
+          if (roomId != null && !subs.containsValue(roomId)) exit(roomId, sessionId);
+          return subs.isEmpty() ? null : subs;
+        });
+  }
+
+  @EventListener
+  public void onDisconnect(SessionDisconnectEvent event) {
+    String sessionId = event.getSessionId();
+    subscriptionsBySession.computeIfPresent(
+        sessionId,
+        (s, subs) -> {
+          subs.values().stream().distinct().forEach(roomId -> exit(roomId, sessionId));
+          return null;
+        });
+  }
+
+  private void enter(Long roomId, String sessionId) {
+    roomChannels.join(roomId, sessionId);
+    try {
+      redis.opsForSet().add(sessionsKey(roomId), sessionId);
+      redis.expire(sessionsKey(roomId), SESSIONS_TTL);
+    } catch (Exception e) {
+      log.warn("[PRESENCE] add failed roomId={}: {}", roomId, e.getMessage());
+    }
+  }
+
+  private void exit(Long roomId, String sessionId) {
+    roomChannels.leave(roomId, sessionId);
+    try {
+      redis.opsForSet().remove(sessionsKey(roomId), sessionId);
+      if (isEmpty(roomId)) scheduleEmptyCheck(roomId);
+    } catch (Exception e) {
+      log.warn("[PRESENCE] remove failed roomId={}: {}", roomId, e.getMessage());
+    }
+  }
+
+  public boolean isEmpty(Long roomId) {
+    Long size = redis.opsForSet().size(sessionsKey(roomId));
+    return size == null || size == 0;
+  }
+
+  /** 새로고침 같은 짧은 재접속은 봐주고, 유예 후에도 비어 있으면 AI 작업 취소 */
+  private void scheduleEmptyCheck(Long roomId) {
+    Mono.delay(emptyRoomGrace)
+        .subscribe(
+            t -> {
+              if (!isEmpty(roomId)) return;
+              log.info("[PRESENCE] 🚪 room empty → cancel AI jobs roomId={}", roomId);
+              jobRegistry.cancelRoom(AiTaskType.SCHEDULE, roomId, "room-empty");
+              jobRegistry.cancelRoom(AiTaskType.ROUTE, roomId, "room-empty");
+            },
+            e -> log.warn("[PRESENCE] empty check failed roomId={}: {}", roomId, e.getMessage()));
+  }
+}
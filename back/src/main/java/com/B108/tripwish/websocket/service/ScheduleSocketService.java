@@ -134,7 +134,7 @@ public class ScheduleSocketService {
             .build();
 
     // 7. WebSocket 브로드캐스트
-    redisPublisher.publish(RedisChannelType.SCHEDULE_UPDATE, response);
+    redisPublisher.publish(RedisChannelType.SCHEDULE_UPDATE, request.getRoomId(), response);
   }
 
   private boolean isStructuralChanged(
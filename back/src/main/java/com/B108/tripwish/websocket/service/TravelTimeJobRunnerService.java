@@ -1,90 +1,267 @@
 package com.B108.tripwish.websocket.service;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import com.B108.tripwish.domain.route.dto.response.RouteResultResponseDto;
 import com.B108.tripwish.domain.route.service.TravelTimeService;
 import com.B108.tripwish.websocket.dto.request.TravelTimeCalcRequestDto;
+import com.B108.tripwish.websocket.dto.response.TravelTimeLegMessage;
 import com.B108.tripwish.websocket.dto.response.TravelTimeStatusMessage;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TravelTimeJobRunnerService {
 
   private final TravelTimeService travelTimeService;
   private final RedisPublisher redisPublisher; // 쓰는 방식에 맞춰 선택
-  private final StringRedisTemplate redis; // 중복 클릭 락(선택)
+  private final StringRedisTemplate redis; // (room, day) 계산 버전
   private final RedisScheduleService redisScheduleService;
-  // 중복 클릭 방지용 TTL(초)
-  private static final Duration LOCK_TTL = Duration.ofSeconds(20);
+  private final Scheduler travelScheduler; // travel 레인 (AsyncConfig)
+  private static final Duration VERSION_TTL = Duration.ofDays(1);
 
-  @Async("travelTaskExecutor")
+  // (roomId:day) → 대기 요청/실행 중 계산
+  private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+  // 연속 요청을 하나로 묶는 대기 시간
+  @Value("${travel.job.debounce:300ms}")
+  private Duration debounce;
+
+  // 실제 계산 상한 — 넘기면 로컬 추정치를 최종 결과로 사용
+  @Value("${travel.job.timeout:20s}")
+  private Duration jobTimeout;
+
+  /**
+   * 이동시간 계산을 (roomId, day) 단위로 "마지막 요청 우선" 실행한다.
+   *
+   * <p>debounce 동안 들어온 요청은 가장 최신 것 하나로 합쳐지고, 새 계산을 시작할 때 이전 버전의 계산이 아직 돌고 있으면 취소한다. 다른
+   * 인스턴스에서 더 새 버전이 시작된 경우에도 Redis 버전(INCR)을 비교해 오래된 결과는 반영하지 않는다. 계산 자체는 논블로킹 체인이며
+   * Redis 접근 등 블로킹 구간만 travel 레인(AsyncConfig)에서 수행한다.
+   */
   public void run(Long roomId, TravelTimeCalcRequestDto req) {
-    String lockKey = "travel:calc:lock:" + roomId + ":" + req.getDay();
-    try {
-      // 0) 락 획득 시도 (이미 계산 중이면 ALREADY_RUNNING 전송 후 종료)
-      Boolean ok = redis.opsForValue().setIfAbsent(lockKey, "1", LOCK_TTL);
-      if (Boolean.FALSE.equals(ok)) {
+    String key = roomId + ":" + req.getDay();
+    publishStatus(
+        roomId, req.getDay(), TravelTimeStatusMessage.Status.QUEUED, "calculation queued");
+
+    slots.compute(
+        key,
+        (k, slot) -> {
+          Slot s = (slot != null) ? slot : new Slot();
+          s.pending = req;
+          if (s.timer != null) s.timer.dispose();
+          s.timer = Mono.delay(debounce).subscribe(t -> fire(key, roomId));
+          return s;
+        });
+  }
+
+  /** debounce 만료 → 최신 요청으로 계산 시작 (이전 버전 계산은 취소) */
+  private void fire(String key, Long roomId) {
+    Disposable[] superseded = new Disposable[1];
+    Disposable.Swap handle = Disposables.swap();
+    TravelTimeCalcRequestDto[] started = new TravelTimeCalcRequestDto[1];
+    long[] generation = new long[1];
+
+    slots.computeIfPresent(
+        key,
+        (k, s) -> {
+          if (s.pending == null) return s;
+          started[0] = s.pending;
+          s.pending = null;
+          s.timer = null;
+          superseded[0] = s.running;
+          s.running = handle;
+          generation[0] = ++s.generation;
+          return s;
+        });
+    if (started[0] == null) return;
+
+    // 맵 갱신 밖에서 취소 (취소 시 doFinally → finished 가 같은 키를 다시 갱신하므로)
+    if (superseded[0] != null) {
+      log.info("[travel-time] superseded - 이전 계산 취소 room={} key={}", roomId, key);
+      superseded[0].dispose();
+    }
+
+    TravelTimeCalcRequestDto req = started[0];
+    String versionKey = "travel:calc:version:" + key;
+    handle.update(
+        Mono.fromCallable(
+                () -> {
+                  Long version = redis.opsForValue().increment(versionKey);
+                  redis.expire(versionKey, VERSION_TTL);
+                  Integer dayVersion = redisScheduleService.getDraftVersion(roomId, req.getDay());
+                  return new RedisScheduleService.TravelCalcVersion(
+                      versionKey, version, dayVersion);
+                })
+            .subscribeOn(travelScheduler)
+            .flatMap(job -> calculate(roomId, req, job))
+            .doFinally(signal -> finished(key, generation[0]))
+            .subscribe(
+                v -> {},
+                e ->
+                    log.error(
+                        "[travel-time] job failed room={} day={}", roomId, req.getDay(), e)));
+  }
+
+  private void finished(String key, long generation) {
+    slots.computeIfPresent(
+        key,
+        (k, s) -> {
+          if (s.generation == generation) s.running = null;
+          return (s.running == null && s.pending == null && s.timer == null) ? null : s;
+        });
+  }
+
+  /** 다른 요청(다른 인스턴스 포함)이 더 새 버전을 시작했으면 false */
+  private boolean isLatest(String versionKey, Long version) {
+    return Objects.equals(String.valueOf(version), redis.opsForValue().get(versionKey));
+  }
+
+  /** provisional 전송 전 확인 — 계산 버전과 해당 일차 일정 버전이 모두 그대로일 때만 true */
+  private boolean isCurrent(Long roomId, Integer day, RedisScheduleService.TravelCalcVersion job) {
+    return isLatest(job.versionKey(), job.version())
+        && Objects.equals(job.dayVersion(), redisScheduleService.getDraftVersion(roomId, day));
+  }
+
+  private Mono<Void> calculate(
+      Long roomId, TravelTimeCalcRequestDto req, RedisScheduleService.TravelCalcVersion job) {
+    // 1) ACK
+    publishStatus(
+        roomId, req.getDay(), TravelTimeStatusMessage.Status.STARTED, "calculation started");
+
+    // 2) 로컬 추정치 선전송 (provisional=true, 스케줄에는 반영하지 않음)
+    Mono<Void> provisional =
+        travelTimeService
+            .estimateProvisional(req.getRoomId(), req.getDay(), req.getTransport(), req.getEvents())
+            .publishOn(travelScheduler)
+            .filter(p -> isCurrent(roomId, req.getDay(), job))
+            .doOnNext(p -> redisPublisher.publish(RedisChannelType.TRAVEL_TIME_RESULT, roomId, p))
+            .then()
+            .onErrorResume(
+                e -> {
+                  log.warn("[travel-time] provisional failed room={}: {}", roomId, e.getMessage());
+                  return Mono.empty();
+                });
+
+    // 3) 실제 계산 — 구간이 확정될 때마다 travel:leg 로 스트리밍 (쿼터 소진 시에는 provisional 결과)
+    TravelTimeService.LegListener legStream = streamingListener(roomId, req.getDay(), job);
+    return provisional
+        .then(
+            travelTimeService.estimateAsync(
+                req.getRoomId(),
+                req.getDay(),
+                req.getDate(),
+                req.getTransport(),
+                req.getEvents(),
+                legStream)
+            .timeout(
+                jobTimeout,
+                Mono.defer(
+                    () -> {
+                      log.warn("[travel-time] 계산 시간 초과 room={} - 로컬 추정으로 대체", roomId);
+                      return travelTimeService.estimateProvisional(
+                          req.getRoomId(), req.getDay(), req.getTransport(), req.getEvents());
+                    })))
+        .publishOn(travelScheduler)
+        .doOnNext(
+            result -> {
+              // 시간 초과/쿼터 소진으로 받은 로컬 추정치는 스케줄에 저장하지 않고 화면에만 보낸다
+              if (result.isProvisional()) {
+                if (!isCurrent(roomId, req.getDay(), job)) return;
+                redisPublisher.publish(RedisChannelType.TRAVEL_TIME_RESULT, roomId, result);
+                publishStatus(
+                    roomId,
+                    req.getDay(),
+                    TravelTimeStatusMessage.Status.PROVISIONAL,
+                    "local estimate only (not saved)");
+                return;
+              }
+
+              // 4) 스케줄 해시에 nextTravelTime(분) 반영 (버전 증가 X) — 대체된 작업이면 반영/전송 모두 생략
+              if (!redisScheduleService.applyTravelTimesFromResult(result, job)) {
+                log.info(
+                    "[travel-time] 더 새 요청/일정 변경으로 결과 폐기 room={} v={}", roomId, job.version());
+                return;
+              }
+
+              // 5) 결과 브로드캐스트
+              redisPublisher.publish(RedisChannelType.TRAVEL_TIME_RESULT, roomId, result);
+
+              // 6) 완료
+              publishStatus(
+                  roomId, req.getDay(), TravelTimeStatusMessage.Status.DONE, "calculation done");
+            })
+        .then()
+        .onErrorResume(
+            e -> {
+              publishStatus(
+                  roomId, req.getDay(), TravelTimeStatusMessage.Status.FAILED, e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  /** 구간 단위 전송 + 해당 이벤트의 nextTravelTime만 갱신 */
+  private TravelTimeService.LegListener streamingListener(
+      Long roomId, Integer day, RedisScheduleService.TravelCalcVersion job) {
+    String jobId = UUID.randomUUID().toString();
+    AtomicLong seq = new AtomicLong();
+    return (index, legCount, leg) -> {
+      try {
+        boolean current =
+            redisScheduleService.applyTravelTimeForLeg(
+                roomId, day, leg.getFromWantId(), leg.getToWantId(), leg.getDurationSec(), job);
+        if (!current) return; // 대체된 작업: 스케줄도 클라이언트도 건드리지 않음
         redisPublisher.publish(
-            RedisChannelType.TRAVEL_TIME_STATUS,
-            TravelTimeStatusMessage.builder()
+            RedisChannelType.TRAVEL_TIME_LEG,
+            roomId,
+            TravelTimeLegMessage.builder()
                 .roomId(roomId)
-                .day(req.getDay())
-                .status(TravelTimeStatusMessage.Status.ALREADY_RUNNING)
-                .message("calculation already running")
+                .day(day)
+                .jobId(jobId)
+                .seq(seq.incrementAndGet())
+                .legIndex(index)
+                .legCount(legCount)
+                .leg(leg)
                 .build());
-        return;
+      } catch (Exception e) {
+        // 스트리밍 실패는 최종 결과 전송에 영향 주지 않음
+        log.warn("[travel-time] leg stream failed room={} day={}: {}", roomId, day, e.getMessage());
       }
+    };
+  }
 
-      // 1) ACK
-      redisPublisher.publish(
-          RedisChannelType.TRAVEL_TIME_STATUS,
-          TravelTimeStatusMessage.builder()
-              .roomId(roomId)
-              .day(req.getDay())
-              .status(TravelTimeStatusMessage.Status.STARTED)
-              .message("calculation started")
-              .build());
-
-      // 2) 계산
-      RouteResultResponseDto result =
-          travelTimeService.estimate(
-              req.getRoomId(), req.getDay(), req.getDate(), req.getTransport(), req.getEvents());
-
-      // 3) 스케줄 해시에 nextTravelTime(분) 반영 (버전 증가 X)
-      redisScheduleService.applyTravelTimesFromResult(result);
-
-      // 4) 결과 브로드캐스트
-      redisPublisher.publish(RedisChannelType.TRAVEL_TIME_RESULT, result);
-
-      // 5) 완료
-      redisPublisher.publish(
-          RedisChannelType.TRAVEL_TIME_STATUS,
-          TravelTimeStatusMessage.builder()
-              .roomId(roomId)
-              .day(req.getDay())
-              .status(TravelTimeStatusMessage.Status.DONE)
-              .message("calculation done")
-              .build());
-
-    } catch (Exception e) {
-      redisPublisher.publish(
-          RedisChannelType.TRAVEL_TIME_STATUS,
-          TravelTimeStatusMessage.builder()
-              .roomId(roomId)
-              .day(req.getDay())
-              .status(TravelTimeStatusMessage.Status.FAILED)
-              .message(e.getMessage())
-              .build());
-    } finally {
-      // 락 해제 (TTL도 있지만 명시적으로 제거)
-      redis.delete(lockKey);
-    }
+  /** (roomId, day) 하나의 대기/실행 상태 — slots.compute 안에서만 변경 */
+  private static final class Slot {
+    private TravelTimeCalcRequestDto pending;
+    private Disposable timer;
+    private Disposable running;
+    private long generation;
+  }
+
+  private void publishStatus(
+      Long roomId, int day, TravelTimeStatusMessage.Status status, String message) {
+    redisPublisher.publish(
+        RedisChannelType.TRAVEL_TIME_STATUS,
+        roomId,
+        TravelTimeStatusMessage.builder()
+            .roomId(roomId)
+            .day(day)
+            .status(status)
+            .message(message)
+            .build());
   }
 }
@@ -21,6 +21,6 @@ public class VotePlaceSocketService {
             .senderId(senderId)
             .build();
 
-    redisPublisher.publish(RedisChannelType.PLACE_VOTE, message);
+    redisPublisher.publish(RedisChannelType.PLACE_VOTE, roomId, message);
   }
 }
@@ -0,0 +1,41 @@
+package com.B108.tripwish.websocket.subscriber;
+
+import java.util.Map;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.websocket.service.AiJobRegistry;
+import com.B108.tripwish.websocket.service.RedisChannelType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** 다른 노드에서 보낸 AI 작업 취소 신호 — 이 노드에서 실행 중이면 중단 */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiJobCancelSubscriber implements MessageListener {
+
+  private final ObjectMapper om;
+  private final AiJobRegistry jobRegistry;
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    try {
+      Map<String, Object> m = om.readValue(message.getBody(), new TypeReference<>() {});
+      Object jobId = m.get("jobId");
+      if (jobId == null) return;
+      jobRegistry.onCancel(jobId.toString(), String.valueOf(m.get("reason")));
+    } catch (Exception e) {
+      log.warn("[AI-JOB][CANCEL] ❌ onMessage error: {}", e.getMessage());
+    }
+  }
+
+  public String channel() {
+    return RedisChannelType.AI_JOB_CANCEL.getChannel();
+  }
+}
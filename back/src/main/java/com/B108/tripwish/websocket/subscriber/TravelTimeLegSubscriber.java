@@ -0,0 +1,64 @@
+package com.B108.tripwish.websocket.subscriber;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+import com.B108.tripwish.websocket.dto.response.LegResponseDto;
+import com.B108.tripwish.websocket.dto.response.TravelTimeLegMessage;
+import com.B108.tripwish.websocket.dto.response.TravelTimeLegMessageResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TravelTimeLegSubscriber implements MessageListener {
+
+  private final ObjectMapper om;
+  private final SimpMessagingTemplate msg;
+
+  @Override
+  public void onMessage(Message m, byte[] p) {
+    String body = new String(m.getBody(), UTF_8);
+    try {
+      TravelTimeLegMessage dto = om.readValue(body, TravelTimeLegMessage.class);
+      var l = dto.getLeg();
+
+      var out =
+          TravelTimeLegMessageResponseDto.builder()
+              .roomId(dto.getRoomId())
+              .day(dto.getDay())
+              .jobId(dto.getJobId())
+              .seq(dto.getSeq())
+              .legIndex(dto.getLegIndex())
+              .legCount(dto.getLegCount())
+              .leg(
+                  LegResponseDto.builder()
+                      .fromWantId(l.getFromWantId())
+                      .toWantId(l.getToWantId())
+                      .distanceMeters(l.getDistanceMeters())
+                      .durationMinutes(Math.round(l.getDurationSec() / 60.0))
+                      .transport(toTransportString(l.getTransport()))
+                      .build())
+              .build();
+
+      msg.convertAndSend("/topic/room/" + dto.getRoomId() + "/travel/leg", out);
+    } catch (JsonProcessingException e) {
+      log.warn("travel:leg JSON parse failed: {}", body, e);
+    } catch (Exception e) {
+      log.error("travel:leg handle error", e);
+    }
+  }
+
+  private static String toTransportString(TransportType t) {
+    return (t == null) ? null : t.name().toLowerCase();
+  }
+}
@@ -58,6 +58,7 @@ public class TravelTimeResultSubscriber implements MessageListener {
               .totalDistanceMeters(dto.getTotalDistanceMeters())
               .totalDurationMinutes(toMinutes(dto.getTotalDurationSec()))
               .legs(legs)
+              .provisional(dto.isProvisional())
               .build();
 
       String topic = "/topic/room/" + dto.getRoomId() + "/travel/result";
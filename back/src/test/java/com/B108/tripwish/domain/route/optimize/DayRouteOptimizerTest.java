@@ -0,0 +1,175 @@
+package com.B108.tripwish.domain.route.optimize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DayRouteOptimizerTest {
+
+  private static final int HOUR = 3600;
+
+  private final DayRouteOptimizer optimizer = new DayRouteOptimizer();
+
+  @Test
+  void emptyInputGivesEmptyPlan() {
+    DayRouteOptimizer.Plan plan = optimizer.optimize(problem(new int[0][0], new int[0], 0));
+
+    assertThat(plan.order()).hasSize(0);
+    assertThat(plan.cost()).isZero();
+  }
+
+  @Test
+  void singlePlaceHasNoTravel() {
+    DayRouteOptimizer.Plan plan =
+        optimizer.optimize(problem(new int[][] {{0}}, new int[] {-1}, 9 * HOUR));
+
+    assertThat(plan.order()).containsExactly(0);
+    assertThat(plan.travelSec()).isZero();
+    assertThat(plan.latenessSec()).isZero();
+  }
+
+  @Test
+  void evaluateWaitsForEarlyArrivalAndPenalisesLateness() {
+    int[][] d = {{0, 600}, {600, 0}};
+
+    // 0 에서 1시간 체류 후 10분 이동 → 1:10 도착. 시작 2:00 이면 대기, 0:30 이면 40분 지각
+    DayRouteOptimizer.Plan onTime =
+        optimizer.evaluate(problem(d, new int[] {-1, 2 * HOUR}, 0), new int[] {0, 1});
+    DayRouteOptimizer.Plan late =
+        optimizer.evaluate(problem(d, new int[] {-1, HOUR / 2}, 0), new int[] {0, 1});
+
+    assertThat(onTime.latenessSec()).isZero();
+    assertThat(onTime.cost()).isEqualTo(600);
+    assertThat(late.latenessSec()).isEqualTo(40 * 60);
+    assertThat(late.cost()).isEqualTo(600 + DayRouteOptimizer.LATE_WEIGHT * 40 * 60);
+  }
+
+  @Test
+  void fixedEventAtDayStartIsVisitedFirst() {
+    // 일직선 0 - 1 - 2, 거리만 보면 2 는 끝에 오지만 하루 시작 시각에 고정 일정이 있다
+    int[][] d = lineDurations(new int[] {0, 10, 20});
+    int[] earliest = {-1, -1, 9 * HOUR};
+
+    DayRouteOptimizer.Plan plan = optimizer.optimize(problem(d, earliest, 9 * HOUR));
+
+    assertThat(plan.order()[0]).isEqualTo(2);
+    assertThat(plan.latenessSec()).isZero();
+  }
+
+  @Test
+  void straightensShuffledLine() {
+    // 직선 위 장소를 인덱스가 뒤섞이게 배치 — 최적은 한쪽 끝에서 반대쪽 끝으로 가는 순서
+    int[] km = {3, 0, 5, 1, 4, 2};
+    DayRouteOptimizer.Problem p = problem(lineDurations(km), none(km.length), 0);
+
+    DayRouteOptimizer.Plan plan = optimizer.optimize(p);
+
+    assertThat(plan.travelSec()).isEqualTo(5 * 60);
+  }
+
+  @Test
+  void staysCloseToBruteForceOptimumOnRandomInstances() {
+    Random rnd = new Random(42);
+    for (int round = 0; round < 100; round++) {
+      int n = 3 + rnd.nextInt(5);
+      double[][] xy = new double[n][];
+      for (int i = 0; i < n; i++) xy[i] = new double[] {rnd.nextDouble(), rnd.nextDouble()};
+      int[][] d = new int[n][n];
+      for (int i = 0; i < n; i++) {
+        for (int j = 0; j < n; j++) {
+          d[i][j] = (int) (Math.hypot(xy[i][0] - xy[j][0], xy[i][1] - xy[j][1]) * 1800);
+        }
+      }
+      DayRouteOptimizer.Problem p = problem(d, none(n), 0);
+
+      DayRouteOptimizer.Plan plan = optimizer.optimize(p);
+
+      assertThat(plan.cost())
+          .as("round " + round)
+          .isLessThanOrEqualTo(Math.round(bruteForceCost(p) * 1.05));
+      assertThat(sorted(plan.order())).isEqualTo(identity(n));
+    }
+  }
+
+  @Test
+  void localSearchImprovesOnEveryNearestNeighbourSeed() {
+    // 최근접 이웃 해는 어느 출발점에서든 1204초 이상 — 2-opt / Or-opt 로 최적 978초까지 줄여야 한다
+    int[][] pts = {{7, 3}, {3, 0}, {9, 2}, {9, 6}, {5, 3}, {1, 4}};
+    int n = pts.length;
+    int[][] d = new int[n][n];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        d[i][j] = (int) (Math.hypot(pts[i][0] - pts[j][0], pts[i][1] - pts[j][1]) * 60);
+      }
+    }
+    DayRouteOptimizer.Problem p = problem(d, none(n), 0);
+
+    DayRouteOptimizer.Plan plan = optimizer.optimize(p);
+
+    assertThat(plan.travelSec()).isEqualTo(978);
+    assertThat(plan.cost()).isEqualTo(bruteForceCost(p));
+  }
+
+  private long bruteForceCost(DayRouteOptimizer.Problem p) {
+    int[] order = identity(p.size());
+    long best = Long.MAX_VALUE;
+    do {
+      best = Math.min(best, optimizer.evaluate(p, order.clone()).cost());
+    } while (nextPermutation(order));
+    return best;
+  }
+
+  private static boolean nextPermutation(int[] a) {
+    int i = a.length - 2;
+    while (i >= 0 && a[i] >= a[i + 1]) i--;
+    if (i < 0) return false;
+    int j = a.length - 1;
+    while (a[j] <= a[i]) j--;
+    int t = a[i];
+    a[i] = a[j];
+    a[j] = t;
+    for (int l = i + 1, r = a.length - 1; l < r; l++, r--) {
+      t = a[l];
+      a[l] = a[r];
+      a[r] = t;
+    }
+    return true;
+  }
+
+  /** 직선 위 km 좌표 → 1km 당 1분 */
+  private static int[][] lineDurations(int[] km) {
+    int n = km.length;
+    int[][] d = new int[n][n];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) d[i][j] = Math.abs(km[i] - km[j]) * 60;
+    }
+    return d;
+  }
+
+  private static DayRouteOptimizer.Problem problem(int[][] d, int[] earliest, int dayStart) {
+    int[] stay = new int[earliest.length];
+    Arrays.fill(stay, HOUR);
+    return new DayRouteOptimizer.Problem(d, stay, earliest, dayStart);
+  }
+
+  private static int[] none(int n) {
+    int[] a = new int[n];
+    Arrays.fill(a, -1);
+    return a;
+  }
+
+  private static int[] identity(int n) {
+    int[] a = new int[n];
+    for (int i = 0; i < n; i++) a[i] = i;
+    return a;
+  }
+
+  private static int[] sorted(int[] a) {
+    int[] s = a.clone();
+    Arrays.sort(s);
+    return s;
+  }
+}
@@ -0,0 +1,165 @@
+package com.B108.tripwish.domain.schedule.planner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.B108.tripwish.domain.route.estimate.LocalTravelTimeEstimator;
+import com.B108.tripwish.domain.route.optimize.DayRouteOptimizer;
+import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleResult;
+import com.B108.tripwish.domain.schedule.dto.ai.AiScheduleSpec;
+import com.B108.tripwish.domain.schedule.entity.TransportType;
+import com.B108.tripwish.global.util.GeoUtil;
+
+class LocalSchedulePlannerTest {
+
+  private LocalSchedulePlanner planner;
+
+  @BeforeEach
+  void setUp() {
+    // 직선거리 기반 고정 속도 (도보 1m/s, 자동차 10m/s) — Redis 보정 없이
+    LocalTravelTimeEstimator estimator =
+        new LocalTravelTimeEstimator(null) {
+          @Override
+          public LegEstimate estimate(
+              TransportType mode, double fromLat, double fromLng, double toLat, double toLng) {
+            long m = Math.round(GeoUtil.haversineMeters(fromLat, fromLng, toLat, toLng));
+            return new LegEstimate(m, mode == TransportType.walking ? m : m / 10);
+          }
+        };
+    planner = new LocalSchedulePlanner(estimator, new DayRouteOptimizer());
+    ReflectionTestUtils.setField(planner, "walkMaxSec", 900);
+    ReflectionTestUtils.setField(planner, "defaultStay", Duration.ofMinutes(60));
+  }
+
+  @Test
+  void emptyPlaceListGivesEmptyDays() {
+    List<AiScheduleResult> result = planner.plan(spec(3));
+
+    assertThat(result).hasSize(3);
+    for (int d = 0; d < 3; d++) {
+      assertThat(result.get(d).getDay()).isEqualTo(d + 1);
+      assertThat(result.get(d).getRoute()).isEmpty();
+    }
+  }
+
+  @Test
+  void singlePlaceIsFirstDayWithNoOutgoingLeg() {
+    List<AiScheduleResult> result = planner.plan(spec(2, place(1, 37.57, 126.98)));
+
+    assertThat(result).hasSize(2);
+    List<AiScheduleResult.RouteInfo> route = result.get(0).getRoute();
+    assertThat(route).hasSize(1);
+    assertThat(route.get(0).getId()).isEqualTo(1L);
+    assertThat(route.get(0).getEventOrder()).isEqualTo(1);
+    assertThat(route.get(0).getTransport()).isNull();
+    assertThat(route.get(0).getNextTravelTime()).isNull();
+    assertThat(result.get(1).getRoute()).isEmpty();
+  }
+
+  @Test
+  void moreDaysThanPlacesPutsOnePlacePerDayThenEmptyDays() {
+    List<AiScheduleResult> result =
+        planner.plan(spec(4, place(1, 37.57, 126.98), place(2, 37.45, 127.10)));
+
+    assertThat(result).hasSize(4);
+    assertThat(result.get(0).getRoute()).hasSize(1);
+    assertThat(result.get(1).getRoute()).hasSize(1);
+    assertThat(result.get(2).getRoute()).isEmpty();
+    assertThat(result.get(3).getRoute()).isEmpty();
+    assertThat(ids(result)).containsExactlyInAnyOrder(1L, 2L);
+  }
+
+  @Test
+  void separatedClustersBecomeDaysWestFirst() {
+    List<AiScheduleResult> result =
+        planner.plan(
+            spec(
+                2,
+                place(11, 37.56, 127.20),
+                place(1, 37.56, 126.90),
+                place(12, 37.561, 127.201),
+                place(2, 37.561, 126.901),
+                place(13, 37.562, 127.199),
+                place(3, 37.559, 126.902)));
+
+    assertThat(result).hasSize(2);
+    assertThat(ids(result.subList(0, 1))).containsExactlyInAnyOrder(1L, 2L, 3L);
+    assertThat(ids(result.subList(1, 2))).containsExactlyInAnyOrder(11L, 12L, 13L);
+  }
+
+  @Test
+  void capacityLimitsPlacesPerDay() {
+    // 6곳이 한 동네에 몰려 있어도 하루 최대 ceil(7/2) = 4곳
+    List<AiScheduleResult> result =
+        planner.plan(
+            spec(
+                2,
+                place(1, 37.560, 126.980),
+                place(2, 37.561, 126.981),
+                place(3, 37.562, 126.979),
+                place(4, 37.559, 126.982),
+                place(5, 37.560, 126.978),
+                place(6, 37.561, 126.983),
+                place(7, 35.180, 129.070)));
+
+    assertThat(result).hasSize(2);
+    assertThat(List.of(result.get(0).getRoute().size(), result.get(1).getRoute().size()))
+        .containsExactlyInAnyOrder(4, 3);
+    assertThat(ids(result)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+  }
+
+  @Test
+  void routeHasOrderAndNextLegExceptLast() {
+    List<AiScheduleResult> result =
+        planner.plan(
+            spec(
+                1,
+                place(1, 37.5600, 126.9800),
+                place(2, 37.5610, 126.9810),
+                place(3, 37.6000, 127.0500)));
+
+    List<AiScheduleResult.RouteInfo> route = result.get(0).getRoute();
+    assertThat(route).hasSize(3);
+    for (int k = 0; k < route.size(); k++) {
+      assertThat(route.get(k).getEventOrder()).isEqualTo(k + 1);
+    }
+    assertThat(route.get(0).getNextTravelTime()).isNotNull();
+    assertThat(route.get(1).getNextTravelTime()).isNotNull();
+    assertThat(route.get(2).getTransport()).isNull();
+    assertThat(route.get(2).getNextTravelTime()).isNull();
+    assertThat(route.get(0).getTransport()).isNotNull();
+  }
+
+  @Test
+  void placeWithoutCoordinatesIsRejected() {
+    AiScheduleSpec spec = spec(1, AiScheduleSpec.AiPlaceInfoDto.builder().id(9L).build());
+
+    assertThatThrownBy(() -> planner.plan(spec))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("wantId=9");
+  }
+
+  private static AiScheduleSpec spec(int days, AiScheduleSpec.AiPlaceInfoDto... places) {
+    return AiScheduleSpec.builder().days(days).placeList(List.of(places)).build();
+  }
+
+  private static AiScheduleSpec.AiPlaceInfoDto place(long id, double lat, double lng) {
+    return AiScheduleSpec.AiPlaceInfoDto.builder().id(id).lat(lat).lng(lng).build();
+  }
+
+  private static List<Long> ids(List<AiScheduleResult> days) {
+    List<Long> ids = new ArrayList<>();
+    for (AiScheduleResult d : days) {
+      for (AiScheduleResult.RouteInfo r : d.getRoute()) ids.add(r.getId());
+    }
+    return ids;
+  }
+}
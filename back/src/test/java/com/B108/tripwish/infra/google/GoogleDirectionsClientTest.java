@@ -0,0 +1,61 @@
+package com.B108.tripwish.infra.google;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.B108.tripwish.infra.google.GoogleDirectionsClient.LatLng;
+
+class GoogleDirectionsClientTest {
+
+  private GoogleDirectionsClient client;
+
+  @BeforeEach
+  void setUp() {
+    client = new GoogleDirectionsClient(WebClient.builder(), null, null);
+    ReflectionTestUtils.setField(client, "baseUrl", "https://maps.googleapis.com/maps/api");
+    ReflectionTestUtils.setField(client, "apiKey", "test-key");
+    ReflectionTestUtils.setField(client, "language", "ko");
+  }
+
+  @Test
+  void distanceMatrixUri_encodesPipeBetweenPoints() {
+    URI uri =
+        client.distanceMatrixUri(
+            List.of(new LatLng(37.5, 127.0), new LatLng(37.6, 127.1)),
+            List.of(new LatLng(35.1, 129.0), new LatLng(35.2, 129.1)),
+            "walking",
+            null);
+
+    assertThat(uri.getScheme()).isEqualTo("https");
+    assertThat(uri.getRawPath()).isEqualTo("/maps/api/distancematrix/json");
+    assertThat(uri.getRawQuery())
+        .contains("origins=37.5,127.0%7C37.6,127.1")
+        .contains("destinations=35.1,129.0%7C35.2,129.1")
+        .contains("mode=walking")
+        .contains("key=test-key")
+        .doesNotContain("|")
+        .doesNotContain("departure_time");
+    // 디코딩하면 원래 구분자로 돌아온다
+    assertThat(uri.getQuery()).contains("origins=37.5,127.0|37.6,127.1");
+  }
+
+  @Test
+  void distanceMatrixUri_transitAddsDepartureTime() {
+    URI uri =
+        client.distanceMatrixUri(
+            List.of(new LatLng(37.5, 127.0)),
+            List.of(new LatLng(35.1, 129.0)),
+            "transit",
+            Instant.ofEpochSecond(1_700_000_000L));
+
+    assertThat(uri.getRawQuery()).contains("mode=transit").contains("departure_time=1700000000");
+  }
+}
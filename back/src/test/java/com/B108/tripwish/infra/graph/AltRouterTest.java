@@ -0,0 +1,133 @@
+package com.B108.tripwish.infra.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AltRouterTest {
+
+  // 3x3 격자(0..8, 간선 100m/10초) + 0→8 보행 전용 지름길 150m + 고립 정점 9 + 자동차 일방통행 10→11
+  private RoadGraph g;
+
+  @BeforeEach
+  void setUp() {
+    RoadGraph.Builder b = RoadGraph.builder();
+    for (int r = 0; r < 3; r++) {
+      for (int c = 0; c < 3; c++) b.addNode(37.5 + r * 0.001, 127.0 + c * 0.001);
+    }
+    for (int r = 0; r < 3; r++) {
+      for (int c = 0; c < 3; c++) {
+        int v = r * 3 + c;
+        if (c < 2) b.addRoad(v, v + 1, 100, 100, true);
+        if (r < 2) b.addRoad(v, v + 3, 100, 100, true);
+      }
+    }
+    b.addEdge(0, 8, 150, 0, true);
+    b.addNode(37.6, 127.1); // 9
+    int a = b.addNode(37.51, 127.01);
+    int z = b.addNode(37.511, 127.01);
+    b.addEdge(a, z, 110, 80, false);
+    g = b.build();
+  }
+
+  @Test
+  void walkUsesWalkOnlyShortcut() {
+    AltRouter walk = new AltRouter(g, AltRouter.Metric.WALK, 4);
+
+    AltRouter.Path p = walk.route(0, 8);
+
+    assertThat(p.cost()).isEqualTo(150);
+    assertThat(p.meters()).isEqualTo(150);
+  }
+
+  @Test
+  void driveIgnoresWalkOnlyEdges() {
+    AltRouter drive = new AltRouter(g, AltRouter.Metric.DRIVE, 4);
+
+    AltRouter.Path p = drive.route(0, 8);
+
+    assertThat(p.cost()).isEqualTo(400); // 4 x 10초 (0.1초 단위)
+    assertThat(p.meters()).isEqualTo(400);
+  }
+
+  @Test
+  void routeMatchesPlainDijkstraForAllPairs() {
+    for (AltRouter.Metric metric : AltRouter.Metric.values()) {
+      for (int landmarks : new int[] {0, 1, 4}) {
+        AltRouter router = new AltRouter(g, metric, landmarks);
+        for (int s = 0; s < g.nodeCount(); s++) {
+          int[] expected = dijkstra(router, s);
+          for (int t = 0; t < g.nodeCount(); t++) {
+            AltRouter.Path p = router.route(s, t);
+            if (expected[t] == AltRouter.INF) {
+              assertThat(p).as("%s %d->%d", metric, s, t).isNull();
+            } else {
+              assertThat(p).as("%s %d->%d", metric, s, t).isNotNull();
+              assertThat(p.cost()).as("%s %d->%d", metric, s, t).isEqualTo(expected[t]);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void oneToManyMatchesSingleRoutes() {
+    AltRouter walk = new AltRouter(g, AltRouter.Metric.WALK, 2);
+    int[] targets = {8, 4, -1, 9, 0};
+
+    AltRouter.Path[] paths = walk.oneToMany(0, targets);
+
+    assertThat(paths[0].cost()).isEqualTo(walk.route(0, 8).cost());
+    assertThat(paths[1].cost()).isEqualTo(walk.route(0, 4).cost());
+    assertThat(paths[2]).isNull(); // 스냅 실패 칸
+    assertThat(paths[3]).isNull(); // 고립 정점
+    assertThat(paths[4].cost()).isZero();
+  }
+
+  @Test
+  void oneWayDriveEdgeIsDirected() {
+    AltRouter drive = new AltRouter(g, AltRouter.Metric.DRIVE, 2);
+    AltRouter walk = new AltRouter(g, AltRouter.Metric.WALK, 2);
+
+    assertThat(drive.route(10, 11)).isEqualTo(new AltRouter.Path(80, 110));
+    assertThat(drive.route(11, 10)).isNull();
+    assertThat(walk.route(10, 11)).isNull(); // 보행 불가 간선
+  }
+
+  @Test
+  void repeatedQueriesReuseStateWithoutLeaking() {
+    AltRouter walk = new AltRouter(g, AltRouter.Metric.WALK, 2);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(walk.route(2, 6).cost()).isEqualTo(400);
+      assertThat(walk.route(0, 9)).isNull();
+    }
+  }
+
+  /** 기준 구현 — 힙 없이 O(n²) Dijkstra */
+  private int[] dijkstra(AltRouter router, int s) {
+    int n = g.nodeCount();
+    int[] dist = new int[n];
+    boolean[] done = new boolean[n];
+    Arrays.fill(dist, AltRouter.INF);
+    dist[s] = 0;
+    for (int iter = 0; iter < n; iter++) {
+      int u = -1;
+      for (int v = 0; v < n; v++) {
+        if (!done[v] && dist[v] != AltRouter.INF && (u < 0 || dist[v] < dist[u])) u = v;
+      }
+      if (u < 0) break;
+      done[u] = true;
+      for (int e = g.firstEdge[u]; e < g.firstEdge[u + 1]; e++) {
+        int w = router.weight(e);
+        if (w < 0) continue;
+        int v = g.edgeTarget[e];
+        dist[v] = Math.min(dist[v], dist[u] + w);
+      }
+    }
+    return dist;
+  }
+}
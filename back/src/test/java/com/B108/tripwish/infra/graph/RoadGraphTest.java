@@ -0,0 +1,114 @@
+package com.B108.tripwish.infra.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RoadGraphTest {
+
+  @TempDir Path dir;
+
+  private static RoadGraph sample() {
+    RoadGraph.Builder b = RoadGraph.builder();
+    int a = b.addNode(37.500000, 127.000000);
+    int c = b.addNode(37.501000, 127.000000); // a 에서 북쪽 약 111m
+    int d = b.addNode(37.501000, 127.001000);
+    b.addRoad(a, c, 111, 120, true); // 보행 + 자동차
+    b.addEdge(c, d, 88, 0, true); // 보행 전용
+    return b.build();
+  }
+
+  @Test
+  void builderProducesCsrAdjacency() {
+    RoadGraph g = sample();
+
+    assertThat(g.nodeCount()).isEqualTo(3);
+    assertThat(g.edgeCount()).isEqualTo(3);
+    assertThat(g.firstEdge).containsExactly(0, 1, 3, 3);
+    assertThat(g.lat(1)).isEqualTo(37.501);
+    assertThat(g.lng(2)).isEqualTo(127.001);
+  }
+
+  @Test
+  void writeThenReadRoundTrips() throws IOException {
+    RoadGraph g = sample();
+    Path file = dir.resolve("g.twrg");
+
+    g.write(file);
+    RoadGraph r = RoadGraph.read(file);
+
+    assertThat(r.nodeCount()).isEqualTo(g.nodeCount());
+    assertThat(r.edgeCount()).isEqualTo(g.edgeCount());
+    assertThat(r.latE6).containsExactly(g.latE6);
+    assertThat(r.lngE6).containsExactly(g.lngE6);
+    assertThat(r.firstEdge).containsExactly(g.firstEdge);
+    assertThat(r.edgeTarget).containsExactly(g.edgeTarget);
+    assertThat(r.edgeMeters).containsExactly(g.edgeMeters);
+    assertThat(r.edgeDriveDs).containsExactly(g.edgeDriveDs);
+    assertThat(r.edgeFlags).containsExactly(g.edgeFlags);
+  }
+
+  @Test
+  void readRejectsForeignFile() throws IOException {
+    Path file = dir.resolve("bad.twrg");
+    Files.write(file, new byte[] {1, 2, 3, 4, 0, 0, 0, 1});
+
+    assertThatThrownBy(() -> RoadGraph.read(file)).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void nearestRespectsModeAndRadius() {
+    RoadGraph g = sample();
+
+    // d 는 보행 간선만 닿으므로 자동차 스냅은 c 로 간다
+    assertThat(g.nearest(37.501000, 127.001010, RoadGraph.FLAG_WALK, 500)).isEqualTo(2);
+    assertThat(g.nearest(37.501000, 127.001010, RoadGraph.FLAG_DRIVE, 500)).isEqualTo(1);
+    assertThat(g.nearest(37.500010, 127.000000, RoadGraph.FLAG_DRIVE, 500)).isEqualTo(0);
+    // 반경 밖
+    assertThat(g.nearest(37.600000, 127.100000, RoadGraph.FLAG_WALK, 500)).isEqualTo(-1);
+  }
+
+  @Test
+  void csvImporterAppliesOnewayToDrivingOnly() throws IOException {
+    Path nodes = dir.resolve("nodes.csv");
+    Path edges = dir.resolve("edges.csv");
+    Files.writeString(
+        nodes, "id,lat,lng\n1001,37.5,127.0\n# comment\n1002,37.501,127.0\n1003,37.501,127.001\n");
+    Files.writeString(
+        edges,
+        "from,to,meters,drive_sec,walk,oneway\n"
+            + "1001,1002,111,12,1,1\n" // 자동차 일방통행, 보행 양방향
+            + "1002,1003,88,,1,0\n" // 보행 전용 양방향
+            + "1003,1001,150,15,0,1\n"); // 자동차 전용 일방통행
+
+    RoadGraph g = RoadGraphCsvImporter.read(nodes, edges);
+
+    assertThat(g.nodeCount()).isEqualTo(3);
+    assertThat(g.edgeCount()).isEqualTo(5); // 2 + 2 + 1
+    AltRouter drive = new AltRouter(g, AltRouter.Metric.DRIVE, 1);
+    AltRouter walk = new AltRouter(g, AltRouter.Metric.WALK, 1);
+    assertThat(drive.route(0, 1).cost()).isEqualTo(120);
+    assertThat(drive.route(1, 0)).isNull();
+    assertThat(walk.route(1, 0).cost()).isEqualTo(111);
+    assertThat(drive.route(2, 0).cost()).isEqualTo(150);
+    assertThat(walk.route(0, 2).cost()).isEqualTo(199);
+  }
+
+  @Test
+  void csvImporterRejectsUnknownNode() throws IOException {
+    Path nodes = dir.resolve("nodes.csv");
+    Path edges = dir.resolve("edges.csv");
+    Files.writeString(nodes, "id,lat,lng\n1,37.5,127.0\n");
+    Files.writeString(edges, "from,to,meters,drive_sec,walk,oneway\n1,2,10,1,1,0\n");
+
+    assertThatThrownBy(() -> RoadGraphCsvImporter.read(nodes, edges))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("unknown node");
+  }
+}
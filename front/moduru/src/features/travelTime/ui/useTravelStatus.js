@@ -32,6 +32,7 @@ export default function useTravelStatus(roomId, { onToast } = {}) {
           onToastRef.current?.("이미 계산 중입니다.");
           break;
         case "DONE":
+        case "PROVISIONAL": // 로컬 추정치만 도착 (저장 안 됨)
           setLoading(false);
           setButtonDisabled(false);
           setError(null);
@@ -4,7 +4,7 @@ import { useEffect, useRef, useState } from "react";
 /**
  * 날짜 배열 단위로 계산 상태/에러/타임아웃을 관리
  * - /topic/room/{roomId}/travel/status (단일 토픽) 구독
- * - STARTED / ALREADY_RUNNING / DONE / FAILED 처리
+ * - STARTED / ALREADY_RUNNING / DONE / PROVISIONAL / FAILED 처리
  * - 결과(result)만 와도 로딩을 풀 수 있도록 markResolvedFromResult 제공
  */
 export default function useCalcStatusByDate(roomId, dates, { notify } = {}) {
@@ -92,7 +92,8 @@ export default function useCalcStatusByDate(roomId, dates, { notify } = {}) {
           startTimeout(dk);
           break;
         }
-        case "DONE": {
+        case "DONE":
+        case "PROVISIONAL": { // 시간 초과 등으로 로컬 추정치만 도착 (저장 안 됨)
           setLoadingByDate((p) => ({ ...p, [dk]: false }));
           setErrorByDate((p) => ({ ...p, [dk]: null }));
           clearTimeoutFor(dk);
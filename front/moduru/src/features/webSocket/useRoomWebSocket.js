@@ -23,6 +23,7 @@ import {
 import {
   applyAiStatusStarted,
   applyAiStatusProgress,
+  applyAiStatusDay,
   applyAiStatusDone,
   applyAiStatusError,
   applyAiStatusInvalidated,
@@ -32,6 +33,7 @@ import {
 // 이동 시간 계산 관련
 import {
   upsertDayEtas,
+  applyLegStream,
   upsertDayTotals,
 } from "../../redux/slices/etaSlice";
 
@@ -134,7 +136,10 @@ export default function useRoomWebSocket(roomId) {
         callback: (msg) => {
           console.log("[WebSocket] AI 경로 결과:", msg);
           dispatch(applyRouteResult({ msg }));
-          dispatch(applyRouteStatusDone({ msg: { ...msg, status: "DONE" } }));
+          // PREVIEW 는 중간 결과 — 완료 처리는 DONE 결과에서만
+          if (String(msg?.type ?? "").toUpperCase() !== "PREVIEW") {
+            dispatch(applyRouteStatusDone({ msg: { ...msg, status: "DONE" } }));
+          }
         },
         key: "ai-route/result",
       },
@@ -150,6 +155,9 @@ export default function useRoomWebSocket(roomId) {
             dispatch(applyAiStatusStarted({ msg }));
           } else if (s === "PROGRESS") {
             dispatch(applyAiStatusProgress({ msg }));
+          } else if (s === "DAY") {
+            // 하루치 결과 — 나머지 일차 계산 중에도 먼저 표시
+            dispatch(applyAiStatusDay({ msg }));
           } else if (s === "DONE") {
             dispatch(applyAiStatusDone({ msg }));
           } else if (s === "ERROR") {
@@ -277,6 +285,26 @@ export default function useRoomWebSocket(roomId) {
         key: "travel/result",
       },
 
+      // 6-1. 이동 시간 구간 스트리밍 (계산 중 확정된 구간부터 하나씩)
+      {
+        handler: "travel",
+        action: "leg",
+        callback: (msg) => {
+          if (!msg?.leg) return;
+          const dayNum = Number(msg.day);
+          if (!Number.isFinite(dayNum)) return;
+          dispatch(
+            applyLegStream({
+              day: dayNum,
+              jobId: msg.jobId,
+              seq: msg.seq,
+              leg: msg.leg,
+            })
+          );
+        },
+        key: "travel/leg",
+      },
+
       // 7. 이동 시간 계산 상태
       {
         handler: "travel-status",
@@ -308,6 +336,7 @@ export default function useRoomWebSocket(roomId) {
         "ai-schedule/result",
         "schedule/sync",
         "travel/result",
+        "travel/leg",
         "travel/status",
       ];
       
@@ -199,6 +199,9 @@ const aiRouteSlice = createSlice({
       state.jobId = msg?.jobId ?? state.jobId;
       state.updatedAt = msg?.updatedAt ?? state.updatedAt;
 
+      // PREVIEW(로컬 최적화 미리보기)는 경로만 보여주고 진행 상태는 유지 — 이후 DONE 결과로 교체됨
+      const preview = String(msg?.type ?? "").toUpperCase() === "PREVIEW";
+
       // ① 멀티-데이 포맷(schedule)
       const schedule = Array.isArray(msg?.schedule)
         ? msg.schedule
@@ -209,6 +212,7 @@ const aiRouteSlice = createSlice({
       const pairs = toPairs(schedule);
       if (pairs.length > 0) {
         state.routesByDay = buildRoutesByDay(pairs); // 전체 교체
+        if (preview) return;
         state.status = "DONE";
         state.progress = 100;
         state.message = msg?.message || null;
@@ -246,6 +250,7 @@ const aiRouteSlice = createSlice({
         };
         state.lastStatusDay = Number(day);
       }
+      if (preview) return;
 
       state.status = "DONE";
       state.progress = 100;
@@ -4,8 +4,10 @@
 import { createSlice } from "@reduxjs/toolkit";
 
 /**
- * STATUS: "STARTED" | "PROGRESS" | "DONE" | "ERROR" | "INVALIDATED"
- * RESULT: { schedule: [{ day, legs: [...] }], days?, jobId?, updatedAt? }
+ * STATUS: "STARTED" | "PROGRESS" | "DAY" | "DONE" | "ERROR" | "INVALIDATED"
+ *   - DAY: { day, progress, result: { schedule: [해당 일차] } } — 하루치씩 도착하는 대로 병합
+ * RESULT: { type?: "RESULT" | "PREVIEW", schedule: [{ day, legs: [...] }], days?, jobId?, updatedAt? }
+ *   - PREVIEW: 로컬 플래너 초안 — 표시만 하고 완료/백업 처리는 하지 않음 (이후 RESULT로 교체)
  * ✅ 모달 제거, 영구 저장으로 변경
  */
 
@@ -127,6 +129,31 @@ const aiScheduleSlice = createSlice({
       }
     },
 
+    // 하루치 결과 도착 — 해당 일차만 교체하고 나머지(미리보기/이전 일차)는 유지
+    applyAiStatusDay(state, { payload }) {
+      const { msg } = payload || {};
+      const newJob = msg?.jobId && state.jobId && msg.jobId !== state.jobId;
+      if (!newJob && !isNewerOrEqual(state.updatedAt, msg?.updatedAt)) return;
+      if (state.status === "DONE" && !newJob) return; // 완료 후 늦게 온 DAY 무시
+
+      state.status = "PROGRESS";
+      state.jobId = msg?.jobId ?? state.jobId;
+      state.updatedAt = msg?.updatedAt ?? state.updatedAt;
+      if (Number.isFinite(msg?.progress)) {
+        state.progress = clampPercent(msg.progress);
+      }
+      if (newJob) {
+        state.groups = {};
+        state.message = "";
+      }
+
+      const schedule = Array.isArray(msg?.result?.schedule)
+        ? msg.result.schedule
+        : [];
+      state.groups = { ...state.groups, ...buildGroups(schedule) };
+      state.hasResult = Object.keys(state.groups).length > 0;
+    },
+
     applyAiStatusDone(state, { payload }) {
       const { msg } = payload || {};
       const newJob = msg?.jobId && state.jobId && msg.jobId !== state.jobId;
@@ -194,6 +221,14 @@ const aiScheduleSlice = createSlice({
 
       state.groups = buildGroups(schedule); // 완전 교체
       state.hasResult = Object.keys(state.groups).length > 0;
+
+      // 미리보기는 진행 상태 유지, lastCompletedResult 도 건드리지 않는다
+      if (String(msg?.type ?? "").toUpperCase() === "PREVIEW") {
+        if (newJob) state.message = "";
+        state.status = "PROGRESS";
+        return;
+      }
+
       state.status = "DONE";
       state.progress = 100;
 
@@ -231,6 +266,7 @@ export const {
   applyAiStarted,
   applyAiStatusStarted,
   applyAiStatusProgress,
+  applyAiStatusDay,
   applyAiStatusDone,
   applyAiStatusError,
   applyAiStatusInvalidated,
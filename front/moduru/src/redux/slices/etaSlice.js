@@ -18,8 +18,13 @@ const initialState = {
   totals: {
     // "day:1|transit": { totalDistanceMeters, totalDurationMinutes, updatedAt? }
   },
+  legJobs: {
+    // "1": { jobId, retired: [이전 jobId...] } — 구간 스트리밍(travel/leg) 병합용
+  },
 };
 
+const MAX_RETIRED_JOBS = 10;
+
 const etaSlice = createSlice({
   name: "eta",
   initialState,
@@ -57,6 +62,35 @@ const etaSlice = createSlice({
         };
       }
     },
+    // 계산 중 확정된 구간 하나 (travel/leg). 같은 일차에 새 jobId 가 오면 이전 작업의 구간은 버리고,
+    // 같은 작업 안에서는 seq 가 더 큰 메시지만 반영한다.
+    applyLegStream(state, action) {
+      const { day, jobId, seq, leg } = action.payload || {};
+      if (!day || !jobId || !leg) return;
+      if (leg.fromWantId == null || leg.toWantId == null) return;
+
+      const job = state.legJobs[day] || { jobId: null, retired: [] };
+      if (job.retired.includes(jobId)) return;
+      if (job.jobId !== jobId) {
+        if (job.jobId) {
+          job.retired = [...job.retired, job.jobId].slice(-MAX_RETIRED_JOBS);
+        }
+        job.jobId = jobId;
+      }
+      state.legJobs[day] = job;
+
+      const k = legKey(day, leg.transport, Number(leg.fromWantId), Number(leg.toWantId));
+      const prev = state.byLeg[k];
+      if (prev && prev.jobId === jobId && Number(prev.seq) >= Number(seq)) return;
+      state.byLeg[k] = {
+        distanceMeters: Number(leg.distanceMeters ?? 0),
+        durationMinutes: Number(leg.durationMinutes ?? 0),
+        polyline: prev?.polyline ?? null,
+        updatedAt: Date.now(),
+        jobId,
+        seq: Number(seq),
+      };
+    },
     upsertDayTotals(state, action) {
       const {
         day,
@@ -81,16 +115,24 @@ const etaSlice = createSlice({
       Object.keys(state.totals).forEach((k) => {
         if (k.startsWith(`day:${day}|`)) delete state.totals[k];
       });
+      delete state.legJobs[day];
     },
     clearAll(state) {
       state.byLeg = {};
       state.totals = {};
+      state.legJobs = {};
     },
   },
 });
 
-export const { upsertEta, upsertDayEtas, upsertDayTotals, clearDay, clearAll } =
-  etaSlice.actions;
+export const {
+  upsertEta,
+  upsertDayEtas,
+  applyLegStream,
+  upsertDayTotals,
+  clearDay,
+  clearAll,
+} = etaSlice.actions;
 
 // Selectors
 export const selectLegEta = (state, { day, transport, fromWantId, toWantId }) =>